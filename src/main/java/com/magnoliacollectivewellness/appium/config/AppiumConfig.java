@@ -6,7 +6,6 @@ import io.appium.java_client.ios.IOSDriver;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.remote.DesiredCapabilities;
 
-import java.net.URL;
 import java.time.Duration;
 
 /**
@@ -19,22 +18,63 @@ public class AppiumConfig {
      * Create and return AppiumDriver based on platform and target configuration
      */
     public static AppiumDriver createDriver() throws Exception {
+        CapabilityProfile profile = CapabilityProfile.resolve();
+        try {
+            return createDriver(profile);
+        } catch (RuntimeException e) {
+            if (profile != CapabilityProfile.FAST || !"auto".equalsIgnoreCase(TestConfig.CAPABILITY_PROFILE)) {
+                throw e;
+            }
+            // fast skips installing what a reset or upgraded device no longer has; safe installs it again
+            System.out.println("⚠️ Remembered fast profile could not start a session (" + e.getMessage()
+                + ") - retrying with safe");
+            return createDriver(CapabilityProfile.SAFE);
+        }
+    }
+    
+    /**
+     * Create and return AppiumDriver with the given capability profile applied
+     */
+    public static AppiumDriver createDriver(CapabilityProfile profile) throws Exception {
         // Print configuration for visibility
         TestConfig.printConfiguration();
+        System.out.println("🧩 Capability profile: " + profile.getProfileName());
         
-        URL appiumServerUrl = new URL(TestConfig.APPIUM_SERVER_URL);
+        AppiumServerPool.Lease lease = AppiumServerPool.acquire();
         
-        if (TestConfig.isAndroid()) {
-            return createAndroidDriver(appiumServerUrl);
-        } else {
-            return createIOSDriver(appiumServerUrl);
+        AppiumDriver driver;
+        try {
+            if (TestConfig.isAndroid()) {
+                driver = createAndroidDriver(lease, profile);
+            } else {
+                driver = createIOSDriver(lease, profile);
+            }
+        } catch (RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+        try {
+            profile.afterSessionStart(driver);
+        } catch (RuntimeException e) {
+            // Quitting releases the lease, so a fallback never runs next to this session
+            quitQuietly(driver);
+            throw e;
+        }
+        return driver;
+    }
+    
+    private static void quitQuietly(AppiumDriver driver) {
+        try {
+            driver.quit();
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Could not quit half-started session: " + e.getMessage());
         }
     }
     
     /**
      * Create Android driver
      */
-    private static AndroidDriver createAndroidDriver(URL serverUrl) {
+    private static AndroidDriver createAndroidDriver(AppiumServerPool.Lease lease, CapabilityProfile profile) {
         System.out.println("\n🤖 === ANDROID DRIVER SETUP ===");
         System.out.println("🎯 Target: " + (TestConfig.isDevice() ? "REAL DEVICE" : "EMULATOR"));
         
@@ -48,20 +88,29 @@ public class AppiumConfig {
             .setAppActivity(TestConfig.ANDROID_APP_ACTIVITY)
             .setNewCommandTimeout(Duration.ofSeconds(TestConfig.COMMAND_TIMEOUT_SECONDS))
             .setNoReset(TestConfig.NO_RESET)
-            .setAutoGrantPermissions(TestConfig.AUTO_GRANT_PERMISSIONS);
+            .setAutoGrantPermissions(TestConfig.AUTO_GRANT_PERMISSIONS)
+            // Server-side command timings for the wall-clock profiler
+            .setEventTimings(TestConfig.PROFILER_ENABLED);
+        profile.apply(options);
+        if (lease.isPooled()) {
+            // Own device-side ports per session so parallel sessions on one host never collide
+            options.setSystemPort(lease.getSystemPort())
+                .setChromedriverPort(lease.getChromedriverPort())
+                .setMjpegServerPort(lease.getMjpegServerPort());
+        }
         
         System.out.println("✅ Android capabilities configured:");
         System.out.println("   Device: " + TestConfig.getDeviceName());
         System.out.println("   UDID: " + TestConfig.getUdid());
         System.out.println("   Platform Version: " + TestConfig.getPlatformVersion());
         
-        return new AndroidDriver(serverUrl, options);
+        return new AndroidDriver(new InstrumentedCommandExecutor(lease), options);
     }
     
     /**
      * Create iOS driver
      */
-    private static IOSDriver createIOSDriver(URL serverUrl) {
+    private static IOSDriver createIOSDriver(AppiumServerPool.Lease lease, CapabilityProfile profile) {
         System.out.println("\n🍎 === iOS DRIVER SETUP ===");
         System.out.println("🎯 Target: " + (TestConfig.isDevice() ? "REAL DEVICE" : "SIMULATOR"));
         
@@ -79,12 +128,18 @@ public class AppiumConfig {
         capabilities.setCapability("bundleId", TestConfig.IOS_BUNDLE_ID);
         capabilities.setCapability("newCommandTimeout", TestConfig.COMMAND_TIMEOUT_SECONDS);
         capabilities.setCapability("noReset", TestConfig.NO_RESET);
+        capabilities.setCapability("eventTimings", TestConfig.PROFILER_ENABLED);
+        profile.apply(capabilities);
+        if (lease.isPooled()) {
+            capabilities.setCapability("wdaLocalPort", lease.getSystemPort());
+            capabilities.setCapability("mjpegServerPort", lease.getMjpegServerPort());
+        }
         
         System.out.println("✅ iOS capabilities configured:");
         System.out.println("   Device: " + TestConfig.getDeviceName());
         System.out.println("   UDID: " + TestConfig.getUdid());
         System.out.println("   Platform Version: " + TestConfig.getPlatformVersion());
         
-        return new IOSDriver(serverUrl, capabilities);
+        return new IOSDriver(new InstrumentedCommandExecutor(lease), capabilities);
     }
 }
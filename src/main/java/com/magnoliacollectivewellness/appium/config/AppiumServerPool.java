@@ -0,0 +1,312 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import io.appium.java_client.service.local.AppiumServiceBuilder;
+import io.appium.java_client.service.local.flags.GeneralServerFlag;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool of local Appium server processes started and supervised by the framework.
+ *
+ * With -DappiumServers=N (N > 0) up to N servers are started on free ports, lazily: a new
+ * server only starts when every running one already hosts a session. Each session is routed
+ * to the least-loaded healthy server and gets its own systemPort / chromedriverPort /
+ * mjpegServerPort so parallel sessions never collide. A server that stopped answering is
+ * restarted before it gets another session. Servers live for the whole JVM, so they are
+ * reused across test classes, and are stopped by a shutdown hook.
+ *
+ * The pool lock only covers the bookkeeping (choosing a server, reserving ports). Health
+ * checks and server starts happen outside it, so creating sessions on different servers
+ * runs concurrently; a starting server only holds up the sessions routed to it. The locks
+ * are {@link ReentrantLock}s, so virtual threads waiting on them are not pinned.
+ *
+ * With the default -DappiumServers=0 every session goes to {@link TestConfig#APPIUM_SERVER_URL}.
+ */
+public final class AppiumServerPool {
+    private static final ReentrantLock LOCK = new ReentrantLock();
+    private static final List<ManagedServer> SERVERS = new ArrayList<>();
+    private static final Set<Integer> RESERVED_PORTS = new HashSet<>();
+
+    static {
+        if (TestConfig.APPIUM_SERVERS > 0) {
+            Runtime.getRuntime().addShutdownHook(new Thread(AppiumServerPool::stopAll, "appium-server-pool-stop"));
+        }
+    }
+
+    private AppiumServerPool() {
+    }
+
+    /**
+     * Reserve a server and device-side ports for one session; release it when the session ends
+     */
+    public static Lease acquire() throws MalformedURLException {
+        if (TestConfig.APPIUM_SERVERS <= 0 || TrafficRecording.isReplaying()) {
+            return new Lease(null, 0, new URL(TestConfig.APPIUM_SERVER_URL), 0, 0, 0);
+        }
+
+        // Health checks are HTTP round trips: ask every server without holding the pool lock
+        List<ManagedServer> servers;
+        int[] checked;
+        LOCK.lock();
+        try {
+            servers = new ArrayList<>(SERVERS);
+            checked = new int[servers.size()];
+            for (int i = 0; i < checked.length; i++) {
+                checked[i] = servers.get(i).generation;
+            }
+        } finally {
+            LOCK.unlock();
+        }
+        for (int i = 0; i < checked.length; i++) {
+            if (!servers.get(i).isHealthy()) {
+                markDead(servers.get(i), checked[i]);
+            }
+        }
+
+        ManagedServer chosen = null;
+        int generation;
+        int[] ports;
+        LOCK.lock();
+        try {
+            for (ManagedServer server : SERVERS) {
+                if (chosen == null || server.sessions < chosen.sessions) {
+                    chosen = server;
+                }
+            }
+            if (chosen == null || (chosen.sessions > 0 && SERVERS.size() < TestConfig.APPIUM_SERVERS)) {
+                chosen = new ManagedServer(SERVERS.size() + 1);
+                SERVERS.add(chosen);
+            }
+            chosen.sessions++;
+            generation = chosen.generation;
+            ports = new int[] {reservePort(), reservePort(), reservePort()};
+        } finally {
+            LOCK.unlock();
+        }
+
+        Lease lease;
+        try {
+            // Starts (seconds) happen outside the pool lock; only sessions for this server wait
+            URL url = chosen.ensureStarted();
+            lease = new Lease(chosen, generation, url, ports[0], ports[1], ports[2]);
+        } catch (RuntimeException e) {
+            new Lease(chosen, generation, null, ports[0], ports[1], ports[2]).release();
+            throw e;
+        }
+        System.out.println("🛰️ Session routed to Appium server #" + chosen.index + " " + lease.url
+            + " (" + chosen.sessions + " session(s))");
+        return lease;
+    }
+
+    /**
+     * Stop every server started by the pool
+     */
+    public static void stopAll() {
+        List<ManagedServer> servers;
+        LOCK.lock();
+        try {
+            servers = new ArrayList<>(SERVERS);
+            SERVERS.clear();
+        } finally {
+            LOCK.unlock();
+        }
+        for (ManagedServer server : servers) {
+            server.stop();
+        }
+    }
+
+    /**
+     * A server stopped answering: its sessions are gone, so it must not look busy, and it is restarted
+     * by the next session routed to it. Leases of the old sessions no longer count against it.
+     * A check made before someone else already restarted it (older generation) is ignored.
+     */
+    private static void markDead(ManagedServer server, int checkedGeneration) {
+        LOCK.lock();
+        try {
+            if (!server.needsStart && server.generation == checkedGeneration) {
+                System.out.println("♻️ Appium server #" + server.index + " is not responding - restarting");
+                server.needsStart = true;
+                server.generation++;
+                server.sessions = 0;
+            }
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    private static void release(Lease lease) {
+        LOCK.lock();
+        try {
+            if (lease.generation == lease.server.generation) {
+                lease.server.sessions = Math.max(0, lease.server.sessions - 1);
+            }
+            RESERVED_PORTS.remove(lease.systemPort);
+            RESERVED_PORTS.remove(lease.chromedriverPort);
+            RESERVED_PORTS.remove(lease.mjpegServerPort);
+        } finally {
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * A free local port not already handed out to another session of this run (call with the pool lock held)
+     */
+    private static int reservePort() {
+        while (true) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                int port = socket.getLocalPort();
+                if (RESERVED_PORTS.add(port)) {
+                    return port;
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("No free local port available", e);
+            }
+        }
+    }
+
+    /**
+     * One Appium server process and the number of sessions it currently hosts
+     */
+    private static final class ManagedServer {
+        final int index;
+        final int port;
+        // Serialises starts of this server only
+        final ReentrantLock startLock = new ReentrantLock();
+        volatile AppiumDriverLocalService service;
+        // Guarded by the pool lock
+        int sessions;
+        int generation;
+        volatile boolean needsStart = true;
+
+        ManagedServer(int index) {
+            this.index = index;
+            this.port = reservePort();
+        }
+
+        /**
+         * Running, or not started yet (the session routed to it starts it)
+         */
+        boolean isHealthy() {
+            AppiumDriverLocalService current = service;
+            return needsStart || current == null || current.isRunning();
+        }
+
+        /**
+         * Start the server if it has not been started or was found dead; returns its URL
+         */
+        URL ensureStarted() {
+            startLock.lock();
+            try {
+                if (needsStart) {
+                    if (service != null) {
+                        service.stop();
+                    }
+                    start();
+                    needsStart = false;
+                }
+                return service.getUrl();
+            } finally {
+                startLock.unlock();
+            }
+        }
+
+        void stop() {
+            startLock.lock();
+            try {
+                if (service != null) {
+                    service.stop();
+                }
+            } finally {
+                startLock.unlock();
+            }
+        }
+
+        private void start() {
+            File logFile = new File(TestConfig.APPIUM_SERVER_LOG_DIR, "appium-" + index + ".log");
+            logFile.getParentFile().mkdirs();
+            service = new AppiumServiceBuilder()
+                .withIPAddress("127.0.0.1")
+                .usingPort(port)
+                .withArgument(GeneralServerFlag.SESSION_OVERRIDE)
+                .withArgument(GeneralServerFlag.RELAXED_SECURITY)
+                .withLogFile(logFile)
+                .build();
+            long started = System.nanoTime();
+            service.start();
+            System.out.println("🚀 Appium server #" + index + " started on port " + port + " in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms (log: " + logFile + ")");
+        }
+    }
+
+    /**
+     * The server and device-side ports reserved for one session
+     */
+    public static final class Lease {
+        private final ManagedServer server;
+        private final int generation;
+        private final URL url;
+        private final int systemPort;
+        private final int chromedriverPort;
+        private final int mjpegServerPort;
+        private boolean released;
+
+        private Lease(ManagedServer server, int generation, URL url, int systemPort, int chromedriverPort,
+                      int mjpegServerPort) {
+            this.server = server;
+            this.generation = generation;
+            this.url = url;
+            this.systemPort = systemPort;
+            this.chromedriverPort = chromedriverPort;
+            this.mjpegServerPort = mjpegServerPort;
+        }
+
+        public URL getUrl() {
+            return url;
+        }
+
+        /**
+         * True when the ports were allocated by the pool (false for the single configured server)
+         */
+        public boolean isPooled() {
+            return server != null;
+        }
+
+        public int getSystemPort() {
+            return systemPort;
+        }
+
+        public int getChromedriverPort() {
+            return chromedriverPort;
+        }
+
+        public int getMjpegServerPort() {
+            return mjpegServerPort;
+        }
+
+        /**
+         * Give the server slot and ports back (idempotent)
+         */
+        public void release() {
+            LOCK.lock();
+            try {
+                if (released || server == null) {
+                    return;
+                }
+                released = true;
+                AppiumServerPool.release(this);
+            } finally {
+                LOCK.unlock();
+            }
+        }
+    }
+}
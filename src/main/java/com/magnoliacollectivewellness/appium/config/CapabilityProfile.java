@@ -0,0 +1,179 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.HasSettings;
+import io.appium.java_client.Setting;
+import io.appium.java_client.android.options.UiAutomator2Options;
+import org.openqa.selenium.remote.DesiredCapabilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Named capability profiles applied on top of {@link TestConfig} when a session is created.
+ *
+ * - safe: the plain configured capabilities
+ * - fast: skip server reinstall and device initialisation, no window animations,
+ *         no idle wait before each command. Needs a device an earlier safe session
+ *         has prepared (driver server and helper apps installed)
+ * - fresh-install: full reset and reinstall the app from the configured app path
+ *
+ * With -DcapabilityProfile=auto (the default) the profile remembered for the device by
+ * {@link SessionBenchmark} is used, falling back to safe - also when a remembered fast
+ * profile cannot start a session (the device was reset or the driver upgraded).
+ * No profile turns off log capture: the device log collector and crash watchdog need it.
+ */
+public enum CapabilityProfile {
+    SAFE("safe"),
+    FAST("fast"),
+    FRESH_INSTALL("fresh-install");
+
+    private static final String HEADER =
+        "# Fastest correct capability profile per device: <platform>_<udid>_<device>=<profile>\n"
+            + "# Median bootstrap per profile: <platform>_<udid>_<device>.<profile>.ms=<session creation>+<first command>\n"
+            + "# Regenerate with: ./gradlew benchmarkProfiles\n";
+
+    private final String profileName;
+
+    CapabilityProfile(String profileName) {
+        this.profileName = profileName;
+    }
+
+    public String getProfileName() {
+        return profileName;
+    }
+
+    /**
+     * Look up a profile by name ("safe", "fast", "fresh-install")
+     */
+    public static CapabilityProfile byName(String name) {
+        for (CapabilityProfile profile : values()) {
+            if (profile.profileName.equalsIgnoreCase(name) || profile.name().equalsIgnoreCase(name)) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown capability profile '" + name + "' (expected safe, fast, fresh-install or auto)");
+    }
+
+    /**
+     * The profile to use for this run: the configured one, or the one remembered for this device
+     */
+    public static CapabilityProfile resolve() {
+        if (!"auto".equalsIgnoreCase(TestConfig.CAPABILITY_PROFILE)) {
+            return byName(TestConfig.CAPABILITY_PROFILE);
+        }
+        String remembered = load().get(deviceKey());
+        return remembered != null ? byName(remembered) : SAFE;
+    }
+
+    /**
+     * Remember the fastest correct profile for the connected device, with the median
+     * session-creation and first-command milliseconds measured for each correct profile
+     */
+    public static synchronized void remember(CapabilityProfile profile, Map<CapabilityProfile, long[]> medians) {
+        Map<String, String> profiles = load();
+        profiles.put(deviceKey(), profile.profileName);
+        for (CapabilityProfile measured : values()) {
+            String key = deviceKey() + "." + measured.profileName + ".ms";
+            long[] millis = medians.get(measured);
+            if (millis != null) {
+                profiles.put(key, millis[0] + "+" + millis[1]);
+            } else {
+                // Not usable this time - an older measurement would look like a valid candidate
+                profiles.remove(key);
+            }
+        }
+        try (Writer writer = Files.newBufferedWriter(file(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            for (Map.Entry<String, String> entry : profiles.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+            System.out.println("💾 Capability profile '" + profile.profileName + "' remembered for " + deviceKey() + " in " + file());
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write capability profiles " + file() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Apply the profile to Android options
+     */
+    public void apply(UiAutomator2Options options) {
+        switch (this) {
+            case FAST:
+                options.setSkipServerInstallation(true)
+                    .setSkipDeviceInitialization(true)
+                    .setDisableWindowAnimation(true)
+                    .setIgnoreHiddenApiPolicyError(true);
+                break;
+            case FRESH_INSTALL:
+                options.setFullReset(true)
+                    .setNoReset(false)
+                    .setApp(Paths.get(TestConfig.ANDROID_APP_PATH).toAbsolutePath().toString());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Apply the profile to iOS capabilities
+     */
+    public void apply(DesiredCapabilities capabilities) {
+        switch (this) {
+            case FAST:
+                capabilities.setCapability("reduceMotion", true);
+                break;
+            case FRESH_INSTALL:
+                capabilities.setCapability("fullReset", true);
+                capabilities.setCapability("noReset", false);
+                capabilities.setCapability("app", Paths.get(TestConfig.IOS_APP_PATH).toAbsolutePath().toString());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Settings that can only be changed once the session exists
+     */
+    public void afterSessionStart(AppiumDriver driver) {
+        if (this == FAST && driver instanceof HasSettings) {
+            // Compose screens rarely go idle; waiting for it only adds latency to every command
+            ((HasSettings) driver).setSetting(Setting.WAIT_FOR_IDLE_TIMEOUT, 0);
+        }
+    }
+
+    private static String deviceKey() {
+        return (TestConfig.getPlatform() + "_" + TestConfig.getUdid() + "_" + TestConfig.getDeviceName())
+            .replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static Path file() {
+        return Paths.get(TestConfig.CAPABILITY_PROFILE_FILE);
+    }
+
+    private static Map<String, String> load() {
+        Map<String, String> profiles = new TreeMap<>();
+        if (!Files.exists(file())) {
+            return profiles;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not read capability profiles " + file() + ": " + e.getMessage());
+        }
+        for (String name : properties.stringPropertyNames()) {
+            profiles.put(name, properties.getProperty(name).trim());
+        }
+        return profiles;
+    }
+}
@@ -0,0 +1,143 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import com.magnoliacollectivewellness.appium.utils.Pause;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.Response;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of idempotent read commands for one session.
+ *
+ * A read (findElements, isElementDisplayed, getCapabilities, window size, ...) repeated with
+ * the same arguments within {@link TestConfig#COALESCE_TTL_MILLIS} is answered from the cache
+ * instead of the server. Any other command (click, sendKeys, tap, back, ...) may change the
+ * screen and clears the cache. A wait loop's poll interval ({@link Pause#poll}, explicit-wait
+ * polling) also ends reuse, however short it is: every poll of a wait reaches the server, so
+ * waits for an element, a page source or an empty findElements see the screen as it is now.
+ * Only successful responses are cached. Elided calls are counted per command and printed at
+ * the end of the run.
+ */
+final class CommandCoalescer {
+    private static final Set<String> READS = new HashSet<>(Arrays.asList(
+        DriverCommand.GET_CAPABILITIES,
+        DriverCommand.FIND_ELEMENT,
+        DriverCommand.FIND_ELEMENTS,
+        DriverCommand.FIND_CHILD_ELEMENT,
+        DriverCommand.FIND_CHILD_ELEMENTS,
+        DriverCommand.GET_PAGE_SOURCE,
+        DriverCommand.GET_ELEMENT_TEXT,
+        DriverCommand.GET_ELEMENT_TAG_NAME,
+        DriverCommand.GET_ELEMENT_ATTRIBUTE,
+        DriverCommand.GET_ELEMENT_RECT,
+        DriverCommand.GET_ELEMENT_LOCATION,
+        DriverCommand.GET_ELEMENT_SIZE,
+        DriverCommand.IS_ELEMENT_DISPLAYED,
+        DriverCommand.IS_ELEMENT_ENABLED,
+        DriverCommand.IS_ELEMENT_SELECTED,
+        DriverCommand.GET_CURRENT_WINDOW_SIZE,
+        "getWindowRect",
+        DriverCommand.GET_SCREEN_ORIENTATION,
+        DriverCommand.GET_CURRENT_CONTEXT_HANDLE
+    ));
+    private static final Map<String, AtomicLong> ELIDED = new TreeMap<>();
+    private static final AtomicLong READS_SEEN = new AtomicLong();
+
+    static {
+        if (TestConfig.COALESCE_COMMANDS) {
+            Runtime.getRuntime().addShutdownHook(new Thread(CommandCoalescer::printSummary, "command-coalescer-summary"));
+        }
+    }
+
+    private final Map<String, Cached> cache = new HashMap<>();
+
+    /**
+     * Cached response for the command, or null if it has to go to the server.
+     * A command that is not a read clears the cache.
+     */
+    synchronized Response lookup(Command command) {
+        if (!READS.contains(command.getName())) {
+            cache.clear();
+            return null;
+        }
+        READS_SEEN.incrementAndGet();
+        Cached cached = cache.get(key(command));
+        if (cached == null || cached.polls != Pause.polls()
+            || System.nanoTime() - cached.storedNanos > TestConfig.COALESCE_TTL_MILLIS * 1_000_000L) {
+            return null;
+        }
+        synchronized (ELIDED) {
+            ELIDED.computeIfAbsent(command.getName(), name -> new AtomicLong()).incrementAndGet();
+        }
+        return cached.copy();
+    }
+
+    /**
+     * Remember a successful read response; returns the response the caller should use
+     */
+    synchronized Response store(Command command, Response response) {
+        if (!READS.contains(command.getName()) || response == null
+            || !Integer.valueOf(ErrorCodes.SUCCESS).equals(response.getStatus())) {
+            return response;
+        }
+        // The driver replaces the value of the response it gets (e.g. maps become elements),
+        // so the cache keeps its own copy of the raw value
+        Cached cached = new Cached(response);
+        cache.put(key(command), cached);
+        return cached.copy();
+    }
+
+    private static String key(Command command) {
+        return command.getName() + " " + command.getParameters();
+    }
+
+    private static void printSummary() {
+        long elided = 0;
+        StringBuilder perCommand = new StringBuilder();
+        synchronized (ELIDED) {
+            for (Map.Entry<String, AtomicLong> entry : ELIDED.entrySet()) {
+                elided += entry.getValue().get();
+                perCommand.append("\n   ").append(entry.getKey()).append(": ").append(entry.getValue().get());
+            }
+        }
+        System.out.println("🧮 Command coalescing: " + elided + " of " + READS_SEEN.get()
+            + " read commands answered from cache" + perCommand);
+    }
+
+    /**
+     * Raw parts of a successful response
+     */
+    private static final class Cached {
+        final String sessionId;
+        final Integer status;
+        final String state;
+        final Object value;
+        final long storedNanos = System.nanoTime();
+        // Polls of the storing (test) thread at the time; background threads bypass the cache
+        final long polls = Pause.polls();
+
+        Cached(Response response) {
+            this.sessionId = response.getSessionId();
+            this.status = response.getStatus();
+            this.state = response.getState();
+            this.value = response.getValue();
+        }
+
+        Response copy() {
+            Response response = new Response();
+            response.setSessionId(sessionId);
+            response.setStatus(status);
+            response.setState(state);
+            response.setValue(value);
+            return response;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import com.magnoliacollectivewellness.appium.utils.BackgroundThreads;
+import com.magnoliacollectivewellness.appium.utils.CrashWatchdog;
+import com.magnoliacollectivewellness.appium.utils.Profiler;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Appium command executor that instruments every remote command.
+ * All driver and element calls funnel through {@link #execute(Command)},
+ * so each one becomes a "command" span on the test timeline and its
+ * round trip is attributed by the {@link Profiler}. Sessions on a pooled
+ * server give their {@link AppiumServerPool.Lease} back on quit. With
+ * -DcoalesceCommands=true repeated reads are answered by a {@link CommandCoalescer}.
+ * Once the {@link CrashWatchdog} has seen the app crash, commands fail with its error.
+ * Sessions on the same server share one pooled HTTP client ({@link SharedHttpClientFactory}).
+ * With -Dtraffic=record|replay the session's traffic is recorded, or answered from a
+ * recording without a server ({@link TrafficRecording}).
+ */
+public class InstrumentedCommandExecutor extends AppiumCommandExecutor {
+
+    private final AppiumServerPool.Lease lease;
+    private final CommandCoalescer coalescer = TestConfig.COALESCE_COMMANDS ? new CommandCoalescer() : null;
+    private final TrafficRecording.Recorder recorder;
+    private final TrafficRecording.Player player;
+    // Commands sent to the server so far, background ones included: the index into its eventTimings
+    private final AtomicInteger sent = new AtomicInteger();
+
+    public InstrumentedCommandExecutor(URL serverUrl) {
+        super(MobileCommand.commandRepository, serverUrl, SharedHttpClientFactory.instance());
+        this.lease = null;
+        this.recorder = TrafficRecording.isRecording() ? new TrafficRecording.Recorder(TrafficRecording.nextSessionFile()) : null;
+        this.player = TrafficRecording.isReplaying() ? new TrafficRecording.Player(TrafficRecording.nextSessionFile()) : null;
+    }
+
+    /**
+     * Executor for a pooled server; the lease is released when the session quits
+     */
+    public InstrumentedCommandExecutor(AppiumServerPool.Lease lease) {
+        super(MobileCommand.commandRepository, lease.getUrl(), SharedHttpClientFactory.instance());
+        this.lease = lease;
+        this.recorder = TrafficRecording.isRecording() ? new TrafficRecording.Recorder(TrafficRecording.nextSessionFile()) : null;
+        this.player = TrafficRecording.isReplaying() ? new TrafficRecording.Player(TrafficRecording.nextSessionFile()) : null;
+    }
+
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+        if (BackgroundThreads.isBackground()) {
+            sent.getAndIncrement();
+            return exchange(command, true);
+        }
+        CrashWatchdog.throwIfCrashed();
+        try (Tracer.Span span = Tracer.span(command.getName(), Tracer.CATEGORY_COMMAND)) {
+            Map<String, ?> parameters = command.getParameters();
+            if (parameters != null) {
+                // Locators and scripts only - typed text (sendKeys "value") stays out of traces
+                if (parameters.containsKey("using")) {
+                    span.arg("using", parameters.get("using")).arg("value", parameters.get("value"));
+                }
+                span.arg("script", parameters.get("script"));
+            }
+            if (coalescer != null) {
+                Response cached = coalescer.lookup(command);
+                if (cached != null) {
+                    span.arg("coalesced", true);
+                    return cached;
+                }
+            }
+            int serverIndex = sent.getAndIncrement();
+            long started = Profiler.enter();
+            try {
+                Response response = exchange(command, false);
+                return coalescer != null ? coalescer.store(command, response) : response;
+            } catch (RuntimeException e) {
+                // A command cut short by the crash watchdog fails with the crash, not a transport error
+                CrashWatchdog.throwIfCrashed();
+                throw e;
+            } finally {
+                Profiler.command(command.getName(), serverIndex, started);
+                if (DriverCommand.QUIT.equals(command.getName())) {
+                    if (lease != null) {
+                        lease.release();
+                    }
+                    if (recorder != null) {
+                        recorder.close();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One round trip to the server, recorded, or answered from a recording
+     */
+    private Response exchange(Command command, boolean background) {
+        if (player != null) {
+            return player.play(command, background);
+        }
+        if (recorder == null) {
+            return super.execute(command);
+        }
+        long started = System.nanoTime();
+        try {
+            Response response = super.execute(command);
+            recorder.record(command, background, response, System.nanoTime() - started);
+            return response;
+        } catch (RuntimeException e) {
+            recorder.recordFailure(command, background, e, System.nanoTime() - started);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.appium.java_client.appmanagement.ApplicationState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks session bootstrap for every {@link CapabilityProfile} on the configured device.
+ *
+ * Each profile is started a few times; a run counts only if the app ends up in the
+ * foreground and the first command returns a non-empty hierarchy. Session creation and the
+ * first command are timed separately and their medians reported and stored per profile.
+ * The correct profile with the lowest sum of both medians is remembered for the device and
+ * picked up by later runs with -DcapabilityProfile=auto.
+ *
+ * Profiles run in declaration order, so fast is measured on a device the safe runs have
+ * just prepared. Its verdict holds only while the device stays prepared; after a reset or a
+ * driver upgrade a fast session may not start, and auto then falls back to safe.
+ *
+ * <pre>
+ *   gradle benchmarkProfiles -Dplatform=android -Piterations=3
+ * </pre>
+ */
+public class SessionBenchmark {
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        System.out.println("\n🏁 === SESSION BOOTSTRAP BENCHMARK ===");
+        System.out.println("📱 " + TestConfig.getPlatform() + " / " + TestConfig.getDeviceName() + ", " + iterations + " runs per profile");
+
+        CapabilityProfile fastest = null;
+        long fastestMillis = Long.MAX_VALUE;
+        Map<CapabilityProfile, long[]> medians = new EnumMap<>(CapabilityProfile.class);
+        for (CapabilityProfile profile : CapabilityProfile.values()) {
+            List<Long> sessionTimings = new ArrayList<>();
+            List<Long> firstCommandTimings = new ArrayList<>();
+            boolean correct = true;
+            for (int run = 1; run <= iterations && correct; run++) {
+                long[] millis = bootstrap(profile);
+                if (millis == null) {
+                    correct = false;
+                } else {
+                    sessionTimings.add(millis[0]);
+                    firstCommandTimings.add(millis[1]);
+                    System.out.println("   " + profile.getProfileName() + " #" + run + ": session " + millis[0]
+                        + " ms, first command " + millis[1] + " ms");
+                }
+            }
+            if (!correct) {
+                System.out.println("❌ " + profile.getProfileName() + ": app not usable after bootstrap - skipped");
+                continue;
+            }
+            long sessionMedian = median(sessionTimings);
+            long firstCommandMedian = median(firstCommandTimings);
+            medians.put(profile, new long[] {sessionMedian, firstCommandMedian});
+            System.out.println("⏱️ " + profile.getProfileName() + ": median session " + sessionMedian
+                + " ms, first command " + firstCommandMedian + " ms");
+            if (sessionMedian + firstCommandMedian < fastestMillis) {
+                fastest = profile;
+                fastestMillis = sessionMedian + firstCommandMedian;
+            }
+        }
+
+        if (fastest == null) {
+            System.out.println("❌ No capability profile produced a usable session");
+            System.exit(1);
+        }
+        System.out.println("🏆 Fastest correct profile: " + fastest.getProfileName() + " (" + fastestMillis + " ms)");
+        CapabilityProfile.remember(fastest, medians);
+    }
+
+    /**
+     * Start one session, run the first command and check the app is usable
+     *
+     * @return session creation and first command in ms, or null if the app was not usable
+     */
+    private static long[] bootstrap(CapabilityProfile profile) {
+        AppiumDriver driver = null;
+        try {
+            long started = System.nanoTime();
+            driver = AppiumConfig.createDriver(profile);
+            long created = System.nanoTime();
+            String source = driver.getPageSource();
+            long[] millis = {(created - started) / 1_000_000, (System.nanoTime() - created) / 1_000_000};
+
+            String appId = TestConfig.isAndroid() ? TestConfig.ANDROID_APP_PACKAGE : TestConfig.IOS_BUNDLE_ID;
+            ApplicationState state = ((InteractsWithApps) driver).queryAppState(appId);
+            if (state != ApplicationState.RUNNING_IN_FOREGROUND || source == null || source.isEmpty()) {
+                System.out.println("⚠️ " + profile.getProfileName() + ": app state " + state);
+                return null;
+            }
+            return millis;
+        } catch (Exception e) {
+            System.out.println("⚠️ " + profile.getProfileName() + ": session failed - " + e.getMessage());
+            return null;
+        } finally {
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (Exception e) {
+                    // Session already gone
+                }
+            }
+        }
+    }
+
+    private static long median(List<Long> timings) {
+        List<Long> sorted = new ArrayList<>(timings);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,230 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import com.magnoliacollectivewellness.appium.utils.CrashWatchdog;
+import com.magnoliacollectivewellness.appium.utils.Deadline;
+import com.magnoliacollectivewellness.appium.utils.DeviceLogCollector;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.HierarchySnapshot;
+import com.magnoliacollectivewellness.appium.utils.Profiler;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
+import com.magnoliacollectivewellness.appium.utils.VirtualThreads;
+import io.appium.java_client.AppiumDriver;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drives many remote sessions from one JVM, one virtual thread per session.
+ *
+ * A session spends nearly all its time blocked on HTTP or in pauses, so on a JDK with
+ * virtual threads (21+) hundreds of sessions need only a handful of carrier threads;
+ * on older JDKs it falls back to a pool of at most maxSessions platform threads.
+ *
+ * Each flow runs start to finish on its own thread, with its own driver and page objects
+ * (thread-confined, like a JUnit test) and the same per-test event log, trace, profile,
+ * device log and crash watchdog as {@code BaseTest}. Sessions to the same server share one
+ * pooled HTTP client. At most maxSessions sessions are open at once, and at most
+ * creationConcurrency are being created at once so a burst of flows cannot swamp the
+ * Appium servers or the device farm with simultaneous session requests.
+ *
+ * <pre>
+ *   List&lt;SessionOrchestrator.Result&gt; results = new SessionOrchestrator()
+ *       .submit("login-1", driver -&gt; new LoginPage(driver).login(email, password))
+ *       .submit("login-2", driver -&gt; new LoginPage(driver).login(email, password))
+ *       .run();
+ * </pre>
+ */
+public class SessionOrchestrator {
+    /**
+     * One session's test flow; the driver belongs to this flow alone
+     */
+    @FunctionalInterface
+    public interface SessionFlow {
+        void run(AppiumDriver driver) throws Exception;
+    }
+
+    /**
+     * How one flow ended
+     */
+    public static final class Result {
+        private final String name;
+        private final Throwable failure;
+        private final long millis;
+
+        private Result(String name, Throwable failure, long millis) {
+            this.name = name;
+            this.failure = failure;
+            this.millis = millis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isPassed() {
+            return failure == null;
+        }
+
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+
+        @Override
+        public String toString() {
+            return (failure == null ? "✅ " : "❌ ") + name + " (" + millis + " ms)"
+                + (failure == null ? "" : ": " + failure);
+        }
+    }
+
+    private final List<String> names = new ArrayList<>();
+    private final List<SessionFlow> flows = new ArrayList<>();
+    private final int maxSessions;
+    private final Semaphore openSessions;
+    private final Semaphore creations;
+
+    public SessionOrchestrator() {
+        this(TestConfig.MAX_SESSIONS, TestConfig.SESSION_CREATION_CONCURRENCY);
+    }
+
+    public SessionOrchestrator(int maxSessions, int creationConcurrency) {
+        this.maxSessions = maxSessions;
+        this.openSessions = new Semaphore(maxSessions, true);
+        this.creations = new Semaphore(creationConcurrency, true);
+    }
+
+    /**
+     * Add a flow to run in its own session
+     */
+    public SessionOrchestrator submit(String name, SessionFlow flow) {
+        names.add(name);
+        flows.add(flow);
+        return this;
+    }
+
+    /**
+     * Run all submitted flows and wait for them; results are in submission order
+     */
+    public List<Result> run() throws InterruptedException {
+        System.out.println("\n🎛️ === SESSION ORCHESTRATOR ===");
+        System.out.println("   Flows: " + flows.size() + ", max sessions: " + maxSessions
+            + ", threads: " + (VirtualThreads.isAvailable() ? "virtual" : "platform (JDK without virtual threads)"));
+
+        List<Future<Result>> futures = new ArrayList<>();
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("session-", maxSessions);
+        try {
+            for (int i = 0; i < flows.size(); i++) {
+                String name = names.get(i);
+                SessionFlow flow = flows.get(i);
+                futures.add(executor.submit(() -> runSession(name, flow)));
+            }
+            List<Result> results = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    results.add(new Result(names.get(i), e.getCause(), 0));
+                }
+            }
+            printSummary(results);
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Result runSession(String name, SessionFlow flow) throws InterruptedException {
+        openSessions.acquire();
+        long started = System.nanoTime();
+        AppiumDriver driver = null;
+        Deadline deadline = null;
+        DeviceLogCollector deviceLog = null;
+        CrashWatchdog watchdog = null;
+        EventLog.beginTest(name);
+        Tracer.beginTest(name);
+        Profiler.beginTest(name);
+        try {
+            // Backpressure: only a few sessions are being created at any moment
+            creations.acquire();
+            try {
+                driver = AppiumConfig.createDriver();
+            } finally {
+                creations.release();
+            }
+            deadline = Deadline.open(name, Duration.ofSeconds(TestConfig.TEST_BUDGET_SECONDS));
+            deviceLog = DeviceLogCollector.start(driver);
+            deviceLog.beginTest(name);
+            watchdog = CrashWatchdog.start(driver, name, deviceLog);
+
+            flow.run(driver);
+            return new Result(name, null, (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception | AssertionError e) {
+            return new Result(name, e, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            if (watchdog != null) {
+                watchdog.close();
+            }
+            if (deviceLog != null) {
+                deviceLog.endTest();
+                deviceLog.close();
+            }
+            if (driver != null) {
+                try {
+                    Profiler.collectServerTimings(driver);
+                    driver.quit();
+                } catch (Exception e) {
+                    EventLog.warn("SessionOrchestrator", "⚠️ Could not close session " + name + ": " + e.getMessage());
+                }
+            }
+            if (deadline != null) {
+                deadline.close();
+            }
+            Profiler.endTest();
+            Tracer.endTest();
+            EventLog.endTest();
+            openSessions.release();
+        }
+    }
+
+    private static void printSummary(List<Result> results) {
+        int passed = 0;
+        for (Result result : results) {
+            if (result.isPassed()) {
+                passed++;
+            } else {
+                System.out.println("   " + result);
+            }
+        }
+        System.out.println("📊 " + passed + "/" + results.size() + " sessions passed, peak JVM threads: "
+            + ManagementFactory.getThreadMXBean().getPeakThreadCount() + ", heap used: "
+            + (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / (1024 * 1024) + " MB");
+    }
+
+    /**
+     * Smoke run against the farm: launch N sessions and check each shows a non-empty screen
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : TestConfig.MAX_SESSIONS;
+        SessionOrchestrator orchestrator = new SessionOrchestrator();
+        for (int i = 1; i <= sessions; i++) {
+            orchestrator.submit("SessionSmoke." + i, driver -> {
+                if (HierarchySnapshot.capture(driver).count("//*") == 0) {
+                    throw new AssertionError("App shows an empty hierarchy");
+                }
+            });
+        }
+        List<Result> results = orchestrator.run();
+        SharedHttpClientFactory.instance().closeAll();
+        AppiumServerPool.stopAll();
+        System.exit(results.stream().allMatch(Result::isPassed) ? 0 : 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP client factory that gives every session talking to the same Appium server one shared,
+ * pooled client instead of a client (connection pool, I/O threads) per session.
+ *
+ * Sessions ending close their executor's client; the shared client ignores that and stays
+ * open for the other sessions until {@link #closeAll()}.
+ */
+final class SharedHttpClientFactory implements HttpClient.Factory {
+    private static final SharedHttpClientFactory INSTANCE = new SharedHttpClientFactory();
+
+    private final HttpClient.Factory delegate = HttpClient.Factory.createDefault();
+    private final Map<URI, HttpClient> clients = new ConcurrentHashMap<>();
+
+    private SharedHttpClientFactory() {
+    }
+
+    static SharedHttpClientFactory instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        return new SharedClient(clients.computeIfAbsent(config.baseUri(), uri -> delegate.createClient(config)));
+    }
+
+    /**
+     * Close every shared client (end of an orchestrated run)
+     */
+    void closeAll() {
+        for (HttpClient client : clients.values()) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    /**
+     * View of a shared client whose close() leaves it open for the other sessions
+     */
+    private static final class SharedClient implements HttpClient {
+        private final HttpClient client;
+
+        SharedClient(HttpClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return client.openSocket(request, listener);
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return client.execute(request);
+        }
+
+        @Override
+        public void close() {
+            // Shared by every session of the server
+        }
+    }
+}
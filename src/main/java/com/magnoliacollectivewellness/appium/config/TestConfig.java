@@ -86,6 +86,101 @@ public class TestConfig {
     public static final boolean NO_RESET = Boolean.parseBoolean(getSystemProperty("noReset", "false"));
     public static final boolean AUTO_GRANT_PERMISSIONS = Boolean.parseBoolean(getSystemProperty("autoGrantPermissions", "true"));
     
+    // App build under test - keys recorded data such as onboarding scripts
+    public static final String APP_VERSION = getSystemProperty("appVersion", "dev");
+    
+    // Replay recorded onboarding paths instead of discovering them live
+    public static final boolean ONBOARDING_REPLAY = Boolean.parseBoolean(getSystemProperty("onboardingReplay", "true"));
+    
+    // Structured per-test event log (one JSON-lines file per test) and its console mirror level: debug, info, warn, off
+    public static final String EVENT_LOG_DIR = getSystemProperty("eventLogDir", "build/event-logs");
+    public static final String EVENT_LOG_CONSOLE_LEVEL = getSystemProperty("eventLogConsoleLevel", "info");
+    
+    // Span tracing of page methods, strategies, commands and sleeps, exported as Chrome trace files
+    public static final boolean TRACING_ENABLED = Boolean.parseBoolean(getSystemProperty("tracing", "true"));
+    public static final String TRACE_DIR = getSystemProperty("traceDir", "build/traces");
+    
+    // Archive of every distinct page source seen (deduplicated, compressed) for debugging and offline fixtures
+    public static final boolean HIERARCHY_ARCHIVE = Boolean.parseBoolean(getSystemProperty("hierarchyArchive", "true"));
+    public static final String HIERARCHY_ARCHIVE_DIR = getSystemProperty("hierarchyArchiveDir", "build/hierarchy-archive");
+    
+    // Per-step timings of every run, kept in a memory-mapped store for trend queries (needs tracing)
+    public static final boolean METRICS_ENABLED = Boolean.parseBoolean(getSystemProperty("metrics", "true"));
+    public static final String METRICS_DIR = getSystemProperty("metricsDir", "build/metrics");
+    
+    // Wall-clock profile per test: sleep, wait polling, HTTP, Appium server (eventTimings) and client CPU
+    public static final boolean PROFILER_ENABLED = Boolean.parseBoolean(getSystemProperty("profiler", "true"));
+    public static final String PROFILE_DIR = getSystemProperty("profileDir", "build/profiles");
+    
+    // Local Appium servers started and supervised by the framework (0 = use APPIUM_SERVER_URL)
+    public static final int APPIUM_SERVERS = Integer.parseInt(getSystemProperty("appiumServers", "0"));
+    public static final String APPIUM_SERVER_LOG_DIR = getSystemProperty("appiumServerLogDir", "build/appium-servers");
+    
+    // Answer identical read commands repeated within the TTL from a per-session cache (cleared by any other command)
+    public static final boolean COALESCE_COMMANDS = Boolean.parseBoolean(getSystemProperty("coalesceCommands", "false"));
+    public static final long COALESCE_TTL_MILLIS = Long.parseLong(getSystemProperty("coalesceTtl", "150"));
+    
+    // Background crash / ANR detection that aborts the test at once (app state every interval + device log)
+    public static final boolean CRASH_WATCHDOG = Boolean.parseBoolean(getSystemProperty("crashWatchdog", "true"));
+    public static final long CRASH_WATCHDOG_INTERVAL_MILLIS = Long.parseLong(getSystemProperty("crashWatchdogInterval", "2000"));
+    
+    // Device log (logcat / syslog) pulled incrementally during the session, app lines only, sliced per test
+    public static final boolean DEVICE_LOGS = Boolean.parseBoolean(getSystemProperty("deviceLogs", "true"));
+    public static final String DEVICE_LOG_DIR = getSystemProperty("deviceLogDir", "build/device-logs");
+    public static final long DEVICE_LOG_INTERVAL_MILLIS = Long.parseLong(getSystemProperty("deviceLogInterval", "2000"));
+    
+    // SessionOrchestrator: sessions open at once, and sessions being created at once (backpressure)
+    public static final int MAX_SESSIONS = Integer.parseInt(getSystemProperty("maxSessions", "50"));
+    public static final int SESSION_CREATION_CONCURRENCY = Integer.parseInt(getSystemProperty("sessionCreationConcurrency", "4"));
+    
+    // RetryPolicy defaults: attempts, time per operation, first backoff (doubled per retry, with jitter) and its cap
+    public static final int RETRY_MAX_ATTEMPTS = Integer.parseInt(getSystemProperty("retryMaxAttempts", "3"));
+    public static final long RETRY_MAX_TIME_MILLIS = Long.parseLong(getSystemProperty("retryMaxTime", "20000"));
+    public static final long RETRY_BACKOFF_MILLIS = Long.parseLong(getSystemProperty("retryBackoff", "250"));
+    public static final long RETRY_MAX_BACKOFF_MILLIS = Long.parseLong(getSystemProperty("retryMaxBackoff", "2000"));
+    
+    // Remembered rects of static-layout controls (bottom navigation) tapped without a lookup, checked by the transition
+    public static final boolean GEOMETRY_CACHE = Boolean.parseBoolean(getSystemProperty("geometryCache", "true"));
+    public static final String GEOMETRY_CACHE_FILE = getSystemProperty("geometryCacheFile", "build/geometry-cache.properties");
+    
+    // Record every session's WebDriver traffic, or replay it without server or device (off, record, replay)
+    public static final String TRAFFIC = getSystemProperty("traffic", "off");
+    public static final String TRAFFIC_DIR = getSystemProperty("trafficDir", "build/recordings");
+    // Replayed round trips take recorded time / speed (1 = original timing, 0 = no delay)
+    public static final double REPLAY_SPEED = Double.parseDouble(getSystemProperty("replaySpeed", "1"));
+    
+    // Failure history that orders the PrioritizedTests suite (likeliest failures per second first)
+    public static final String TEST_HISTORY_FILE = getSystemProperty("testHistoryFile", "test-history.properties");
+    // Stop the prioritized run after this many failed tests (0 = run everything)
+    public static final int FAIL_FAST_AFTER = Integer.parseInt(getSystemProperty("failFastAfter", "0"));
+    
+    // Wait for the screen to settle after taps instead of sleeping a fixed time
+    public static final boolean SCREEN_STABILITY = Boolean.parseBoolean(getSystemProperty("screenStability", "true"));
+    // Consecutive identical hierarchy hashes that count as settled
+    public static final int STABLE_POLLS = Integer.parseInt(getSystemProperty("stablePolls", "2"));
+    
+    // Capability profile (safe, fast, fresh-install); "auto" uses the one benchmarked for the device
+    public static final String CAPABILITY_PROFILE = getSystemProperty("capabilityProfile", "auto");
+    public static final String CAPABILITY_PROFILE_FILE = getSystemProperty("capabilityProfileFile", "capability-profiles.properties");
+    
+    // Time budgets shared by all waits, retries and fallbacks inside a test / a page action such as login
+    public static final int TEST_BUDGET_SECONDS = Integer.parseInt(getSystemProperty("testBudget", "600"));
+    public static final int ACTION_BUDGET_SECONDS = Integer.parseInt(getSystemProperty("actionBudget", "60"));
+    
+    // ═══════════════════════════════════════════════════════════════════════
+    // 📈 PERFORMANCE GATE
+    // ═══════════════════════════════════════════════════════════════════════
+    
+    // Fail the run when a flow's p95 exceeds its stored baseline by more than the threshold
+    public static final boolean PERF_GATE_ENABLED = Boolean.parseBoolean(getSystemProperty("perfGate", "true"));
+    public static final double PERF_REGRESSION_THRESHOLD = Double.parseDouble(getSystemProperty("perfThreshold", "0.25"));
+    public static final String PERF_BASELINE_FILE = getSystemProperty("perfBaselineFile", "perf-baselines.properties");
+    public static final boolean UPDATE_PERF_BASELINES = Boolean.parseBoolean(getSystemProperty("updatePerfBaselines", "false"));
+    // A flow is gated (or its baseline updated) only once the run holds this many samples of it
+    public static final int PERF_MIN_SAMPLES = Integer.parseInt(getSystemProperty("perfMinSamples", "5"));
+    // Run every end-to-end test this many times, so one run collects several samples per flow
+    public static final int PERF_ITERATIONS = Integer.parseInt(getSystemProperty("perfIterations", "1"));
+    
     // ═══════════════════════════════════════════════════════════════════════
     // 🎯 DYNAMIC PROPERTY GETTERS
     // ═══════════════════════════════════════════════════════════════════════
@@ -206,6 +301,31 @@ public class TestConfig {
         System.out.println("   Command Timeout: " + COMMAND_TIMEOUT_SECONDS + " seconds");
         System.out.println("   No Reset: " + NO_RESET);
         System.out.println("   Auto Grant Permissions: " + AUTO_GRANT_PERMISSIONS);
+        System.out.println("   App Version: " + APP_VERSION);
+        System.out.println("   Onboarding Replay: " + ONBOARDING_REPLAY);
+        System.out.println("   Event Log: " + EVENT_LOG_DIR + " (console: " + EVENT_LOG_CONSOLE_LEVEL + ")");
+        System.out.println("   Tracing: " + (TRACING_ENABLED ? TRACE_DIR : "off"));
+        System.out.println("   Hierarchy Archive: " + (HIERARCHY_ARCHIVE ? HIERARCHY_ARCHIVE_DIR : "off"));
+        System.out.println("   Metrics Store: " + (METRICS_ENABLED ? METRICS_DIR : "off"));
+        System.out.println("   Profiler: " + (PROFILER_ENABLED ? PROFILE_DIR : "off"));
+        System.out.println("   Appium Servers: " + (APPIUM_SERVERS > 0 ? APPIUM_SERVERS + " pooled" : APPIUM_SERVER_URL));
+        System.out.println("   Command Coalescing: " + (COALESCE_COMMANDS ? COALESCE_TTL_MILLIS + " ms" : "off"));
+        System.out.println("   Crash Watchdog: " + (CRASH_WATCHDOG ? "every " + CRASH_WATCHDOG_INTERVAL_MILLIS + " ms" : "off"));
+        System.out.println("   Device Logs: " + (DEVICE_LOGS ? DEVICE_LOG_DIR : "off"));
+        System.out.println("   Orchestrator: " + MAX_SESSIONS + " sessions, " + SESSION_CREATION_CONCURRENCY + " created at once");
+        System.out.println("   Retries: " + RETRY_MAX_ATTEMPTS + " attempts within " + RETRY_MAX_TIME_MILLIS + " ms, backoff "
+            + RETRY_BACKOFF_MILLIS + "-" + RETRY_MAX_BACKOFF_MILLIS + " ms");
+        System.out.println("   Geometry Cache: " + (GEOMETRY_CACHE ? GEOMETRY_CACHE_FILE : "off"));
+        System.out.println("   Traffic: " + ("off".equalsIgnoreCase(TRAFFIC) ? "off" : TRAFFIC + " " + TRAFFIC_DIR
+            + ("replay".equalsIgnoreCase(TRAFFIC) ? " at speed " + REPLAY_SPEED : "")));
+        System.out.println("   Test Order: history " + TEST_HISTORY_FILE
+            + (FAIL_FAST_AFTER > 0 ? ", fail fast after " + FAIL_FAST_AFTER + " failure(s)" : ""));
+        System.out.println("   Screen Stability: " + (SCREEN_STABILITY ? STABLE_POLLS + " stable polls" : "off (fixed sleeps)"));
+        System.out.println("   Capability Profile: " + CAPABILITY_PROFILE);
+        System.out.println("   Time Budgets: test " + TEST_BUDGET_SECONDS + "s, action " + ACTION_BUDGET_SECONDS + "s");
+        System.out.println("   Perf Gate: " + (PERF_GATE_ENABLED ? "+" + Math.round(PERF_REGRESSION_THRESHOLD * 100) + "% over " + PERF_BASELINE_FILE
+                + " from " + PERF_MIN_SAMPLES + " samples, " + PERF_ITERATIONS + " iteration(s) per test" : "off")
+            + (UPDATE_PERF_BASELINES ? " (updating baselines)" : ""));
         System.out.println("═".repeat(80) + "\n");
     }
     
@@ -0,0 +1,306 @@
+package com.magnoliacollectivewellness.appium.config;
+
+import com.magnoliacollectivewellness.appium.utils.Tracer;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Records a session's WebDriver traffic and replays it later without a server or device.
+ *
+ * With -Dtraffic=record every command of a session and its response (or error) and round-trip
+ * time is appended to {@code build/recordings/<test>.jsonl.gz}: one JSON line per command, gzip
+ * flushed after each line so the file stays readable up to the last command even if the run dies.
+ *
+ * With -Dtraffic=replay the executor answers from the recording of the same test instead.
+ * Requests are matched by command, locator, script and element id, in recorded order: a request
+ * takes the next recorded answer with the same key (skipping answers the client no longer asks
+ * for); a request repeated more often than recorded - an extra poll - gets the latest one again.
+ * Commands of background threads (crash watchdog, device log) are matched in their own lane so
+ * their timing does not disturb the test's. Answers are delayed by the recorded round trip
+ * divided by -DreplaySpeed (0 = no delay).
+ */
+final class TrafficRecording {
+    private static final int FORMAT_VERSION = 1;
+    private static final Path DIR = Paths.get(TestConfig.TRAFFIC_DIR);
+    private static final Json JSON = new Json();
+    private static final ErrorCodes ERROR_CODES = new ErrorCodes();
+    private static final Map<String, AtomicInteger> SESSIONS_PER_TEST = new ConcurrentHashMap<>();
+
+    private TrafficRecording() {
+    }
+
+    static boolean isRecording() {
+        return "record".equalsIgnoreCase(TestConfig.TRAFFIC);
+    }
+
+    static boolean isReplaying() {
+        return "replay".equalsIgnoreCase(TestConfig.TRAFFIC);
+    }
+
+    /**
+     * Recording file for the next session of the current test (test, test-2, ... in creation order)
+     */
+    static Path nextSessionFile() {
+        String test = Tracer.currentTest();
+        if (test == null) {
+            test = "session";
+        }
+        int session = SESSIONS_PER_TEST.computeIfAbsent(test, name -> new AtomicInteger()).incrementAndGet();
+        return DIR.resolve((session == 1 ? test : test + "-" + session) + ".jsonl.gz");
+    }
+
+    /**
+     * Match key: command plus the parameters that say what it is about (never typed text)
+     */
+    static String key(Command command) {
+        StringBuilder key = new StringBuilder(command.getName());
+        Map<String, ?> parameters = command.getParameters();
+        if (parameters != null) {
+            if (parameters.containsKey("using")) {
+                key.append('|').append(parameters.get("using")).append('=').append(parameters.get("value"));
+            }
+            if (parameters.containsKey("script")) {
+                key.append("|script=").append(parameters.get("script"));
+            }
+            if (parameters.containsKey("id")) {
+                key.append("|id=").append(parameters.get("id"));
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Appends one session's traffic to its recording
+     */
+    static final class Recorder {
+        private final Path file;
+        private Writer writer;
+
+        Recorder(Path file) {
+            this.file = file;
+            try {
+                Files.createDirectories(file.getParent());
+                OutputStream out = new GZIPOutputStream(Files.newOutputStream(file), true);
+                writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                Map<String, Object> header = new LinkedHashMap<>();
+                header.put("format", FORMAT_VERSION);
+                header.put("platform", TestConfig.getPlatform());
+                header.put("device", TestConfig.getDeviceName());
+                header.put("appVersion", TestConfig.APP_VERSION);
+                writeLine(header);
+                System.out.println("📼 Recording WebDriver traffic to " + file);
+            } catch (IOException e) {
+                System.out.println("⚠️ Traffic recording disabled, cannot open " + file + ": " + e.getMessage());
+                writer = null;
+            }
+        }
+
+        synchronized void record(Command command, boolean background, Response response, long nanos) {
+            Map<String, Object> line = entry(command, background, nanos);
+            line.put("sid", response.getSessionId());
+            line.put("st", response.getStatus());
+            Object value = response.getValue();
+            if (value instanceof Throwable) {
+                line.put("err", response.getState());
+                line.put("msg", value instanceof WebDriverException
+                    ? ((WebDriverException) value).getRawMessage() : ((Throwable) value).getMessage());
+            } else {
+                line.put("val", value);
+            }
+            writeLine(line);
+        }
+
+        synchronized void recordFailure(Command command, boolean background, RuntimeException failure, long nanos) {
+            Map<String, Object> line = entry(command, background, nanos);
+            line.put("thrown", failure.getClass().getName());
+            line.put("msg", failure.getMessage());
+            writeLine(line);
+        }
+
+        synchronized void close() {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    System.out.println("⚠️ Could not close traffic recording " + file + ": " + e.getMessage());
+                }
+                writer = null;
+            }
+        }
+
+        private Map<String, Object> entry(Command command, boolean background, long nanos) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("k", key(command));
+            if (background) {
+                line.put("bg", true);
+            }
+            line.put("us", nanos / 1000);
+            return line;
+        }
+
+        private void writeLine(Map<String, Object> line) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                StringBuilder json = new StringBuilder(256);
+                JSON.newOutput(json).setPrettyPrint(false).write(line);
+                writer.write(json.append('\n').toString());
+                writer.flush();
+            } catch (IOException | RuntimeException e) {
+                System.out.println("⚠️ Traffic recording stopped, cannot write " + file + ": " + e.getMessage());
+                close();
+            }
+        }
+    }
+
+    /**
+     * Serves one session's recorded answers
+     */
+    static final class Player {
+        private final Path file;
+        private final Lane foreground = new Lane();
+        private final Lane background = new Lane();
+
+        Player(Path file) {
+            this.file = file;
+            if (!Files.exists(file)) {
+                throw new WebDriverException("No traffic recording to replay: " + file
+                    + " (record it first with -Dtraffic=record)");
+            }
+            String[] lines = read(file).split("\n", -1);
+            // Line 0 is the header; the last is empty, or cut off if the run died mid-write
+            for (int i = 1; i < lines.length - 1; i++) {
+                Map<String, Object> entry = JSON.toType(lines[i], Json.MAP_TYPE);
+                (Boolean.TRUE.equals(entry.get("bg")) ? background : foreground).add(entry);
+            }
+            System.out.println("📼 Replaying WebDriver traffic from " + file + " (" + foreground.entries.size()
+                + " commands, speed " + (TestConfig.REPLAY_SPEED > 0 ? TestConfig.REPLAY_SPEED + "x" : "unthrottled") + ")");
+        }
+
+        Response play(Command command, boolean fromBackground) {
+            String key = key(command);
+            Map<String, Object> entry = (fromBackground ? background : foreground).take(key);
+            if (entry == null) {
+                throw new WebDriverException("No recorded answer for " + key + " in " + file);
+            }
+            delay(((Number) entry.get("us")).longValue());
+            if (entry.containsKey("thrown")) {
+                throw new WebDriverException("Replayed failure " + entry.get("thrown") + ": " + entry.get("msg"));
+            }
+            Response response = new Response();
+            response.setSessionId((String) entry.get("sid"));
+            Number status = (Number) entry.get("st");
+            response.setStatus(status != null ? status.intValue() : ErrorCodes.SUCCESS);
+            if (entry.containsKey("err")) {
+                String state = (String) entry.get("err");
+                response.setState(state);
+                response.setValue(exception(state, (String) entry.get("msg")));
+            } else {
+                response.setState(ErrorCodes.SUCCESS_STRING);
+                response.setValue(entry.get("val"));
+            }
+            return response;
+        }
+
+        private static void delay(long micros) {
+            if (TestConfig.REPLAY_SPEED <= 0) {
+                return;
+            }
+            try {
+                Thread.sleep(Math.round(micros / 1000.0 / TestConfig.REPLAY_SPEED));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static WebDriverException exception(String state, String message) {
+            try {
+                return ERROR_CODES.getExceptionType(state).getConstructor(String.class).newInstance(message);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return new WebDriverException(message);
+            }
+        }
+
+        /**
+         * Decompress a recording; one whose run died is read up to its last flushed line
+         */
+        private static String read(Path file) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                byte[] chunk = new byte[8192];
+                try {
+                    for (int n = in.read(chunk); n != -1; n = in.read(chunk)) {
+                        bytes.write(chunk, 0, n);
+                    }
+                } catch (EOFException e) {
+                    // No gzip trailer - the recording was not closed
+                }
+            } catch (IOException e) {
+                throw new WebDriverException("Cannot read traffic recording " + file, e);
+            }
+            return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Recorded answers of one thread kind, in order, with a cursor
+     */
+    private static final class Lane {
+        final List<Map<String, Object>> entries = new ArrayList<>();
+        final Map<String, List<Integer>> positions = new HashMap<>();
+        int cursor;
+
+        void add(Map<String, Object> entry) {
+            positions.computeIfAbsent((String) entry.get("k"), key -> new ArrayList<>()).add(entries.size());
+            entries.add(entry);
+        }
+
+        synchronized Map<String, Object> take(String key) {
+            List<Integer> at = positions.get(key);
+            if (at == null) {
+                return null;
+            }
+            // First answer for this key at or after the cursor, else the latest one before it
+            int low = 0;
+            int high = at.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (at.get(mid) < cursor) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low < at.size()) {
+                cursor = at.get(low) + 1;
+                return entries.get(at.get(low));
+            }
+            return entries.get(at.get(at.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.magnoliacollectivewellness.appium.pages;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.utils.CrashWatchdog;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.Pause;
+import com.magnoliacollectivewellness.appium.utils.TestClock;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gets the app into a named state along the cheapest known path.
+ *
+ * App states are nodes of a graph; edges are page-object actions (or back / restart)
+ * with a cost in milliseconds. Costs start from rough estimates and are replaced by
+ * measured durations (moving average, shared by all tests of the run), so the navigator
+ * learns e.g. that one back press from the signup form is cheaper than a restart.
+ *
+ * Every hop starts from the screen the {@link ScreenClassifier} actually sees, so a hop
+ * that lands somewhere unexpected simply makes the navigator re-plan from there.
+ *
+ * <pre>
+ *   new AppNavigator(driver).navigateTo(AppNavigator.State.SIGNUP_FORM);
+ * </pre>
+ */
+public class AppNavigator {
+    /**
+     * Named app states (checkpoints) a test can ask for
+     */
+    public enum State {
+        WELCOME(LoginPage.WELCOME_SCREEN),
+        LOGIN_EMAIL(LoginPage.LOGIN_IDENTIFIER_SCREEN),
+        LOGIN_PASSWORD(LoginPage.LOGIN_PASSWORD_SCREEN),
+        QUESTIONNAIRE(OnboardingPage.QUESTIONNAIRE_SCREEN),
+        SIGNUP_FORM(SignupFlowPage.SCREEN),
+        OTP(OtpPage.SCREEN),
+        HOME(HomePage.SCREEN),
+        UNKNOWN(null);
+
+        private final ScreenSignature screen;
+
+        State(ScreenSignature screen) {
+            this.screen = screen;
+        }
+
+        static State of(ScreenClassifier.ScreenMatch match) {
+            for (State state : values()) {
+                if (state.screen != null && match.is(state.screen)) {
+                    return state;
+                }
+            }
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * One page-object action that moves the app from one state to another
+     */
+    @FunctionalInterface
+    public interface Action {
+        void perform(AppiumDriver driver) throws Exception;
+    }
+
+    // Hops before giving up (each hop re-plans from the classified screen)
+    private static final int MAX_HOPS = 8;
+    // How long to wait for the expected screen after a hop before re-planning
+    private static final long SETTLE_MILLIS = 3000;
+    // Added to an edge's cost each time it lands somewhere else
+    private static final double MISS_PENALTY_MILLIS = 30_000;
+    private static final double SMOOTHING = 0.3;
+    private static final Map<String, Double> MEASURED_COSTS = new ConcurrentHashMap<>();
+
+    private final AppiumDriver driver;
+    private final List<Edge> edges = new ArrayList<>();
+
+    public AppNavigator(AppiumDriver driver) {
+        this.driver = driver;
+
+        // Forward through the flow
+        edge(State.WELCOME, State.LOGIN_EMAIL, "LoginPage.handleWelcomeScreen", 3000,
+            d -> new LoginPage(d).handleWelcomeScreen());
+        edge(State.WELCOME, State.QUESTIONNAIRE, "OnboardingPage.startOnboarding", 3000,
+            d -> new OnboardingPage(d).startOnboarding());
+        edge(State.LOGIN_EMAIL, State.LOGIN_PASSWORD, "LoginPage.clickEnterPasswordButton", 2500,
+            d -> new LoginPage(d).clickEnterPasswordButton());
+        edge(State.QUESTIONNAIRE, State.SIGNUP_FORM, "OnboardingPage.completeOnboardingQuestionnaire", 60_000,
+            d -> new OnboardingPage(d).completeOnboardingQuestionnaire());
+
+        // Short back-navigation
+        for (State[] hop : new State[][] {
+            {State.LOGIN_EMAIL, State.WELCOME},
+            {State.LOGIN_PASSWORD, State.LOGIN_EMAIL},
+            {State.SIGNUP_FORM, State.QUESTIONNAIRE},
+            {State.OTP, State.SIGNUP_FORM}
+        }) {
+            edge(hop[0], hop[1], "back:" + hop[0] + "->" + hop[1], 1500, d -> d.navigate().back());
+        }
+
+        // Restart reaches the launch screen from anywhere (including unrecognised screens)
+        for (State from : State.values()) {
+            if (from != State.WELCOME) {
+                edge(from, State.WELCOME, "restart", 8000, AppNavigator::restartApp);
+            }
+        }
+    }
+
+    /**
+     * Add (or replace) an edge; later edges with the same name and endpoints win
+     */
+    public AppNavigator edge(State from, State to, String name, double estimatedMillis, Action action) {
+        edges.removeIf(edge -> edge.from == from && edge.to == to && edge.name.equals(name));
+        edges.add(new Edge(from, to, name, estimatedMillis, action));
+        return this;
+    }
+
+    /**
+     * Classify the current screen as a navigator state
+     */
+    public State currentState() {
+        return State.of(ScreenClassifier.classify(driver));
+    }
+
+    /**
+     * Drive the app to the target state along the cheapest path from the current screen
+     *
+     * @throws IllegalStateException if the target cannot be reached
+     */
+    public void navigateTo(State target) {
+        try (Tracer.Span span = Tracer.span("AppNavigator.navigateTo")) {
+            span.arg("target", target);
+            State current = currentState();
+            for (int hop = 0; hop < MAX_HOPS; hop++) {
+                if (current == target) {
+                    EventLog.success("AppNavigator.navigateTo", "✅ Reached " + target + " in " + hop + " hop(s)");
+                    return;
+                }
+                Deque<Edge> path = cheapestPath(current, target);
+                if (path.isEmpty()) {
+                    throw new IllegalStateException("No known path from " + current + " to " + target);
+                }
+                EventLog.info("AppNavigator.navigateTo", "🧭 " + current + " → " + target + " via " + describe(path));
+                current = traverse(path.peekFirst());
+            }
+            throw new IllegalStateException("Could not reach " + target + " within " + MAX_HOPS + " hops (now on " + current + ")");
+        }
+    }
+
+    /**
+     * Run one edge, measure it and return the state the app actually ended up in
+     */
+    private State traverse(Edge edge) {
+        long started = TestClock.now();
+        try (Tracer.Span span = Tracer.span("AppNavigator." + edge.name, Tracer.CATEGORY_STRATEGY)) {
+            edge.action.perform(driver);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while navigating " + edge.name, e);
+        } catch (Exception e) {
+            EventLog.warn("AppNavigator.traverse", "⚠️ " + edge.name + " failed: " + e.getMessage());
+        }
+
+        State landed = awaitState(edge.to);
+        double millis = (TestClock.now() - started) / 1_000_000.0;
+        if (landed != edge.to) {
+            millis += MISS_PENALTY_MILLIS;
+            EventLog.warn("AppNavigator.traverse", "⚠️ " + edge.name + " expected " + edge.to + " but landed on " + landed);
+        }
+        MEASURED_COSTS.merge(edge.key(), millis, (old, now) -> old + SMOOTHING * (now - old));
+        return landed;
+    }
+
+    private State awaitState(State expected) {
+        long deadline = TestClock.now() + SETTLE_MILLIS * 1_000_000L;
+        State state = currentState();
+        while (state != expected && TestClock.now() < deadline) {
+            try {
+                Pause.poll(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            state = currentState();
+        }
+        return state;
+    }
+
+    /**
+     * Dijkstra over the edges, using measured costs where known
+     */
+    private Deque<Edge> cheapestPath(State from, State to) {
+        Map<State, Double> distance = new EnumMap<>(State.class);
+        Map<State, Edge> via = new EnumMap<>(State.class);
+        PriorityQueue<State> queue = new PriorityQueue<>((a, b) -> Double.compare(distance.get(a), distance.get(b)));
+        distance.put(from, 0.0);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            State state = queue.poll();
+            if (state == to) {
+                break;
+            }
+            for (Edge edge : edges) {
+                if (edge.from != state) {
+                    continue;
+                }
+                double candidate = distance.get(state) + edge.cost();
+                Double known = distance.get(edge.to);
+                if (known == null || candidate < known) {
+                    queue.remove(edge.to);
+                    distance.put(edge.to, candidate);
+                    via.put(edge.to, edge);
+                    queue.add(edge.to);
+                }
+            }
+        }
+
+        Deque<Edge> path = new ArrayDeque<>();
+        for (State state = to; via.containsKey(state) && state != from; state = via.get(state).from) {
+            path.addFirst(via.get(state));
+        }
+        return path;
+    }
+
+    private static String describe(Deque<Edge> path) {
+        StringBuilder description = new StringBuilder();
+        for (Edge edge : path) {
+            if (description.length() > 0) {
+                description.append(" → ");
+            }
+            description.append(edge.name).append(" (~").append(Math.round(edge.cost())).append(" ms)");
+        }
+        return description.toString();
+    }
+
+    private static void restartApp(AppiumDriver driver) {
+        String appId = TestConfig.isAndroid() ? TestConfig.ANDROID_APP_PACKAGE : TestConfig.IOS_BUNDLE_ID;
+        try (CrashWatchdog.Suspension deliberate = CrashWatchdog.suspend()) {
+            ((InteractsWithApps) driver).terminateApp(appId);
+            ((InteractsWithApps) driver).activateApp(appId);
+        }
+    }
+
+    /**
+     * A transition between two states
+     */
+    private static final class Edge {
+        final State from;
+        final State to;
+        final String name;
+        final double estimatedMillis;
+        final Action action;
+
+        Edge(State from, State to, String name, double estimatedMillis, Action action) {
+            this.from = from;
+            this.to = to;
+            this.name = name;
+            this.estimatedMillis = estimatedMillis;
+            this.action = action;
+        }
+
+        String key() {
+            return from + ">" + to + ":" + name;
+        }
+
+        double cost() {
+            return MEASURED_COSTS.getOrDefault(key(), estimatedMillis);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.magnoliacollectivewellness.appium.pages;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.HierarchySnapshot;
+import com.magnoliacollectivewellness.appium.utils.OutcomeWait;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Remembered positions of controls that never move on their screen (bottom navigation tabs),
+ * so tapping them needs no element lookup.
+ *
+ * Entries are keyed by screen, control, window size, platform and app version and kept in
+ * {@code build/geometry-cache.properties} across runs. A cached control is tapped at the
+ * centre of its rect with one coordinate tap, and the tap only counts once the expected
+ * transition shows up; otherwise the entry is dropped and the control is looked up and
+ * clicked as usual. A normal click (re)learns the rect - but only from the control's own
+ * locator: a control found by a catch-all fallback locator is clicked and never remembered.
+ *
+ * Only use it for idempotent taps: when the check fails the control is tapped again.
+ */
+public final class GeometryCache {
+    private static final String HEADER =
+        "# Rects of static-layout controls: <platform>_<width>x<height>_<appVersion>_<screen>_<control>=x,y,width,height\n"
+            + "# Entries are dropped automatically when a cached tap does not lead where expected\n";
+    private static final Duration VERIFY_TIMEOUT = Duration.ofSeconds(3);
+    private static final Map<String, Rectangle> RECTS = load();
+    private static final Map<String, Dimension> WINDOW_SIZES = new ConcurrentHashMap<>();
+
+    private GeometryCache() {
+    }
+
+    /**
+     * Tap a control of the given screen, from the cache when possible
+     *
+     * @param screen   screen the control sits on (the app must be on it)
+     * @param control  name of the control on that screen, e.g. "appointments"
+     * @param lookup   normal element lookup, used on a cache miss or a failed check
+     * @param arrived  holds once the tap has had its effect
+     */
+    public static void tap(AppiumDriver driver, ScreenSignature screen, String control,
+                           Supplier<WebElement> lookup, Predicate<HierarchySnapshot> arrived) {
+        tap(driver, screen, control, lookup, null, arrived);
+    }
+
+    /**
+     * Tap a control of the given screen, from the cache when possible
+     *
+     * @param lookup   the control's own locator; only rects found by it are remembered
+     * @param fallback looser lookup used when the own locator finds nothing, or null
+     */
+    public static void tap(AppiumDriver driver, ScreenSignature screen, String control, Supplier<WebElement> lookup,
+                           Supplier<WebElement> fallback, Predicate<HierarchySnapshot> arrived) {
+        if (!TestConfig.GEOMETRY_CACHE) {
+            find(lookup, fallback).click();
+            return;
+        }
+        String step = "GeometryCache." + screen.getName() + "." + control;
+        String key = key(driver, screen, control);
+        Rectangle rect = RECTS.get(key);
+        if (rect != null) {
+            tapAt(driver, rect.x + rect.width / 2, rect.y + rect.height / 2);
+            boolean verified = new OutcomeWait<Boolean>(driver, step)
+                .when(true, arrived)
+                .whenTimedOut(false)
+                .await(VERIFY_TIMEOUT);
+            if (verified) {
+                Tracer.annotate("geometry", "cached");
+                EventLog.success(step, "⚡ Tapped cached " + control + " at " + rect.x + "," + rect.y);
+                return;
+            }
+            EventLog.warn(step, "⚠️ Cached tap on " + control + " did not arrive - dropping the entry and looking it up");
+            Tracer.annotate("geometry", "stale");
+            update(key, null);
+        }
+
+        WebElement element;
+        try {
+            element = lookup.get();
+        } catch (RuntimeException e) {
+            if (fallback == null) {
+                throw e;
+            }
+            // Whatever the fallback matched is not known to be the control - click it, don't learn it
+            EventLog.info(step, "ℹ️ " + control + " not found by its locator - using the fallback, not caching it");
+            fallback.get().click();
+            return;
+        }
+        Rectangle learned = element.getRect();
+        element.click();
+        if (rect == null) {
+            Tracer.annotate("geometry", "learned");
+        }
+        update(key, learned);
+    }
+
+    private static WebElement find(Supplier<WebElement> lookup, Supplier<WebElement> fallback) {
+        if (fallback == null) {
+            return lookup.get();
+        }
+        try {
+            return lookup.get();
+        } catch (RuntimeException e) {
+            return fallback.get();
+        }
+    }
+
+    private static void tapAt(AppiumDriver driver, int x, int y) {
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence tap = new Sequence(finger, 1)
+            .addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, y))
+            .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+            .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver.perform(List.of(tap));
+    }
+
+    private static String key(AppiumDriver driver, ScreenSignature screen, String control) {
+        // One window size query per session; rotation or another device means other entries
+        Dimension size = WINDOW_SIZES.computeIfAbsent(String.valueOf(driver.getSessionId()),
+            session -> driver.manage().window().getSize());
+        return (TestConfig.getPlatform() + "_" + size.width + "x" + size.height + "_" + TestConfig.APP_VERSION
+            + "_" + screen.getName() + "_" + control).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static synchronized void update(String key, Rectangle rect) {
+        Rectangle previous = rect == null ? RECTS.remove(key) : RECTS.put(key, rect);
+        if (rect == null ? previous == null : rect.equals(previous)) {
+            return;
+        }
+        Path file = file();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                for (Map.Entry<String, Rectangle> entry : new TreeMap<>(RECTS).entrySet()) {
+                    Rectangle r = entry.getValue();
+                    writer.write(entry.getKey() + "=" + r.x + "," + r.y + "," + r.width + "," + r.height + "\n");
+                }
+            }
+        } catch (IOException e) {
+            EventLog.warn("GeometryCache", "⚠️ Could not write geometry cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Path file() {
+        return Paths.get(TestConfig.GEOMETRY_CACHE_FILE);
+    }
+
+    private static Map<String, Rectangle> load() {
+        Map<String, Rectangle> rects = new ConcurrentHashMap<>();
+        if (!TestConfig.GEOMETRY_CACHE || !Files.exists(file())) {
+            return rects;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not read geometry cache " + file() + ": " + e.getMessage());
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] parts = properties.getProperty(key).trim().split(",");
+            if (parts.length == 4) {
+                try {
+                    rects.put(key, new Rectangle(new Point(Integer.parseInt(parts[0]), Integer.parseInt(parts[1])),
+                        new Dimension(Integer.parseInt(parts[2]), Integer.parseInt(parts[3]))));
+                } catch (NumberFormatException e) {
+                    // Hand-edited or truncated line - relearn it
+                }
+            }
+        }
+        return rects;
+    }
+}
@@ -1,24 +1,54 @@
 package com.magnoliacollectivewellness.appium.pages;
 
+import com.magnoliacollectivewellness.appium.utils.BudgetedWait;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.HierarchySnapshot;
+import com.magnoliacollectivewellness.appium.utils.LocatorResolver;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.time.Duration;
-import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Home Page Object Model
  */
 public class HomePage {
+    // Home screen markers, shared by the element lookups and snapshot checks
+    static final String WELCOME_TEXT_XPATH = "//*[contains(@text, 'Welcome') or contains(@text, 'welcome')]";
+    static final String HOME_NAV_XPATH = "//*[@text='Home' or @text='HOME']";
+    static final String APPOINTMENT_TEXT_XPATH = "//*[contains(@text, 'Appointment') or contains(@text, 'appointment')]";
+    static final String LOGIN_MARKERS_XPATH = "//*[@text='Login' or @text='LOGIN' or contains(@text, 'email') or contains(@text, 'phone')]";
+    static final String IOS_HOME_XPATH = "//XCUIElementTypeStaticText[contains(@name, 'Welcome') or @name='Home']";
+
+    // Android labels of the navigation controls, shared by their lookups and the selected-tab checks
+    private static final String APPOINTMENTS_LABEL = "@text='Appointment' or @text='APPOINTMENT' or contains(@text, 'Appointment')";
+    private static final String PROGRESS_LABEL = "@text='Progress' or @text='PROGRESS'";
+    private static final String MORE_LABEL = "@text='More' or @text='MORE'";
+    private static final String PROFILE_LABEL = "@content-desc='Profile' or @content-desc='profile'";
+
+    /** Home screen; a "Welcome" next to login markers is the login screen greeting, not home */
+    public static final ScreenSignature SCREEN = ScreenSignature.named("home")
+        .requiresAnyOf(HOME_NAV_XPATH, APPOINTMENT_TEXT_XPATH, IOS_HOME_XPATH, WELCOME_TEXT_XPATH)
+        .supportedBy(HOME_NAV_XPATH, 2)
+        .supportedBy(IOS_HOME_XPATH, 2)
+        .supportedBy(APPOINTMENT_TEXT_XPATH, 1)
+        .supportedBy(WELCOME_TEXT_XPATH, 0.5)
+        .supportedBy(LOGIN_MARKERS_XPATH, -1.5);
+
+    // Total time the home indicator lookup may spend across all of its candidate locators
+    private static final Duration LOOKUP_BUDGET = Duration.ofSeconds(15);
+
     private final AppiumDriver driver;
     private final WebDriverWait wait;
     private final boolean isAndroid;
 
     public HomePage(AppiumDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = new BudgetedWait(driver, Duration.ofSeconds(15));
         this.isAndroid = driver.getCapabilities().getCapability("platformName").toString().equalsIgnoreCase("Android");
     }
 
@@ -26,25 +56,20 @@ public class HomePage {
      * Get home screen indicator - looks for "Welcome" text or "Home" in bottom navigation
      */
     public WebElement getHomeScreenIndicator() {
-        if (isAndroid) {
-            try {
-                // Strategy 1: Look for "Welcome" text (Welcome, username or Welcome back, username)
-                return wait.until(ExpectedConditions.presenceOfElementLocated(
-                    AppiumBy.xpath("//*[contains(@text, 'Welcome') or contains(@text, 'welcome')]")));
-            } catch (Exception e1) {
-                try {
-                    // Strategy 2: Look for "Home" in bottom navigation
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(
-                        AppiumBy.xpath("//*[@text='Home' or @text='HOME']")));
-                } catch (Exception e2) {
-                    // Strategy 3: Look for "Upcoming Appointments" or "Create Appointment" text
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(
-                        AppiumBy.xpath("//*[contains(@text, 'Appointment') or contains(@text, 'appointment')]")));
-                }
+        try (Tracer.Span span = Tracer.span("HomePage.getHomeScreenIndicator")) {
+            LocatorResolver.Resolution indicator;
+            if (isAndroid) {
+                indicator = LocatorResolver.resolve(driver, "HomePage.getHomeScreenIndicator", LOOKUP_BUDGET,
+                    // Welcome, username or Welcome back, username
+                    LocatorResolver.candidate("Strategy 1: Look for \"Welcome\" text", WELCOME_TEXT_XPATH),
+                    LocatorResolver.candidate("Strategy 2: Look for \"Home\" in bottom navigation", HOME_NAV_XPATH),
+                    LocatorResolver.candidate("Strategy 3: Look for \"Upcoming Appointments\" or \"Create Appointment\" text", APPOINTMENT_TEXT_XPATH));
+            } else {
+                indicator = LocatorResolver.resolve(driver, "HomePage.getHomeScreenIndicator", LOOKUP_BUDGET,
+                    LocatorResolver.candidate("Welcome or Home text", IOS_HOME_XPATH));
             }
-        } else {
-            return wait.until(ExpectedConditions.presenceOfElementLocated(
-                AppiumBy.xpath("//XCUIElementTypeStaticText[contains(@name, 'Welcome') or @name='Home']")));
+            span.arg("strategy", indicator.getStrategy());
+            return indicator.getElement();
         }
     }
 
@@ -52,12 +77,14 @@ public class HomePage {
      * Get "Home" button in bottom navigation
      */
     public WebElement getHomeButton() {
-        if (isAndroid) {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[@text='Home' or @text='HOME']")));
-        } else {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//XCUIElementTypeButton[@name='Home']")));
+        try (Tracer.Span span = Tracer.span("HomePage.getHomeButton")) {
+            if (isAndroid) {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath(HOME_NAV_XPATH)));
+            } else {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//XCUIElementTypeButton[@name='Home']")));
+            }
         }
     }
 
@@ -65,12 +92,14 @@ public class HomePage {
      * Get "Appointments" button in bottom navigation
      */
     public WebElement getAppointmentsButton() {
-        if (isAndroid) {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[@text='Appointment' or @text='APPOINTMENT' or contains(@text, 'Appointment')]")));
-        } else {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//XCUIElementTypeButton[@name='Appointment']")));
+        try (Tracer.Span span = Tracer.span("HomePage.getAppointmentsButton")) {
+            if (isAndroid) {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//*[" + APPOINTMENTS_LABEL + "]")));
+            } else {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//XCUIElementTypeButton[@name='Appointment']")));
+            }
         }
     }
 
@@ -78,12 +107,14 @@ public class HomePage {
      * Get "Progress" button in bottom navigation
      */
     public WebElement getProgressButton() {
-        if (isAndroid) {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[@text='Progress' or @text='PROGRESS']")));
-        } else {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//XCUIElementTypeButton[@name='Progress']")));
+        try (Tracer.Span span = Tracer.span("HomePage.getProgressButton")) {
+            if (isAndroid) {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//*[" + PROGRESS_LABEL + "]")));
+            } else {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//XCUIElementTypeButton[@name='Progress']")));
+            }
         }
     }
 
@@ -91,12 +122,14 @@ public class HomePage {
      * Get "More" button in bottom navigation
      */
     public WebElement getMoreButton() {
-        if (isAndroid) {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[@text='More' or @text='MORE']")));
-        } else {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//XCUIElementTypeButton[@name='More']")));
+        try (Tracer.Span span = Tracer.span("HomePage.getMoreButton")) {
+            if (isAndroid) {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//*[" + MORE_LABEL + "]")));
+            } else {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//XCUIElementTypeButton[@name='More']")));
+            }
         }
     }
 
@@ -104,22 +137,40 @@ public class HomePage {
      * Get profile picture/button
      */
     public WebElement getProfileButton() {
-        if (isAndroid) {
-            // Profile is usually an icon or image, try to find by content description or nearby text
+        try (Tracer.Span span = Tracer.span("HomePage.getProfileButton")) {
             try {
-                return wait.until(ExpectedConditions.elementToBeClickable(
-                    AppiumBy.xpath("//*[@content-desc='Profile' or @content-desc='profile']")));
+                return findProfileButton();
             } catch (Exception e) {
-                // Try finding near "Welcome" text
-                return wait.until(ExpectedConditions.elementToBeClickable(
-                    AppiumBy.xpath("//android.widget.ImageView | //android.view.View")));
+                if (!isAndroid) {
+                    throw e;
+                }
+                return findProfileFallback();
             }
+        }
+    }
+
+    /**
+     * Profile button by its own label (content description on Android)
+     */
+    private WebElement findProfileButton() {
+        if (isAndroid) {
+            // Profile is usually an icon or image, try to find by content description
+            return wait.until(ExpectedConditions.elementToBeClickable(
+                AppiumBy.xpath("//*[" + PROFILE_LABEL + "]")));
         } else {
             return wait.until(ExpectedConditions.elementToBeClickable(
                 AppiumBy.xpath("//XCUIElementTypeButton[@name='Profile']")));
         }
     }
 
+    /**
+     * Any clickable image or view - a last resort that may well not be the profile button
+     */
+    private WebElement findProfileFallback() {
+        return wait.until(ExpectedConditions.elementToBeClickable(
+            AppiumBy.xpath("//android.widget.ImageView | //android.view.View")));
+    }
+
     /**
      * Wait for home page to load
      */
@@ -129,74 +180,87 @@ public class HomePage {
 
     /**
      * Check if home page is displayed
-     * Uses multiple strategies to verify we're on the home screen
+     * Classifies the current screen from one hierarchy fetch
      */
     public boolean isHomePageDisplayed() {
-        try {
-            // Strategy 1: Check for Welcome text
-            List<WebElement> welcomeElements = driver.findElements(
-                AppiumBy.xpath("//*[contains(@text, 'Welcome') or contains(@text, 'welcome')]"));
-            if (!welcomeElements.isEmpty() && welcomeElements.get(0).isDisplayed()) {
-                System.out.println("✅ Found Welcome text - Home page detected");
-                return true;
-            }
-            
-            // Strategy 2: Check for Home in bottom navigation
-            List<WebElement> homeNavElements = driver.findElements(
-                AppiumBy.xpath("//*[@text='Home' or @text='HOME']"));
-            if (!homeNavElements.isEmpty() && homeNavElements.get(0).isDisplayed()) {
-                System.out.println("✅ Found Home navigation - Home page detected");
-                return true;
-            }
-            
-            // Strategy 3: Check for appointment-related text
-            List<WebElement> appointmentElements = driver.findElements(
-                AppiumBy.xpath("//*[contains(@text, 'Appointment') or contains(@text, 'appointment')]"));
-            if (!appointmentElements.isEmpty() && appointmentElements.get(0).isDisplayed()) {
-                System.out.println("✅ Found Appointment text - Home page detected");
-                return true;
-            }
-            
-            // Strategy 4: Check if we're not on login screen
-            List<WebElement> loginElements = driver.findElements(
-                AppiumBy.xpath("//*[@text='Login' or @text='LOGIN' or contains(@text, 'email') or contains(@text, 'phone')]"));
-            if (loginElements.isEmpty()) {
-                System.out.println("✅ Not on login screen - Assuming home page");
-                return true;
+        try (Tracer.Span span = Tracer.span("HomePage.isHomePageDisplayed")) {
+            try {
+                ScreenClassifier.ScreenMatch match = ScreenClassifier.classify(driver);
+                if (match.is(SCREEN)) {
+                    EventLog.success("HomePage.isHomePageDisplayed", "✅ Home page detected: " + match);
+                    return true;
+                }
+
+                // Nothing recognisable and no login markers - assume home as before
+                if (match.isUnknown() && match.getSnapshot().count(LOGIN_MARKERS_XPATH) == 0) {
+                    EventLog.success("HomePage.isHomePageDisplayed", "✅ Not on login screen - Assuming home page");
+                    return true;
+                }
+
+                EventLog.info("HomePage.isHomePageDisplayed", "ℹ️ Not on home page: " + match);
+                return false;
+            } catch (Exception e) {
+                EventLog.warn("HomePage.isHomePageDisplayed", "⚠️ Error checking home page: " + e.getMessage());
+                return false;
             }
-            
-            return false;
-        } catch (Exception e) {
-            System.out.println("⚠️ Error checking home page: " + e.getMessage());
-            return false;
         }
     }
 
     /**
-     * Navigate to appointments
+     * Check a hierarchy snapshot for the home screen (no extra round trips)
+     */
+    public static boolean isHomeScreen(HierarchySnapshot snapshot) {
+        return SCREEN.matches(snapshot);
+    }
+
+    /**
+     * Check that the navigation tab is the selected one (Android marks the selected tab,
+     * iOS tab bar buttons report value 1)
+     *
+     * @param androidLabel the same label condition the tab's lookup uses
+     * @param iosName      name of the iOS tab bar button
+     */
+    private static Predicate<HierarchySnapshot> tabSelected(String androidLabel, String iosName) {
+        String android = "//*[@selected='true'][descendant-or-self::*[" + androidLabel + "]]";
+        String ios = "//XCUIElementTypeButton[@name='" + iosName + "' and (@value='1' or @selected='true')]";
+        return snapshot -> snapshot.has(android) || snapshot.has(ios);
+    }
+
+    /**
+     * Navigate to appointments (bottom navigation taps use the {@link GeometryCache})
      */
     public void navigateToAppointments() {
-        getAppointmentsButton().click();
+        try (Tracer.Span span = Tracer.span("HomePage.navigateToAppointments")) {
+            GeometryCache.tap(driver, SCREEN, "appointments", this::getAppointmentsButton,
+                tabSelected(APPOINTMENTS_LABEL, "Appointment"));
+        }
     }
 
     /**
      * Navigate to progress
      */
     public void navigateToProgress() {
-        getProgressButton().click();
+        try (Tracer.Span span = Tracer.span("HomePage.navigateToProgress")) {
+            GeometryCache.tap(driver, SCREEN, "progress", this::getProgressButton, tabSelected(PROGRESS_LABEL, "Progress"));
+        }
     }
 
     /**
      * Navigate to more
      */
     public void navigateToMore() {
-        getMoreButton().click();
+        try (Tracer.Span span = Tracer.span("HomePage.navigateToMore")) {
+            GeometryCache.tap(driver, SCREEN, "more", this::getMoreButton, tabSelected(MORE_LABEL, "More"));
+        }
     }
 
     /**
-     * Navigate to profile
+     * Navigate to profile (only a button found by its label is cached, never the catch-all fallback)
      */
     public void navigateToProfile() {
-        getProfileButton().click();
+        try (Tracer.Span span = Tracer.span("HomePage.navigateToProfile")) {
+            GeometryCache.tap(driver, SCREEN, "profile", this::findProfileButton,
+                isAndroid ? this::findProfileFallback : null, tabSelected(PROFILE_LABEL, "Profile"));
+        }
     }
 }
@@ -1,9 +1,22 @@
 package com.magnoliacollectivewellness.appium.pages;
 
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.utils.BudgetedWait;
+import com.magnoliacollectivewellness.appium.utils.Deadline;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.FlowTimer;
+import com.magnoliacollectivewellness.appium.utils.HierarchySnapshot;
+import com.magnoliacollectivewellness.appium.utils.LocatorResolver;
+import com.magnoliacollectivewellness.appium.utils.OutcomeWait;
+import com.magnoliacollectivewellness.appium.utils.Pause;
+import com.magnoliacollectivewellness.appium.utils.RetryPolicy;
+import com.magnoliacollectivewellness.appium.utils.ScreenStability;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
+import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -15,13 +28,51 @@ import java.util.List;
  * Handles welcome screen and login flow
  */
 public class LoginPage {
+    static final String ERROR_TEXT_XPATH = "//*[contains(@text, 'error') or contains(@text, 'Error') or contains(@text, '⚠') or contains(@text, 'invalid') or contains(@text, 'Invalid') or contains(@text, 'incorrect') or contains(@text, 'Incorrect') or contains(@text, 'failed') or contains(@text, 'Failed')]";
+    static final String IOS_ERROR_TEXT_XPATH = "//XCUIElementTypeStaticText[contains(@name, 'error')]";
+    static final String ALREADY_MEMBER_XPATH = "//*[@text='ALREADY A MEMBER' or @text='Already a member' or contains(@text, 'ALREADY')]";
+    static final String IOS_ALREADY_MEMBER_XPATH = "//XCUIElementTypeButton[@name='ALREADY A MEMBER' or @name='Already a member' or contains(@name, 'ALREADY')]";
+    static final String EMAIL_INPUT_XPATH = "//android.widget.EditText[contains(@hint, 'email') or contains(@hint, 'phone') or contains(@hint, 'Email') or contains(@hint, 'Phone')]";
+    static final String IOS_EMAIL_INPUT_XPATH = "//XCUIElementTypeTextField[@placeholder='Email' or @placeholder='Phone' or contains(@value, '@')]";
+    static final String ENTER_PASSWORD_XPATH = "//*[@text='Enter Password' or @text='ENTER PASSWORD' or contains(@text, 'Password')]";
+    static final String PASSWORD_INPUT_XPATH = "//android.widget.EditText[contains(@hint, 'password') or contains(@hint, 'Password')]";
+    static final String IOS_PASSWORD_INPUT_XPATH = "//XCUIElementTypeSecureTextField[@placeholder='Password' or @placeholder='password']";
+    static final String LOGIN_BUTTON_XPATH = "//*[@text='Login' or @text='LOGIN' or contains(@text, 'Login')]";
+
+    /** Welcome screen shown on launch ("ALREADY A MEMBER" / "GET STARTED") */
+    public static final ScreenSignature WELCOME_SCREEN = ScreenSignature.named("welcome")
+        .requiresAnyOf(ALREADY_MEMBER_XPATH, IOS_ALREADY_MEMBER_XPATH)
+        .supportedBy("//*[contains(@text,'GET STARTED') or contains(@text,'Get Started')]", 1);
+
+    /** First login screen: email or phone */
+    public static final ScreenSignature LOGIN_IDENTIFIER_SCREEN = ScreenSignature.named("login-identifier")
+        .requiresAnyOf(EMAIL_INPUT_XPATH, IOS_EMAIL_INPUT_XPATH)
+        .supportedBy(ENTER_PASSWORD_XPATH, 1)
+        .supportedBy(PASSWORD_INPUT_XPATH, -1);
+
+    /** Second login screen: password */
+    public static final ScreenSignature LOGIN_PASSWORD_SCREEN = ScreenSignature.named("login-password")
+        .requiresAnyOf(PASSWORD_INPUT_XPATH, IOS_PASSWORD_INPUT_XPATH, "//XCUIElementTypeSecureTextField")
+        .supportedBy(LOGIN_BUTTON_XPATH, 1);
+
+    /**
+     * What the app showed after a login attempt
+     */
+    public enum LoginOutcome {
+        ERROR_SHOWN, HOME_SHOWN, STILL_ON_LOGIN
+    }
+
+    // Total time one element lookup may spend across all of its fallback strategies
+    private static final Duration LOOKUP_BUDGET = Duration.ofSeconds(15);
+    private static final Duration ERROR_LOOKUP_BUDGET = Duration.ofSeconds(5);
+
     private final AppiumDriver driver;
     private final WebDriverWait wait;
     private final boolean isAndroid;
 
     public LoginPage(AppiumDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = new BudgetedWait(driver, Duration.ofSeconds(15));
         this.isAndroid = driver.getCapabilities().getCapability("platformName").toString().equalsIgnoreCase("Android");
     }
 
@@ -30,32 +81,40 @@ public class LoginPage {
      * Works for both Android and iOS
      */
     public void handleWelcomeScreen() {
-        try {
-            // Wait a bit for app to load
-            Thread.sleep(2000);
-            
-            WebElement alreadyMemberButton;
-            if (isAndroid) {
-                // Android: Find by text attribute
-                alreadyMemberButton = wait.until(ExpectedConditions.elementToBeClickable(
-                    AppiumBy.xpath("//*[@text='ALREADY A MEMBER' or @text='Already a member' or contains(@text, 'ALREADY')]")));
-            } else {
-                // iOS: Find by name attribute
-                alreadyMemberButton = wait.until(ExpectedConditions.elementToBeClickable(
-                    AppiumBy.xpath("//XCUIElementTypeButton[@name='ALREADY A MEMBER' or @name='Already a member' or contains(@name, 'ALREADY')]")));
-            }
+        try (Tracer.Span span = Tracer.span("LoginPage.handleWelcomeScreen")) {
+            try {
+                // One fetch tells us whether there is a welcome screen to get past at all
+                ScreenClassifier.ScreenMatch match = ScreenClassifier.classify(driver);
+                if (!match.isUnknown() && !match.is(WELCOME_SCREEN)) {
+                    EventLog.info("LoginPage.handleWelcomeScreen", "ℹ️ Welcome screen not shown, already on " + match);
+                    return;
+                }
+
+                // Welcome screen (or app still loading) - wait for the button
+                WebElement alreadyMemberButton;
+                if (isAndroid) {
+                    // Android: Find by text attribute
+                    alreadyMemberButton = wait.until(ExpectedConditions.elementToBeClickable(
+                        AppiumBy.xpath(ALREADY_MEMBER_XPATH)));
+                } else {
+                    // iOS: Find by name attribute
+                    alreadyMemberButton = wait.until(ExpectedConditions.elementToBeClickable(
+                        AppiumBy.xpath(IOS_ALREADY_MEMBER_XPATH)));
+                }
             
-            if (alreadyMemberButton != null && alreadyMemberButton.isDisplayed()) {
-                System.out.println("✅ Found 'ALREADY A MEMBER' button - clicking...");
-                alreadyMemberButton.click();
-                Thread.sleep(2000); // Wait for navigation to login screen
-                System.out.println("✅ Navigated to login screen");
+                if (alreadyMemberButton != null && alreadyMemberButton.isDisplayed()) {
+                    EventLog.success("LoginPage.handleWelcomeScreen", "✅ Found 'ALREADY A MEMBER' button - clicking...");
+                    ScreenStability.Probe settle = ScreenStability.before(driver);
+                    alreadyMemberButton.click();
+                    settle.await("LoginPage.alreadyMember", Duration.ofMillis(2000)); // Wait for navigation to login screen
+                    EventLog.success("LoginPage.handleWelcomeScreen", "✅ Navigated to login screen");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                EventLog.info("LoginPage.handleWelcomeScreen", "ℹ️ Interrupted while handling welcome screen");
+            } catch (Exception e) {
+                EventLog.info("LoginPage.handleWelcomeScreen", "ℹ️ Welcome screen not found or already on login screen: " + e.getMessage());
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.out.println("ℹ️ Interrupted while handling welcome screen");
-        } catch (Exception e) {
-            System.out.println("ℹ️ Welcome screen not found or already on login screen: " + e.getMessage());
         }
     }
 
@@ -64,59 +123,35 @@ public class LoginPage {
      * Works for both Android and iOS
      */
     public WebElement getEmailOrPhoneInput() {
-        if (isAndroid) {
-            // Android: Find EditText - Compose OutlinedTextField renders as EditText
-            // Try multiple strategies
-            try {
-                // Strategy 1: Find by placeholder text
-                return wait.until(ExpectedConditions.presenceOfElementLocated(
-                    AppiumBy.xpath("//android.widget.EditText[contains(@hint, 'email') or contains(@hint, 'phone') or contains(@hint, 'Email') or contains(@hint, 'Phone')]")));
-            } catch (Exception e1) {
-                try {
-                    // Strategy 2: Find first EditText on screen
-                    List<WebElement> editTexts = driver.findElements(AppiumBy.xpath("//android.widget.EditText"));
-                    if (!editTexts.isEmpty()) {
-                        return editTexts.get(0);
-                    }
-                } catch (Exception e2) {
-                    // Strategy 3: Find by class name
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(
-                        AppiumBy.className("android.widget.EditText")));
-                }
-            }
-        } else {
-            // iOS: Find text field
-            try {
-                // Strategy 1: Find by placeholder or value
-                return wait.until(ExpectedConditions.presenceOfElementLocated(
-                    AppiumBy.xpath("//XCUIElementTypeTextField[@placeholder='Email' or @placeholder='Phone' or contains(@value, '@')]")));
-            } catch (Exception e1) {
-                try {
-                    // Strategy 2: Find first text field
-                    List<WebElement> textFields = driver.findElements(AppiumBy.xpath("//XCUIElementTypeTextField"));
-                    if (!textFields.isEmpty()) {
-                        return textFields.get(0);
-                    }
-                } catch (Exception e2) {
-                    // Strategy 3: Find by class name
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(
-                        AppiumBy.className("XCUIElementTypeTextField")));
-                }
+        try (Tracer.Span span = Tracer.span("LoginPage.getEmailOrPhoneInput")) {
+            LocatorResolver.Resolution input;
+            if (isAndroid) {
+                // Android: Compose OutlinedTextField renders as EditText
+                input = LocatorResolver.resolve(driver, "LoginPage.getEmailOrPhoneInput", LOOKUP_BUDGET,
+                    LocatorResolver.candidate("Strategy 1: Find by placeholder text", EMAIL_INPUT_XPATH),
+                    LocatorResolver.candidate("Strategy 2: Find first EditText on screen", "//android.widget.EditText"));
+            } else {
+                input = LocatorResolver.resolve(driver, "LoginPage.getEmailOrPhoneInput", LOOKUP_BUDGET,
+                    LocatorResolver.candidate("Strategy 1: Find by placeholder or value", IOS_EMAIL_INPUT_XPATH),
+                    LocatorResolver.candidate("Strategy 2: Find first text field", "//XCUIElementTypeTextField"));
             }
+            span.arg("strategy", input.getStrategy());
+            return input.getElement();
         }
-        return null;
     }
 
     /**
      * Get "Enter Password" button (first screen of login)
      */
     public WebElement getEnterPasswordButton() {
-        if (isAndroid) {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[@text='Enter Password' or @text='ENTER PASSWORD' or contains(@text, 'Password')]")));
-        } else {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//XCUIElementTypeButton[@name='Enter Password']")));
+        try (Tracer.Span span = Tracer.span("LoginPage.getEnterPasswordButton")) {
+            if (isAndroid) {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath(ENTER_PASSWORD_XPATH)));
+            } else {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//XCUIElementTypeButton[@name='Enter Password']")));
+            }
         }
     }
 
@@ -125,66 +160,40 @@ public class LoginPage {
      * Works for both Android and iOS
      */
     public WebElement getPasswordInput() {
-        if (isAndroid) {
-            // Android: Find password field - Compose renders secure text field
-            try {
-                // Strategy 1: Find by placeholder
-                return wait.until(ExpectedConditions.presenceOfElementLocated(
-                    AppiumBy.xpath("//android.widget.EditText[contains(@hint, 'password') or contains(@hint, 'Password')]")));
-            } catch (Exception e1) {
-                try {
-                    // Strategy 2: Find EditText (password field is usually the second one or has password input type)
-                    List<WebElement> editTexts = driver.findElements(AppiumBy.xpath("//android.widget.EditText"));
-                    // Password field is usually the last EditText or one with password input type
-                    for (WebElement element : editTexts) {
-                        String inputType = element.getAttribute("password");
-                        if (inputType != null || element.getAttribute("class").contains("Password")) {
-                            return element;
-                        }
-                    }
-                    // If no password-specific found, return the last EditText
-                    if (!editTexts.isEmpty()) {
-                        return editTexts.get(editTexts.size() - 1);
-                    }
-                } catch (Exception e2) {
-                    // Strategy 3: Find by class
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(
-                        AppiumBy.className("android.widget.EditText")));
-                }
-            }
-        } else {
-            // iOS: Find secure text field
-            try {
-                // Strategy 1: Find by placeholder
-                return wait.until(ExpectedConditions.presenceOfElementLocated(
-                    AppiumBy.xpath("//XCUIElementTypeSecureTextField[@placeholder='Password' or @placeholder='password']")));
-            } catch (Exception e1) {
-                try {
-                    // Strategy 2: Find first secure text field
-                    List<WebElement> secureFields = driver.findElements(AppiumBy.xpath("//XCUIElementTypeSecureTextField"));
-                    if (!secureFields.isEmpty()) {
-                        return secureFields.get(0);
-                    }
-                } catch (Exception e2) {
-                    // Strategy 3: Find by class name
-                    return wait.until(ExpectedConditions.presenceOfElementLocated(
-                        AppiumBy.className("XCUIElementTypeSecureTextField")));
-                }
+        try (Tracer.Span span = Tracer.span("LoginPage.getPasswordInput")) {
+            LocatorResolver.Resolution input;
+            if (isAndroid) {
+                // Android: Compose renders a secure text field as an EditText flagged password
+                input = LocatorResolver.resolve(driver, "LoginPage.getPasswordInput", LOOKUP_BUDGET,
+                    LocatorResolver.candidate("Strategy 1: Find by placeholder", PASSWORD_INPUT_XPATH),
+                    LocatorResolver.candidate("Strategy 2: Find EditText with password input type", "//android.widget.EditText[@password='true']"),
+                    LocatorResolver.candidate("Strategy 3: Find last EditText", "(//android.widget.EditText)[last()]"));
+            } else {
+                input = LocatorResolver.resolve(driver, "LoginPage.getPasswordInput", LOOKUP_BUDGET,
+                    LocatorResolver.candidate("Strategy 1: Find by placeholder", IOS_PASSWORD_INPUT_XPATH),
+                    LocatorResolver.candidate("Strategy 2: Find first secure text field", "//XCUIElementTypeSecureTextField"));
             }
+            span.arg("strategy", input.getStrategy());
+            return input.getElement();
         }
-        return null;
     }
 
     /**
      * Get "Login" button (second screen of login)
      */
     public WebElement getLoginButton() {
-        if (isAndroid) {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[@text='Login' or @text='LOGIN' or contains(@text, 'Login')]")));
-        } else {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//XCUIElementTypeButton[@name='Login']")));
+        try (Tracer.Span span = Tracer.span("LoginPage.getLoginButton")) {
+            LocatorResolver.Resolution button;
+            if (isAndroid) {
+                button = LocatorResolver.resolve(driver, "LoginPage.getLoginButton", LOOKUP_BUDGET,
+                    LocatorResolver.clickable("Strategy 1: Exact Login text", "//*[@text='Login' or @text='LOGIN']"),
+                    LocatorResolver.clickable("Strategy 2: Text containing Login", LOGIN_BUTTON_XPATH));
+            } else {
+                button = LocatorResolver.resolve(driver, "LoginPage.getLoginButton", LOOKUP_BUDGET,
+                    LocatorResolver.clickable("Strategy 1: Login button", "//XCUIElementTypeButton[@name='Login']"));
+            }
+            span.arg("strategy", button.getStrategy());
+            return button.getElement();
         }
     }
 
@@ -192,12 +201,14 @@ public class LoginPage {
      * Get "Forgot Password?" link
      */
     public WebElement getForgotPasswordLink() {
-        if (isAndroid) {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[@text='Forgot Password?' or @text='Forgot your password?' or contains(@text, 'Forgot')]")));
-        } else {
-            return wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//XCUIElementTypeStaticText[@name='Forgot Password?']")));
+        try (Tracer.Span span = Tracer.span("LoginPage.getForgotPasswordLink")) {
+            if (isAndroid) {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//*[@text='Forgot Password?' or @text='Forgot your password?' or contains(@text, 'Forgot')]")));
+            } else {
+                return wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//XCUIElementTypeStaticText[@name='Forgot Password?']")));
+            }
         }
     }
 
@@ -206,43 +217,49 @@ public class LoginPage {
      * Error messages in Compose can be in various formats
      */
     public WebElement getErrorMessage() {
-        try {
-            if (isAndroid) {
-                // Strategy 1: Look for error text with various patterns
-                List<WebElement> errorElements = driver.findElements(
-                    AppiumBy.xpath("//*[contains(@text, 'error') or contains(@text, 'Error') or contains(@text, '⚠') or contains(@text, 'invalid') or contains(@text, 'Invalid') or contains(@text, 'incorrect') or contains(@text, 'Incorrect') or contains(@text, 'failed') or contains(@text, 'Failed')]"));
+        try (Tracer.Span span = Tracer.span("LoginPage.getErrorMessage");
+             Deadline deadline = Deadline.open("LoginPage.getErrorMessage", ERROR_LOOKUP_BUDGET)) {
+            try {
+                if (isAndroid) {
+                    // Strategy 1: Look for error text with various patterns
+                    Tracer.strategy("Strategy 1: Look for error text with various patterns");
+                    List<WebElement> errorElements = driver.findElements(
+                        AppiumBy.xpath(ERROR_TEXT_XPATH));
                 
-                for (WebElement element : errorElements) {
-                    if (element.isDisplayed()) {
-                        return element;
+                    for (WebElement element : errorElements) {
+                        if (element.isDisplayed()) {
+                            return element;
+                        }
                     }
-                }
                 
-                // Strategy 2: Look for error container/card
-                List<WebElement> errorContainers = driver.findElements(
-                    AppiumBy.xpath("//android.view.View[contains(@content-desc, 'error')] | //android.widget.CardView"));
+                    // Strategy 2: Look for error container/card
+                    Tracer.strategy("Strategy 2: Look for error container/card");
+                    List<WebElement> errorContainers = driver.findElements(
+                        AppiumBy.xpath("//android.view.View[contains(@content-desc, 'error')] | //android.widget.CardView"));
                 
-                for (WebElement container : errorContainers) {
-                    if (container.isDisplayed()) {
-                        // Try to find text inside the container
-                        try {
-                            WebElement errorText = container.findElement(
-                                AppiumBy.xpath(".//android.widget.TextView"));
-                            if (errorText != null && errorText.isDisplayed()) {
-                                return errorText;
+                    for (WebElement container : errorContainers) {
+                        Deadline.check("LoginPage.getErrorMessage container");
+                        if (container.isDisplayed()) {
+                            // Try to find text inside the container
+                            try {
+                                WebElement errorText = container.findElement(
+                                    AppiumBy.xpath(".//android.widget.TextView"));
+                                if (errorText != null && errorText.isDisplayed()) {
+                                    return errorText;
+                                }
+                            } catch (Exception e) {
+                                return container;
                             }
-                        } catch (Exception e) {
-                            return container;
                         }
                     }
+                } else {
+                    return driver.findElement(AppiumBy.xpath(IOS_ERROR_TEXT_XPATH));
                 }
-            } else {
-                return driver.findElement(AppiumBy.xpath("//XCUIElementTypeStaticText[contains(@name, 'error')]"));
+            } catch (Exception e) {
+                // No error message found
             }
-        } catch (Exception e) {
-            // No error message found
+            return null;
         }
-        return null;
     }
 
     // Actions
@@ -250,15 +267,17 @@ public class LoginPage {
      * Enter email or phone number (first step of login)
      */
     public void enterEmailOrPhone(String emailOrPhone) {
-        try {
-            WebElement inputField = getEmailOrPhoneInput();
-            inputField.click();
-            Thread.sleep(500);
-            inputField.clear();
-            inputField.sendKeys(emailOrPhone);
-            System.out.println("✅ Entered email/phone: " + emailOrPhone);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        try (Tracer.Span span = Tracer.span("LoginPage.enterEmailOrPhone")) {
+            try {
+                WebElement inputField = getEmailOrPhoneInput();
+                inputField.click();
+                Pause.millis(500);
+                inputField.clear();
+                inputField.sendKeys(emailOrPhone);
+                EventLog.success("LoginPage.enterEmailOrPhone", "✅ Entered email/phone: " + emailOrPhone);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -266,13 +285,16 @@ public class LoginPage {
      * Click "Enter Password" button to proceed to password screen
      */
     public void clickEnterPasswordButton() {
-        try {
-            WebElement enterPasswordBtn = getEnterPasswordButton();
-            enterPasswordBtn.click();
-            Thread.sleep(2000); // Wait for password screen to load
-            System.out.println("✅ Clicked 'Enter Password' button");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        try (Tracer.Span span = Tracer.span("LoginPage.clickEnterPasswordButton")) {
+            try {
+                WebElement enterPasswordBtn = getEnterPasswordButton();
+                ScreenStability.Probe settle = ScreenStability.before(driver);
+                enterPasswordBtn.click();
+                settle.await("LoginPage.enterPassword", Duration.ofMillis(2000)); // Wait for password screen to load
+                EventLog.success("LoginPage.clickEnterPasswordButton", "✅ Clicked 'Enter Password' button");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -280,15 +302,17 @@ public class LoginPage {
      * Enter password (second step of login)
      */
     public void enterPassword(String password) {
-        try {
-            WebElement passwordField = getPasswordInput();
-            passwordField.click();
-            Thread.sleep(500);
-            passwordField.clear();
-            passwordField.sendKeys(password);
-            System.out.println("✅ Entered password");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        try (Tracer.Span span = Tracer.span("LoginPage.enterPassword")) {
+            try {
+                WebElement passwordField = getPasswordInput();
+                passwordField.click();
+                Pause.millis(500);
+                passwordField.clear();
+                passwordField.sendKeys(password);
+                EventLog.success("LoginPage.enterPassword", "✅ Entered password");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -296,84 +320,92 @@ public class LoginPage {
      * Hide/dismiss the keyboard
      */
     public void hideKeyboard() {
-        try {
-            if (isAndroid) {
-                // Method 1: Try using hideKeyboard() method
-                try {
-                    ((AndroidDriver) driver).hideKeyboard();
-                    System.out.println("✅ Keyboard hidden using hideKeyboard()");
-                    Thread.sleep(500); // Wait for keyboard to hide
-                    return;
-                } catch (Exception e1) {
-                    // Method 2: Tap on a safe area (logo/title area) to dismiss keyboard
+        try (Tracer.Span span = Tracer.span("LoginPage.hideKeyboard")) {
+            try {
+                if (isAndroid) {
+                    // Method 1: Try using hideKeyboard() method
+                    Tracer.strategy("Method 1: Try using hideKeyboard() method");
                     try {
-                        // Tap on the app logo or title area at the top
-                        List<WebElement> topElements = driver.findElements(
-                            AppiumBy.xpath("//android.widget.TextView[contains(@text, 'MAGNOLIA') or contains(@text, 'Welcome')]"));
-                        if (!topElements.isEmpty() && topElements.get(0).isDisplayed()) {
-                            topElements.get(0).click();
-                            System.out.println("✅ Keyboard hidden by tapping on title area");
-                            Thread.sleep(500);
-                            return;
-                        }
-                    } catch (Exception e2) {
-                        // Method 3: Tap on a non-interactive view
+                        ((AndroidDriver) driver).hideKeyboard();
+                        EventLog.success("LoginPage.hideKeyboard", "✅ Keyboard hidden using hideKeyboard()");
+                        Pause.millis(500); // Wait for keyboard to hide
+                        return;
+                    } catch (Exception e1) {
+                        // Method 2: Tap on a safe area (logo/title area) to dismiss keyboard
+                        Tracer.strategy("Method 2: Tap on a safe area (logo/title area) to dismiss keyboard");
                         try {
-                            // Find a safe view to tap (like the background card)
-                            List<WebElement> views = driver.findElements(
-                                AppiumBy.xpath("//android.view.View[@clickable='false']"));
-                            if (!views.isEmpty()) {
-                                views.get(0).click();
-                                System.out.println("✅ Keyboard hidden by tapping on background");
-                                Thread.sleep(500);
-                            } else {
-                                System.out.println("ℹ️ Could not find safe area to tap, continuing anyway");
+                            // Tap on the app logo or title area at the top
+                            List<WebElement> topElements = driver.findElements(
+                                AppiumBy.xpath("//android.widget.TextView[contains(@text, 'MAGNOLIA') or contains(@text, 'Welcome')]"));
+                            if (!topElements.isEmpty() && topElements.get(0).isDisplayed()) {
+                                topElements.get(0).click();
+                                EventLog.success("LoginPage.hideKeyboard", "✅ Keyboard hidden by tapping on title area");
+                                Pause.millis(500);
+                                return;
+                            }
+                        } catch (Exception e2) {
+                            // Method 3: Tap on a non-interactive view
+                            Tracer.strategy("Method 3: Tap on a non-interactive view");
+                            try {
+                                // Find a safe view to tap (like the background card)
+                                List<WebElement> views = driver.findElements(
+                                    AppiumBy.xpath("//android.view.View[@clickable='false']"));
+                                if (!views.isEmpty()) {
+                                    views.get(0).click();
+                                    EventLog.success("LoginPage.hideKeyboard", "✅ Keyboard hidden by tapping on background");
+                                    Pause.millis(500);
+                                } else {
+                                    EventLog.info("LoginPage.hideKeyboard", "ℹ️ Could not find safe area to tap, continuing anyway");
+                                }
+                            } catch (Exception e3) {
+                                EventLog.info("LoginPage.hideKeyboard", "ℹ️ Could not hide keyboard, continuing anyway");
                             }
-                        } catch (Exception e3) {
-                            System.out.println("ℹ️ Could not hide keyboard, continuing anyway");
                         }
                     }
-                }
-            } else {
-                // iOS: Hide keyboard using multiple strategies
-                try {
-                    // Method 1: Use hideKeyboard() method
-                    ((IOSDriver) driver).hideKeyboard();
-                    System.out.println("✅ Keyboard hidden using hideKeyboard() (iOS)");
-                    Thread.sleep(500);
-                    return;
-                } catch (Exception e1) {
-                    // Method 2: Tap on a safe area (title/logo area)
+                } else {
+                    // iOS: Hide keyboard using multiple strategies
                     try {
-                        List<WebElement> topElements = driver.findElements(
-                            AppiumBy.xpath("//XCUIElementTypeStaticText[contains(@name, 'MAGNOLIA') or contains(@name, 'Welcome')]"));
-                        if (!topElements.isEmpty() && topElements.get(0).isDisplayed()) {
-                            topElements.get(0).click();
-                            System.out.println("✅ Keyboard hidden by tapping on title area (iOS)");
-                            Thread.sleep(500);
-                            return;
-                        }
-                    } catch (Exception e2) {
-                        // Method 3: Tap outside the input field
+                        // Method 1: Use hideKeyboard() method
+                        Tracer.strategy("Method 1: Use hideKeyboard() method");
+                        ((IOSDriver) driver).hideKeyboard();
+                        EventLog.success("LoginPage.hideKeyboard", "✅ Keyboard hidden using hideKeyboard() (iOS)");
+                        Pause.millis(500);
+                        return;
+                    } catch (Exception e1) {
+                        // Method 2: Tap on a safe area (title/logo area)
+                        Tracer.strategy("Method 2: Tap on a safe area (title/logo area)");
                         try {
-                            // Tap on a non-interactive element
-                            List<WebElement> views = driver.findElements(
-                                AppiumBy.xpath("//XCUIElementTypeOther[@enabled='true']"));
-                            if (!views.isEmpty()) {
-                                views.get(0).click();
-                                System.out.println("✅ Keyboard hidden by tapping outside (iOS)");
-                                Thread.sleep(500);
-                            } else {
-                                System.out.println("ℹ️ Could not find safe area to tap on iOS, continuing anyway");
+                            List<WebElement> topElements = driver.findElements(
+                                AppiumBy.xpath("//XCUIElementTypeStaticText[contains(@name, 'MAGNOLIA') or contains(@name, 'Welcome')]"));
+                            if (!topElements.isEmpty() && topElements.get(0).isDisplayed()) {
+                                topElements.get(0).click();
+                                EventLog.success("LoginPage.hideKeyboard", "✅ Keyboard hidden by tapping on title area (iOS)");
+                                Pause.millis(500);
+                                return;
+                            }
+                        } catch (Exception e2) {
+                            // Method 3: Tap outside the input field
+                            Tracer.strategy("Method 3: Tap outside the input field");
+                            try {
+                                // Tap on a non-interactive element
+                                List<WebElement> views = driver.findElements(
+                                    AppiumBy.xpath("//XCUIElementTypeOther[@enabled='true']"));
+                                if (!views.isEmpty()) {
+                                    views.get(0).click();
+                                    EventLog.success("LoginPage.hideKeyboard", "✅ Keyboard hidden by tapping outside (iOS)");
+                                    Pause.millis(500);
+                                } else {
+                                    EventLog.info("LoginPage.hideKeyboard", "ℹ️ Could not find safe area to tap on iOS, continuing anyway");
+                                }
+                            } catch (Exception e3) {
+                                EventLog.info("LoginPage.hideKeyboard", "ℹ️ Could not hide keyboard on iOS, continuing anyway");
                             }
-                        } catch (Exception e3) {
-                            System.out.println("ℹ️ Could not hide keyboard on iOS, continuing anyway");
                         }
                     }
                 }
+            } catch (Exception e) {
+                EventLog.info("LoginPage.hideKeyboard", "ℹ️ Error hiding keyboard: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.out.println("ℹ️ Error hiding keyboard: " + e.getMessage());
         }
     }
 
@@ -381,46 +413,71 @@ public class LoginPage {
      * Tap login button
      */
     public void tapLoginButton() {
-        // Hide keyboard first before trying to find and click Login button
-        hideKeyboard();
-        
-        // Wait a bit for keyboard to fully hide
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        try (Tracer.Span span = Tracer.span("LoginPage.tapLoginButton")) {
+            // Hide keyboard first before trying to find and click Login button
+            hideKeyboard();
+
+            // A keyboard still sliding away can intercept the tap - hide it again and re-find the button
+            RetryPolicy.named("LoginPage.tapLoginButton")
+                .onRetry(ElementClickInterceptedException.class, failure -> hideKeyboard())
+                .run(() -> getLoginButton().click());
+            EventLog.success("LoginPage.tapLoginButton", "✅ Clicked 'Login' button");
         }
-        
-        WebElement loginBtn = getLoginButton();
-        loginBtn.click();
-        System.out.println("✅ Clicked 'Login' button");
     }
 
     /**
      * Complete login flow: handle welcome screen, enter credentials, and login
      */
     public void login(String emailOrPhone, String password) {
-        // Step 1: Handle welcome screen if present
-        handleWelcomeScreen();
-        
-        // Step 2: Enter email/phone and click "Enter Password"
-        enterEmailOrPhone(emailOrPhone);
-        clickEnterPasswordButton();
-        
-        // Step 3: Enter password and click "Login"
-        enterPassword(password);
-        tapLoginButton();
+        try (Tracer.Span span = Tracer.span("LoginPage.login");
+             Deadline deadline = Deadline.open("LoginPage.login", Duration.ofSeconds(TestConfig.ACTION_BUDGET_SECONDS))) {
+            try (FlowTimer.Timing t = FlowTimer.start(FlowTimer.LOGIN)) {
+                // Step 1: Handle welcome screen if present
+                handleWelcomeScreen();
+            
+                // Step 2: Enter email/phone and click "Enter Password"
+                enterEmailOrPhone(emailOrPhone);
+                clickEnterPasswordButton();
+            
+                // Step 3: Enter password and click "Login"
+                enterPassword(password);
+                tapLoginButton();
+                t.success();
+            }
+        }
+    }
+
+    /**
+     * Wait for the app to answer a login attempt: an error, the home screen,
+     * or (when neither shows up in time) still being on the login screen.
+     * Polls both outcomes together against one hierarchy fetch per poll.
+     */
+    public LoginOutcome awaitLoginOutcome(Duration timeout) {
+        return new OutcomeWait<LoginOutcome>(driver, "LoginPage.awaitLoginOutcome")
+            .when(LoginOutcome.ERROR_SHOWN, LoginPage::hasErrorMessage)
+            .when(LoginOutcome.HOME_SHOWN, HomePage::isHomeScreen)
+            .whenTimedOut(LoginOutcome.STILL_ON_LOGIN)
+            .await(timeout);
+    }
+
+    /**
+     * Check a hierarchy snapshot for an error message (no extra round trips)
+     */
+    public static boolean hasErrorMessage(HierarchySnapshot snapshot) {
+        return snapshot.has(ERROR_TEXT_XPATH) || snapshot.has(IOS_ERROR_TEXT_XPATH);
     }
 
     /**
      * Check if error message is displayed
      */
     public boolean isErrorMessageDisplayed() {
-        try {
-            WebElement errorElement = getErrorMessage();
-            return errorElement != null && errorElement.isDisplayed();
-        } catch (Exception e) {
-            return false;
+        try (Tracer.Span span = Tracer.span("LoginPage.isErrorMessageDisplayed")) {
+            try {
+                WebElement errorElement = getErrorMessage();
+                return errorElement != null && errorElement.isDisplayed();
+            } catch (Exception e) {
+                return false;
+            }
         }
     }
 
@@ -1,84 +1,248 @@
 package com.magnoliacollectivewellness.appium.pages;
 
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.utils.BudgetedWait;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.FlowTimer;
+import com.magnoliacollectivewellness.appium.utils.Pause;
+import com.magnoliacollectivewellness.appium.utils.ScreenFingerprint;
+import com.magnoliacollectivewellness.appium.utils.ScreenStability;
+import com.magnoliacollectivewellness.appium.utils.TestClock;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Rectangle;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Helper for onboarding/questionnaire flow.
  * Uses a dynamic approach to handle questions as they appear on screen.
  */
 public class OnboardingPage {
+    static final String CONTINUE_XPATH = "//*[contains(@text,'Continue') or contains(@text,'CONTINUE')]";
+
+    /** A questionnaire question: a Continue button without the signup form or OTP markers */
+    public static final ScreenSignature QUESTIONNAIRE_SCREEN = ScreenSignature.named("questionnaire")
+        .requiresAnyOf(CONTINUE_XPATH)
+        .supportedBy("//*[contains(@text,'Step') or contains(@text,'step')]", 1)
+        .supportedBy(SignupFlowPage.SIGNUP_STEP_XPATH, -2)
+        .supportedBy(OtpPage.VERIFY_BUTTON_XPATH, -2);
+
     private final AppiumDriver driver;
     private final WebDriverWait wait;
     private final WebDriverWait shortWait;
     private int tapAttempt = 0;
+    // While a step is recorded: the latest tap, the option tap that enabled Continue and the Continue tap
+    private boolean recordingTaps;
+    private int[] lastTap;
+    private int[] optionTap;
+    private int[] continueTap;
 
     public OnboardingPage(AppiumDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        this.shortWait = new WebDriverWait(driver, Duration.ofSeconds(5));
+        this.wait = new BudgetedWait(driver, Duration.ofSeconds(15));
+        this.shortWait = new BudgetedWait(driver, Duration.ofSeconds(5));
     }
 
     /**
      * Tap the "GET STARTED" button on the welcome screen.
      */
-    public void startOnboarding() {
-        try {
-            WebElement getStarted = wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[(contains(@text,'GET STARTED') or contains(@text,'Get Started') or @content-desc='GET STARTED')]")));
-            getStarted.click();
-            Thread.sleep(2000);
-            System.out.println("✅ Clicked GET STARTED button");
-        } catch (Exception e) {
-            System.out.println("ℹ️ Get Started button not found: " + e.getMessage());
+    public void startOnboarding() throws InterruptedException {
+        try (Tracer.Span span = Tracer.span("OnboardingPage.startOnboarding")) {
+            try {
+                WebElement getStarted = wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//*[(contains(@text,'GET STARTED') or contains(@text,'Get Started') or @content-desc='GET STARTED')]")));
+                ScreenStability.Probe settle = ScreenStability.before(driver);
+                getStarted.click();
+                settle.await("OnboardingPage.getStarted", Duration.ofMillis(2000));
+                EventLog.success("OnboardingPage.startOnboarding", "✅ Clicked GET STARTED button");
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                EventLog.info("OnboardingPage.startOnboarding", "ℹ️ Get Started button not found: " + e.getMessage());
+            }
         }
     }
 
     /**
      * Complete the entire onboarding questionnaire dynamically.
      * This method handles each question as it appears on screen.
+     * A previously recorded path is replayed first; live discovery takes over
+     * (and re-records) from the first screen that diverges from the script.
      */
     public void completeOnboardingQuestionnaire() throws InterruptedException {
-        System.out.println("\n📋 Starting Dynamic Questionnaire Flow...");
+        try (Tracer.Span span = Tracer.span("OnboardingPage.completeOnboardingQuestionnaire")) {
+            try (FlowTimer.Timing t = FlowTimer.start(FlowTimer.QUESTIONNAIRE)) {
+                runQuestionnaire();
+                t.success();
+            }
+        }
+    }
+
+    private void runQuestionnaire() throws InterruptedException {
+        EventLog.info("OnboardingPage.completeOnboardingQuestionnaire", "📋 Starting Dynamic Questionnaire Flow...");
         
         int maxAttempts = 25;
         int attempts = 0;
         
+        OnboardingScript script = null;
+        int replayedSteps = 0;
+        boolean recorded = false;
+        if (TestConfig.ONBOARDING_REPLAY) {
+            Dimension size = driver.manage().window().getSize();
+            script = OnboardingScript.load(TestConfig.APP_VERSION, size.width, size.height);
+            int scriptSteps = script.getSteps().size();
+            replayedSteps = replayScript(script);
+            // A truncated script is saved even if live discovery adds nothing after it
+            recorded = script.getSteps().size() < scriptSteps;
+        }
+        
+        String fingerprint = null;
+        
         while (!isOnSignupStep() && attempts < maxAttempts) {
             attempts++;
-            System.out.println("\n🔄 Questionnaire Step " + attempts);
+            EventLog.info("OnboardingPage.completeOnboardingQuestionnaire", "🔄 Questionnaire Step " + attempts);
             
             // Wait for content to load
-            Thread.sleep(1500);
-            
-            // Try to select an option on the current screen
-            boolean optionSelected = selectVisibleOption();
+            ScreenStability.awaitSettled(driver, "OnboardingPage.load", Duration.ofMillis(1500));
             
-            if (optionSelected) {
-                Thread.sleep(500);
+            if (script != null) {
+                fingerprint = ScreenFingerprint.capture(driver);
+                lastTap = null;
+                optionTap = null;
+                continueTap = null;
+                recordingTaps = true;
             }
             
+            // Try to select an option on the current screen (each tap waits for the screen to settle)
+            boolean optionSelected = selectVisibleOption();
+            
             // Try to click Continue button
             boolean continueClicked = clickContinueIfEnabled();
+            if (continueClicked) {
+                continueTap = lastTap;
+            }
             
             if (!continueClicked && !optionSelected) {
                 // If we can't select or continue, try tapping on screen
-                System.out.println("⚠️ No option or continue available, trying tap...");
+                EventLog.warn("OnboardingPage.completeOnboardingQuestionnaire", "⚠️ No option or continue available, trying tap...");
                 tapOnOptionArea();
-                Thread.sleep(500);
-                clickContinueIfEnabled();
+                continueEnabledAfterTap();
+                if (clickContinueIfEnabled()) {
+                    continueTap = lastTap;
+                }
             }
             
-            Thread.sleep(1000);
+            if (script != null) {
+                recordingTaps = false;
+                String next = ScreenFingerprint.capture(driver);
+                // Only steps that actually moved the questionnaire forward are worth replaying
+                if (!next.equals(fingerprint)) {
+                    script.append(new OnboardingScript.Step(fingerprint, stepTaps(), next));
+                    recorded = true;
+                }
+            }
+        }
+        
+        if (recorded) {
+            script.save();
         }
         
-        System.out.println("\n✅ Questionnaire completed after " + attempts + " steps");
+        EventLog.success("OnboardingPage.completeOnboardingQuestionnaire", "✅ Questionnaire completed after " + replayedSteps + " replayed and " + attempts + " live steps");
+    }
+
+    /**
+     * The taps worth replaying for the step just recorded: the option tap that enabled Continue
+     * and the Continue tap. Wasted option taps and probe positions are left out; a step that
+     * moved on without either keeps its last tap.
+     */
+    private List<int[]> stepTaps() {
+        List<int[]> taps = new ArrayList<>();
+        if (optionTap != null) {
+            taps.add(optionTap);
+        }
+        if (continueTap != null && continueTap != optionTap) {
+            taps.add(continueTap);
+        }
+        if (taps.isEmpty() && lastTap != null) {
+            taps.add(lastTap);
+        }
+        return taps;
+    }
+
+    /**
+     * Check Continue after an option tap; while recording, an enabling tap becomes the step's option tap
+     */
+    private boolean continueEnabledAfterTap() {
+        boolean enabled = isContinueEnabled();
+        if (enabled && recordingTaps) {
+            optionTap = lastTap;
+        }
+        return enabled;
+    }
+
+    /**
+     * Replay a recorded questionnaire path, checking each screen's fingerprint before tapping.
+     * Returns the number of steps replayed; the script is truncated at the first divergence
+     * so live discovery can re-record from there.
+     */
+    private int replayScript(OnboardingScript script) throws InterruptedException {
+        try (Tracer.Span span = Tracer.span("OnboardingPage.replayScript")) {
+            if (script.isEmpty()) {
+                EventLog.info("OnboardingPage.replayScript", "📼 No recorded onboarding path for this build/screen - discovering live");
+                return 0;
+            }
+        
+            EventLog.info("OnboardingPage.replayScript", "📼 Replaying recorded onboarding path (" + script.getSteps().size() + " steps)");
+            List<OnboardingScript.Step> steps = script.getSteps();
+            for (int i = 0; i < steps.size(); i++) {
+                OnboardingScript.Step step = steps.get(i);
+                String current = ScreenFingerprint.capture(driver);
+                if (!current.equals(step.getFingerprint())) {
+                    EventLog.info("OnboardingPage.replayScript", "↪ Screen diverged from script at step " + (i + 1) + " - switching to live discovery");
+                    script.truncate(i);
+                    return i;
+                }
+            
+                for (int[] tap : step.getTaps()) {
+                    tapAndSettle(tap[0], tap[1], "OnboardingPage.replayTap", 800);
+                }
+                EventLog.success("OnboardingPage.replayScript", "▶ Replayed step " + (i + 1) + " (" + step.getTaps().size() + " taps)");
+            
+                if (!awaitFingerprint(step.getNextFingerprint(), 3000)) {
+                    EventLog.info("OnboardingPage.replayScript", "↪ Expected screen did not follow step " + (i + 1) + " - switching to live discovery");
+                    // Drop the failing step too, so live discovery records it afresh
+                    script.truncate(i);
+                    return i;
+                }
+            }
+            return steps.size();
+        }
+    }
+
+    /**
+     * Poll the screen fingerprint until it matches the expected one or the timeout passes.
+     */
+    private boolean awaitFingerprint(String expected, long timeoutMillis) throws InterruptedException {
+        long end = TestClock.now() + timeoutMillis * 1_000_000L;
+        while (true) {
+            if (expected.equals(ScreenFingerprint.capture(driver))) {
+                return true;
+            }
+            if (TestClock.now() >= end) {
+                return false;
+            }
+            Pause.poll(300);
+        }
     }
 
     /**
@@ -86,141 +250,153 @@ public class OnboardingPage {
      * Dynamically finds and clicks any selectable option.
      * Handles radio button style options in Compose UI.
      */
-    private boolean selectVisibleOption() {
-        System.out.println("  🔍 Looking for selectable options...");
+    private boolean selectVisibleOption() throws InterruptedException {
+        try (Tracer.Span span = Tracer.span("OnboardingPage.selectVisibleOption")) {
+            EventLog.detail("OnboardingPage.selectVisibleOption", "🔍 Looking for selectable options...");
         
-        try {
-            // Strategy 1: Find clickable View containers (radio button cards in Compose)
-            // These are typically the parent containers of the option text
-            List<WebElement> clickableViews = driver.findElements(
-                AppiumBy.xpath("//android.view.View[@clickable='true']"));
+            try {
+                // Strategy 1: Find clickable View containers (radio button cards in Compose)
+                Tracer.strategy("Strategy 1: Find clickable View containers (radio button cards in Compose)");
+                // These are typically the parent containers of the option text
+                long started = TestClock.now();
+                List<WebElement> clickableViews = driver.findElements(
+                    AppiumBy.xpath("//android.view.View[@clickable='true']"));
             
-            System.out.println("    Found " + clickableViews.size() + " clickable Views");
+                EventLog.event("OnboardingPage.selectVisibleOption", "//android.view.View[@clickable='true']", EventLog.Outcome.DETAIL,
+                    TestClock.now() - started, "Found " + clickableViews.size() + " clickable Views");
             
-            // Filter to find option cards (skip header, continue button, etc.)
-            int screenHeight = driver.manage().window().getSize().height;
-            int optionAreaTop = (int)(screenHeight * 0.25);
-            int optionAreaBottom = (int)(screenHeight * 0.80);
+                // Filter to find option cards (skip header, continue button, etc.)
+                int screenHeight = driver.manage().window().getSize().height;
+                int optionAreaTop = (int)(screenHeight * 0.25);
+                int optionAreaBottom = (int)(screenHeight * 0.80);
             
-            for (WebElement view : clickableViews) {
-                try {
-                    int y = view.getLocation().getY();
-                    int height = view.getSize().getHeight();
+                for (WebElement view : clickableViews) {
+                    try {
+                        int y = view.getLocation().getY();
+                        int height = view.getSize().getHeight();
                     
-                    // Option cards are typically in the middle portion of screen
-                    // and have reasonable height (not tiny icons or huge containers)
-                    if (y > optionAreaTop && y < optionAreaBottom && height > 50 && height < 300) {
-                        if (view.isDisplayed()) {
-                            view.click();
-                            System.out.println("  ✓ Clicked option card at y=" + y);
-                            Thread.sleep(800);
+                        // Option cards are typically in the middle portion of screen
+                        // and have reasonable height (not tiny icons or huge containers)
+                        if (y > optionAreaTop && y < optionAreaBottom && height > 50 && height < 300) {
+                            if (view.isDisplayed()) {
+                                clickAndSettle(view, "OnboardingPage.option", 800);
+                                EventLog.success("OnboardingPage.selectVisibleOption", "✓ Clicked option card at y=" + y);
                             
-                            if (isContinueEnabled()) {
-                                return true;
+                                if (continueEnabledAfterTap()) {
+                                    return true;
+                                }
                             }
                         }
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        // Continue trying other elements
                     }
-                } catch (Exception e) {
-                    // Continue trying other elements
                 }
-            }
             
-            // Strategy 2: Find clickable ViewGroups
-            List<WebElement> viewGroups = driver.findElements(
-                AppiumBy.xpath("//android.view.ViewGroup[@clickable='true']"));
+                // Strategy 2: Find clickable ViewGroups
+                Tracer.strategy("Strategy 2: Find clickable ViewGroups");
+                started = TestClock.now();
+                List<WebElement> viewGroups = driver.findElements(
+                    AppiumBy.xpath("//android.view.ViewGroup[@clickable='true']"));
             
-            System.out.println("    Found " + viewGroups.size() + " clickable ViewGroups");
+                EventLog.event("OnboardingPage.selectVisibleOption", "//android.view.ViewGroup[@clickable='true']", EventLog.Outcome.DETAIL,
+                    TestClock.now() - started, "Found " + viewGroups.size() + " clickable ViewGroups");
             
-            for (WebElement viewGroup : viewGroups) {
-                try {
-                    int y = viewGroup.getLocation().getY();
-                    int height = viewGroup.getSize().getHeight();
+                for (WebElement viewGroup : viewGroups) {
+                    try {
+                        int y = viewGroup.getLocation().getY();
+                        int height = viewGroup.getSize().getHeight();
                     
-                    if (y > optionAreaTop && y < optionAreaBottom && height > 50 && height < 300) {
-                        if (viewGroup.isDisplayed()) {
-                            viewGroup.click();
-                            System.out.println("  ✓ Clicked ViewGroup at y=" + y);
-                            Thread.sleep(800);
+                        if (y > optionAreaTop && y < optionAreaBottom && height > 50 && height < 300) {
+                            if (viewGroup.isDisplayed()) {
+                                clickAndSettle(viewGroup, "OnboardingPage.option", 800);
+                                EventLog.success("OnboardingPage.selectVisibleOption", "✓ Clicked ViewGroup at y=" + y);
                             
-                            if (isContinueEnabled()) {
-                                return true;
+                                if (continueEnabledAfterTap()) {
+                                    return true;
+                                }
                             }
                         }
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        // Continue trying
                     }
-                } catch (Exception e) {
-                    // Continue trying
                 }
-            }
             
-            // Strategy 3: Find text elements containing option text and click their parent
-            List<WebElement> textElements = driver.findElements(
-                AppiumBy.xpath("//android.widget.TextView[string-length(@text) > 20]"));
+                // Strategy 3: Find text elements containing option text and click their parent
+                Tracer.strategy("Strategy 3: Find text elements containing option text and click their parent");
+                started = TestClock.now();
+                List<WebElement> textElements = driver.findElements(
+                    AppiumBy.xpath("//android.widget.TextView[string-length(@text) > 20]"));
             
-            System.out.println("    Found " + textElements.size() + " text elements");
+                EventLog.event("OnboardingPage.selectVisibleOption", "//android.widget.TextView[string-length(@text) > 20]", EventLog.Outcome.DETAIL,
+                    TestClock.now() - started, "Found " + textElements.size() + " text elements");
             
-            for (WebElement textEl : textElements) {
-                try {
-                    String text = textEl.getText();
-                    if (text != null && !text.contains("Step") && !text.contains("Continue") 
-                        && !text.contains("What brings") && !text.contains("Let's start")
-                        && text.length() > 20) {
+                for (WebElement textEl : textElements) {
+                    try {
+                        String text = textEl.getText();
+                        if (text != null && !text.contains("Step") && !text.contains("Continue") 
+                            && !text.contains("What brings") && !text.contains("Let's start")
+                            && text.length() > 20) {
                         
-                        int y = textEl.getLocation().getY();
-                        if (y > optionAreaTop && y < optionAreaBottom) {
-                            textEl.click();
-                            System.out.println("  ✓ Clicked text option: " + truncateText(text, 40));
-                            Thread.sleep(800);
+                            int y = textEl.getLocation().getY();
+                            if (y > optionAreaTop && y < optionAreaBottom) {
+                                clickAndSettle(textEl, "OnboardingPage.option", 800);
+                                EventLog.success("OnboardingPage.selectVisibleOption", "✓ Clicked text option: " + truncateText(text, 40));
                             
-                            if (isContinueEnabled()) {
-                                return true;
+                                if (continueEnabledAfterTap()) {
+                                    return true;
+                                }
                             }
                         }
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        // Continue trying
                     }
-                } catch (Exception e) {
-                    // Continue trying
                 }
-            }
             
-            // Strategy 4: Tap on first option position (calculated based on screen)
-            System.out.println("    Trying coordinate tap on first option...");
-            int width = driver.manage().window().getSize().width;
-            int firstOptionY = (int)(screenHeight * 0.38); // First option is usually around 38% from top
+                // Strategy 4: Tap on first option position (calculated based on screen)
+                Tracer.strategy("Strategy 4: Tap on first option position (calculated based on screen)");
+                EventLog.detail("OnboardingPage.selectVisibleOption", "Trying coordinate tap on first option...");
+                int width = driver.manage().window().getSize().width;
+                int firstOptionY = (int)(screenHeight * 0.38); // First option is usually around 38% from top
             
-            java.util.Map<String, Object> args = new java.util.HashMap<>();
-            args.put("x", width / 2);
-            args.put("y", firstOptionY);
-            driver.executeScript("mobile: tap", args);
-            System.out.println("  ✓ Tapped at first option position (" + (width/2) + "," + firstOptionY + ")");
-            Thread.sleep(800);
+                tapAndSettle(width / 2, firstOptionY, "OnboardingPage.option", 800);
+                EventLog.success("OnboardingPage.selectVisibleOption", "✓ Tapped at first option position (" + (width/2) + "," + firstOptionY + ")");
             
-            if (isContinueEnabled()) {
-                return true;
-            }
+                if (continueEnabledAfterTap()) {
+                    return true;
+                }
             
-            // Strategy 5: Try tapping on multiple option positions
-            int[] optionYPositions = {
-                (int)(screenHeight * 0.42),
-                (int)(screenHeight * 0.52),
-                (int)(screenHeight * 0.62),
-                (int)(screenHeight * 0.35)
-            };
+                // Strategy 5: Try tapping on multiple option positions
+                Tracer.strategy("Strategy 5: Try tapping on multiple option positions");
+                int[] optionYPositions = {
+                    (int)(screenHeight * 0.42),
+                    (int)(screenHeight * 0.52),
+                    (int)(screenHeight * 0.62),
+                    (int)(screenHeight * 0.35)
+                };
             
-            for (int optionY : optionYPositions) {
-                args.put("y", optionY);
-                driver.executeScript("mobile: tap", args);
-                System.out.println("  → Tapped at (" + (width/2) + "," + optionY + ")");
-                Thread.sleep(500);
+                for (int optionY : optionYPositions) {
+                    tapAndSettle(width / 2, optionY, "OnboardingPage.option", 500);
+                    EventLog.detail("OnboardingPage.selectVisibleOption", "→ Tapped at (" + (width/2) + "," + optionY + ")");
                 
-                if (isContinueEnabled()) {
-                    return true;
+                    if (continueEnabledAfterTap()) {
+                        return true;
+                    }
                 }
-            }
             
-            return false;
+                return false;
             
-        } catch (Exception e) {
-            System.out.println("  ⚠️ Error selecting option: " + e.getMessage());
-            return false;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                EventLog.warn("OnboardingPage.selectVisibleOption", "⚠️ Error selecting option: " + e.getMessage());
+                return false;
+            }
         }
     }
 
@@ -229,167 +405,180 @@ public class OnboardingPage {
      * Returns true if clicked successfully.
      * Handles both traditional Android Views and Jetpack Compose buttons.
      */
-    private boolean clickContinueIfEnabled() {
-        System.out.println("  🔍 Looking for Continue button...");
+    private boolean clickContinueIfEnabled() throws InterruptedException {
+        try (Tracer.Span span = Tracer.span("OnboardingPage.clickContinueIfEnabled")) {
+            EventLog.detail("OnboardingPage.clickContinueIfEnabled", "🔍 Looking for Continue button...");
         
-        // Strategy 1: Find by text content (works for Compose)
-        try {
-            List<WebElement> elements = driver.findElements(
-                AppiumBy.xpath("//*[contains(@text,'Continue') or contains(@text,'CONTINUE')]"));
+            // Strategy 1: Find by text content (works for Compose)
+            Tracer.strategy("Strategy 1: Find by text content (works for Compose)");
+            try {
+                List<WebElement> elements = driver.findElements(
+                    AppiumBy.xpath(CONTINUE_XPATH));
             
-            for (WebElement element : elements) {
-                try {
-                    if (element.isDisplayed()) {
-                        System.out.println("    Found Continue element, attempting click...");
-                        element.click();
-                        System.out.println("  → Clicked Continue");
-                        Thread.sleep(1500);
-                        return true;
+                for (WebElement element : elements) {
+                    try {
+                        if (element.isDisplayed()) {
+                            EventLog.detail("OnboardingPage.clickContinueIfEnabled", "Found Continue element, attempting click...");
+                            clickAndSettle(element, "OnboardingPage.continue", 1500);
+                            EventLog.success("OnboardingPage.clickContinueIfEnabled", "→ Clicked Continue");
+                            return true;
+                        }
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        // Try next element
                     }
-                } catch (Exception e) {
-                    // Try next element
                 }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                EventLog.detail("OnboardingPage.clickContinueIfEnabled", "Strategy 1 failed: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.out.println("    Strategy 1 failed: " + e.getMessage());
-        }
         
-        // Strategy 2: Find clickable button with Continue text
-        try {
-            WebElement continueBtn = driver.findElement(
-                AppiumBy.xpath("//android.widget.Button[contains(@text,'Continue') or contains(@text,'CONTINUE')]"));
-            if (continueBtn.isDisplayed()) {
-                continueBtn.click();
-                System.out.println("  → Clicked Continue (Button)");
-                Thread.sleep(1500);
-                return true;
+            // Strategy 2: Find clickable button with Continue text
+            Tracer.strategy("Strategy 2: Find clickable button with Continue text");
+            try {
+                WebElement continueBtn = driver.findElement(
+                    AppiumBy.xpath("//android.widget.Button[contains(@text,'Continue') or contains(@text,'CONTINUE')]"));
+                if (continueBtn.isDisplayed()) {
+                    clickAndSettle(continueBtn, "OnboardingPage.continue", 1500);
+                    EventLog.success("OnboardingPage.clickContinueIfEnabled", "→ Clicked Continue (Button)");
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                // Continue to next strategy
             }
-        } catch (Exception e) {
-            // Continue to next strategy
-        }
         
-        // Strategy 3: Find by accessibility/content-desc
-        try {
-            WebElement continueBtn = driver.findElement(
-                AppiumBy.accessibilityId("Continue"));
-            if (continueBtn.isDisplayed()) {
-                continueBtn.click();
-                System.out.println("  → Clicked Continue (accessibility)");
-                Thread.sleep(1500);
-                return true;
+            // Strategy 3: Find by accessibility/content-desc
+            Tracer.strategy("Strategy 3: Find by accessibility/content-desc");
+            try {
+                WebElement continueBtn = driver.findElement(
+                    AppiumBy.accessibilityId("Continue"));
+                if (continueBtn.isDisplayed()) {
+                    clickAndSettle(continueBtn, "OnboardingPage.continue", 1500);
+                    EventLog.success("OnboardingPage.clickContinueIfEnabled", "→ Clicked Continue (accessibility)");
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                // Continue to next strategy
             }
-        } catch (Exception e) {
-            // Continue to next strategy
-        }
         
-        // Strategy 4: Find any clickable element at bottom of screen with Continue text
-        try {
-            List<WebElement> allElements = driver.findElements(
-                AppiumBy.xpath("//*[@clickable='true']"));
+            // Strategy 4: Find any clickable element at bottom of screen with Continue text
+            Tracer.strategy("Strategy 4: Find any clickable element at bottom of screen with Continue text");
+            try {
+                List<WebElement> allElements = driver.findElements(
+                    AppiumBy.xpath("//*[@clickable='true']"));
             
-            int screenHeight = driver.manage().window().getSize().height;
-            int bottomThreshold = (int)(screenHeight * 0.7); // Bottom 30% of screen
+                int screenHeight = driver.manage().window().getSize().height;
+                int bottomThreshold = (int)(screenHeight * 0.7); // Bottom 30% of screen
             
-            for (WebElement element : allElements) {
-                try {
-                    String text = element.getText();
-                    if (text != null && (text.contains("Continue") || text.contains("CONTINUE"))) {
-                        element.click();
-                        System.out.println("  → Clicked Continue (clickable element)");
-                        Thread.sleep(1500);
-                        return true;
-                    }
-                    
-                    // Check location - Continue button is usually at bottom
-                    int y = element.getLocation().getY();
-                    if (y > bottomThreshold && element.isDisplayed()) {
-                        String elementText = element.getText();
-                        if (elementText != null && elementText.length() < 20) {
-                            // Could be Continue button
-                            element.click();
-                            System.out.println("  → Clicked bottom button: " + elementText);
-                            Thread.sleep(1000);
-                            // Check if screen changed
+                for (WebElement element : allElements) {
+                    try {
+                        String text = element.getText();
+                        if (text != null && (text.contains("Continue") || text.contains("CONTINUE"))) {
+                            clickAndSettle(element, "OnboardingPage.continue", 1500);
+                            EventLog.success("OnboardingPage.clickContinueIfEnabled", "→ Clicked Continue (clickable element)");
                             return true;
                         }
+                    
+                        // Check location - Continue button is usually at bottom
+                        int y = element.getLocation().getY();
+                        if (y > bottomThreshold && element.isDisplayed()) {
+                            String elementText = element.getText();
+                            if (elementText != null && elementText.length() < 20) {
+                                // Could be Continue button
+                                clickAndSettle(element, "OnboardingPage.continue", 1000);
+                                EventLog.success("OnboardingPage.clickContinueIfEnabled", "→ Clicked bottom button: " + elementText);
+                                return true;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception ex) {
+                        // Continue trying
                     }
-                } catch (Exception ex) {
-                    // Continue trying
                 }
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                EventLog.detail("OnboardingPage.clickContinueIfEnabled", "Strategy 4 failed: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.out.println("    Strategy 4 failed: " + e.getMessage());
-        }
         
-        // Strategy 5: Tap at typical Continue button location (bottom center)
-        try {
-            int width = driver.manage().window().getSize().width;
-            int height = driver.manage().window().getSize().height;
-            int x = width / 2;
-            int y = (int)(height * 0.85); // Bottom area where Continue usually is
+            // Strategy 5: Tap at typical Continue button location (bottom center)
+            Tracer.strategy("Strategy 5: Tap at typical Continue button location (bottom center)");
+            try {
+                int width = driver.manage().window().getSize().width;
+                int height = driver.manage().window().getSize().height;
+                int x = width / 2;
+                int y = (int)(height * 0.85); // Bottom area where Continue usually is
             
-            java.util.Map<String, Object> args = new java.util.HashMap<>();
-            args.put("x", x);
-            args.put("y", y);
-            driver.executeScript("mobile: tap", args);
-            System.out.println("  → Tapped at Continue location (" + x + "," + y + ")");
-            Thread.sleep(1500);
-            return true;
-        } catch (Exception e) {
-            System.out.println("    Strategy 5 (tap) failed: " + e.getMessage());
-        }
+                tapAndSettle(x, y, "OnboardingPage.continue", 1500);
+                EventLog.success("OnboardingPage.clickContinueIfEnabled", "→ Tapped at Continue location (" + x + "," + y + ")");
+                return true;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                EventLog.detail("OnboardingPage.clickContinueIfEnabled", "Strategy 5 (tap) failed: " + e.getMessage());
+            }
         
-        System.out.println("  ⚠️ Could not find/click Continue button");
-        return false;
+            EventLog.warn("OnboardingPage.clickContinueIfEnabled", "⚠️ Could not find/click Continue button");
+            return false;
+        }
     }
 
     /**
      * Check if Continue button is currently enabled/visible.
      */
     public boolean isContinueEnabled() {
-        try {
-            List<WebElement> continueBtns = driver.findElements(
-                AppiumBy.xpath("//*[(contains(@text,'Continue') or contains(@text,'CONTINUE'))]"));
-            for (WebElement btn : continueBtns) {
-                if (btn.isDisplayed()) {
-                    // For Compose apps, just check if displayed and enabled
-                    return btn.isEnabled();
+        try (Tracer.Span span = Tracer.span("OnboardingPage.isContinueEnabled")) {
+            try {
+                List<WebElement> continueBtns = driver.findElements(
+                    AppiumBy.xpath("//*[(contains(@text,'Continue') or contains(@text,'CONTINUE'))]"));
+                for (WebElement btn : continueBtns) {
+                    if (btn.isDisplayed()) {
+                        // For Compose apps, just check if displayed and enabled
+                        return btn.isEnabled();
+                    }
                 }
+                return false;
+            } catch (Exception e) {
+                return false;
             }
-            return false;
-        } catch (Exception e) {
-            return false;
         }
     }
 
     /**
      * Tap on screen at positions where options typically appear.
      */
-    private void tapOnOptionArea() {
-        try {
-            int width = driver.manage().window().getSize().width;
-            int height = driver.manage().window().getSize().height;
-            int x = width / 2;
+    private void tapOnOptionArea() throws InterruptedException {
+        try (Tracer.Span span = Tracer.span("OnboardingPage.tapOnOptionArea")) {
+            try {
+                int width = driver.manage().window().getSize().width;
+                int height = driver.manage().window().getSize().height;
+                int x = width / 2;
             
-            // Calculate Y position - cycle through different option positions
-            int[] yPositions = {
-                (int)(height * 0.35),
-                (int)(height * 0.45),
-                (int)(height * 0.55),
-                (int)(height * 0.40),
-                (int)(height * 0.50)
-            };
-            int y = yPositions[tapAttempt % yPositions.length];
-
-            java.util.Map<String, Object> args = new java.util.HashMap<>();
-            args.put("x", x);
-            args.put("y", y);
-            driver.executeScript("mobile: tap", args);
-            tapAttempt++;
-            Thread.sleep(300);
-            System.out.println("  → Tapped at (" + x + "," + y + ")");
-        } catch (Exception e) {
-            System.out.println("  ⚠️ Tap failed: " + e.getMessage());
+                // Calculate Y position - cycle through different option positions
+                int[] yPositions = {
+                    (int)(height * 0.35),
+                    (int)(height * 0.45),
+                    (int)(height * 0.55),
+                    (int)(height * 0.40),
+                    (int)(height * 0.50)
+                };
+                int y = yPositions[tapAttempt % yPositions.length];
+
+                tapAttempt++;
+                tapAndSettle(x, y, "OnboardingPage.option", 800);
+                EventLog.detail("OnboardingPage.tapOnOptionArea", "→ Tapped at (" + x + "," + y + ")");
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                EventLog.warn("OnboardingPage.tapOnOptionArea", "⚠️ Tap failed: " + e.getMessage());
+            }
         }
     }
 
@@ -397,32 +586,73 @@ public class OnboardingPage {
      * Check if we've reached the signup step (after questionnaire).
      */
     public boolean isOnSignupStep() {
-        try {
-            // Check for various signup step indicators
-            List<WebElement> signupIndicators = driver.findElements(
-                AppiumBy.xpath("//*[contains(@text,'tailor') or contains(@text,'Tailor') " +
-                    "or contains(@text,'your space') or contains(@text,'First name') " +
-                    "or contains(@text,'First Name') or contains(@text,'Legal first')]"));
-            
-            for (WebElement indicator : signupIndicators) {
-                if (indicator.isDisplayed()) {
-                    System.out.println("✅ Detected signup step: " + truncateText(indicator.getText(), 30));
+        try (Tracer.Span span = Tracer.span("OnboardingPage.isOnSignupStep")) {
+            try {
+                ScreenClassifier.ScreenMatch match = ScreenClassifier.classify(driver);
+                if (match.is(SignupFlowPage.SCREEN)) {
+                    EventLog.success("OnboardingPage.isOnSignupStep", "✅ Detected signup step: " + match);
                     return true;
                 }
+                return false;
+            } catch (Exception e) {
+                return false;
             }
-            return false;
-        } catch (Exception e) {
-            return false;
         }
     }
 
     /**
      * Click the Continue button (public method for external use).
      */
-    public void clickContinue() {
+    public void clickContinue() throws InterruptedException {
         clickContinueIfEnabled();
     }
 
+    /**
+     * Click an element and, while a questionnaire step is being recorded, remember its centre
+     * so the step can be replayed as a coordinate tap.
+     */
+    private void clickAndRecord(WebElement element) {
+        // Read before the click: the element may be gone afterwards
+        Rectangle rect = recordingTaps ? element.getRect() : null;
+        element.click();
+        if (rect != null) {
+            lastTap = new int[] {rect.x + rect.width / 2, rect.y + rect.height / 2};
+        }
+    }
+
+    /**
+     * Click an element (recorded for replay) and wait until the screen has settled.
+     * The expected time is the fixed sleep this used to be. An interrupted wait (the crash
+     * watchdog stopping the test) is rethrown past every strategy's catch-all.
+     */
+    private void clickAndSettle(WebElement element, String step, long expectedMillis) throws InterruptedException {
+        ScreenStability.Probe settle = ScreenStability.before(driver);
+        clickAndRecord(element);
+        settle.await(step, Duration.ofMillis(expectedMillis));
+    }
+
+    /**
+     * Tap at screen coordinates (recorded for replay) and wait until the screen has settled.
+     */
+    private void tapAndSettle(int x, int y, String step, long expectedMillis) throws InterruptedException {
+        ScreenStability.Probe settle = ScreenStability.before(driver);
+        tapAt(x, y);
+        settle.await(step, Duration.ofMillis(expectedMillis));
+    }
+
+    /**
+     * Tap at screen coordinates and, while a step is being recorded, remember them for replay.
+     */
+    private void tapAt(int x, int y) {
+        Map<String, Object> args = new HashMap<>();
+        args.put("x", x);
+        args.put("y", y);
+        driver.executeScript("mobile: tap", args);
+        if (recordingTaps) {
+            lastTap = new int[] {x, y};
+        }
+    }
+
     /**
      * Helper to truncate text for logging.
      */
@@ -437,37 +667,37 @@ public class OnboardingPage {
      * Answer Question 1: What brings you here today?
      */
     public void answerWhatBringsYouHere(String option) throws InterruptedException {
-        System.out.println("\n📝 Question: What brings you here today?");
-        Thread.sleep(1000);
+        EventLog.info("OnboardingPage.answerWhatBringsYouHere", "📝 Question: What brings you here today?");
+        Pause.millis(1000);
         selectOptionByPartialText(option);
         clickContinueIfEnabled();
-        Thread.sleep(1500);
+        Pause.millis(1500);
     }
 
     /**
      * Answer Question 4: Race and/or cultural background (with nested selections)
      */
     public void answerRaceAndCulturalBackground(String primaryOption, String subOption, String specificOption) throws InterruptedException {
-        System.out.println("\n📝 Question: Race and/or cultural background");
+        EventLog.info("OnboardingPage.answerRaceAndCulturalBackground", "📝 Question: Race and/or cultural background");
         
         // Primary selection
-        Thread.sleep(1000);
+        Pause.millis(1000);
         selectOptionByPartialText(primaryOption);
         clickContinueIfEnabled();
-        Thread.sleep(1500);
+        Pause.millis(1500);
         
         // Sub selection if provided
         if (subOption != null && !subOption.isEmpty()) {
             selectOptionByPartialText(subOption);
             clickContinueIfEnabled();
-            Thread.sleep(1500);
+            Pause.millis(1500);
         }
         
         // Specific selection if provided
         if (specificOption != null && !specificOption.isEmpty()) {
             selectOptionByPartialText(specificOption);
             clickContinueIfEnabled();
-            Thread.sleep(1500);
+            Pause.millis(1500);
         }
     }
 
@@ -475,61 +705,63 @@ public class OnboardingPage {
      * Answer Question 6: Medical considerations (multi-select)
      */
     public void answerMedicalConsiderations(String... options) throws InterruptedException {
-        System.out.println("\n📝 Question: Medical considerations");
-        Thread.sleep(1000);
+        EventLog.info("OnboardingPage.answerMedicalConsiderations", "📝 Question: Medical considerations");
+        Pause.millis(1000);
         
         for (String option : options) {
             selectOptionByPartialText(option.trim());
-            Thread.sleep(500);
+            Pause.millis(500);
         }
         
         clickContinueIfEnabled();
-        Thread.sleep(1500);
+        Pause.millis(1500);
     }
 
     /**
      * Answer Question 7: Hormone therapy status
      */
     public void answerHormoneTherapyStatus(String option) throws InterruptedException {
-        System.out.println("\n📝 Question: Hormone therapy status");
-        Thread.sleep(1000);
+        EventLog.info("OnboardingPage.answerHormoneTherapyStatus", "📝 Question: Hormone therapy status");
+        Pause.millis(1000);
         selectOptionByPartialText(option);
         clickContinueIfEnabled();
-        Thread.sleep(1500);
+        Pause.millis(1500);
     }
 
     /**
      * Answer Question 14: Menopausal status
      */
     public void answerMenopausalStatus(String option) throws InterruptedException {
-        System.out.println("\n📝 Question: Menopausal status");
-        Thread.sleep(1000);
+        EventLog.info("OnboardingPage.answerMenopausalStatus", "📝 Question: Menopausal status");
+        Pause.millis(1000);
         selectOptionByPartialText(option);
         clickContinueIfEnabled();
-        Thread.sleep(1500);
+        Pause.millis(1500);
     }
 
     /**
      * Select option by partial text match.
      */
-    private boolean selectOptionByPartialText(String partialText) {
-        try {
-            // Use first 25 characters for matching to handle long option texts
-            String searchText = partialText.length() > 25 ? partialText.substring(0, 25) : partialText;
+    private boolean selectOptionByPartialText(String partialText) throws InterruptedException {
+        try (Tracer.Span span = Tracer.span("OnboardingPage.selectOptionByPartialText")) {
+            try {
+                // Use first 25 characters for matching to handle long option texts
+                String searchText = partialText.length() > 25 ? partialText.substring(0, 25) : partialText;
             
-            WebElement option = shortWait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[contains(@text,'" + searchText + "')]")));
+                WebElement option = shortWait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//*[contains(@text,'" + searchText + "')]")));
             
-            if (option.isDisplayed()) {
-                option.click();
-                System.out.println("  ✓ Selected: " + truncateText(partialText, 40));
-                return true;
+                if (option.isDisplayed()) {
+                    option.click();
+                    EventLog.success("OnboardingPage.selectOptionByPartialText", "✓ Selected: " + truncateText(partialText, 40));
+                    return true;
+                }
+            } catch (Exception e) {
+                EventLog.warn("OnboardingPage.selectOptionByPartialText", "⚠️ Could not find option: " + truncateText(partialText, 30));
+                // Try fallback - tap on first available option
+                selectVisibleOption();
             }
-        } catch (Exception e) {
-            System.out.println("  ⚠️ Could not find option: " + truncateText(partialText, 30));
-            // Try fallback - tap on first available option
-            selectVisibleOption();
+            return false;
         }
-        return false;
     }
 }
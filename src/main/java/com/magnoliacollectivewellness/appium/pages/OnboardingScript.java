@@ -0,0 +1,141 @@
+package com.magnoliacollectivewellness.appium.pages;
+
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Recorded path through the onboarding questionnaire.
+ *
+ * One script exists per app version and screen size. Each step holds the
+ * fingerprint of the screen it starts on, the taps that answered it and the
+ * fingerprint of the screen that followed. Stored as one line per step:
+ * {@code fingerprint|x,y;x,y|nextFingerprint}
+ */
+public class OnboardingScript {
+    private static final Path SCRIPT_DIR = Paths.get(System.getProperty("onboardingScriptDir", "./onboarding-scripts"));
+
+    private final Path file;
+    private final List<Step> steps = new ArrayList<>();
+
+    private OnboardingScript(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Load the script for an app version and screen size (empty if none recorded yet)
+     */
+    public static OnboardingScript load(String appVersion, int width, int height) {
+        String name = appVersion.replaceAll("[^A-Za-z0-9._-]", "_") + "-" + width + "x" + height + ".script";
+        OnboardingScript script = new OnboardingScript(SCRIPT_DIR.resolve(name));
+        if (Files.exists(script.file)) {
+            try {
+                for (String line : Files.readAllLines(script.file, StandardCharsets.UTF_8)) {
+                    if (!line.isBlank()) {
+                        script.steps.add(Step.parse(line));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                EventLog.warn("OnboardingScript.load", "⚠️ Ignoring unreadable onboarding script " + script.file + ": " + e.getMessage());
+                script.steps.clear();
+            }
+        }
+        return script;
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(steps);
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * Drop every step from the given index on, so a new path can be recorded from there
+     */
+    public void truncate(int fromStep) {
+        while (steps.size() > fromStep) {
+            steps.remove(steps.size() - 1);
+        }
+    }
+
+    public void append(Step step) {
+        steps.add(step);
+    }
+
+    /**
+     * Write the script back to disk
+     */
+    public void save() {
+        try {
+            Files.createDirectories(file.getParent());
+            List<String> lines = new ArrayList<>();
+            for (Step step : steps) {
+                lines.add(step.format());
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            EventLog.success("OnboardingScript.save", "💾 Saved onboarding script (" + steps.size() + " steps): " + file);
+        } catch (IOException e) {
+            EventLog.warn("OnboardingScript.save", "⚠️ Could not save onboarding script: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One questionnaire screen: where it starts, what was tapped, where it led
+     */
+    public static class Step {
+        private final String fingerprint;
+        private final List<int[]> taps;
+        private final String nextFingerprint;
+
+        public Step(String fingerprint, List<int[]> taps, String nextFingerprint) {
+            this.fingerprint = fingerprint;
+            this.taps = new ArrayList<>(taps);
+            this.nextFingerprint = nextFingerprint;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public List<int[]> getTaps() {
+            return Collections.unmodifiableList(taps);
+        }
+
+        public String getNextFingerprint() {
+            return nextFingerprint;
+        }
+
+        String format() {
+            StringBuilder line = new StringBuilder(fingerprint).append('|');
+            for (int i = 0; i < taps.size(); i++) {
+                if (i > 0) line.append(';');
+                line.append(taps.get(i)[0]).append(',').append(taps.get(i)[1]);
+            }
+            return line.append('|').append(nextFingerprint).toString();
+        }
+
+        static Step parse(String line) {
+            String[] parts = line.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed step: " + line);
+            }
+            List<int[]> taps = new ArrayList<>();
+            if (!parts[1].isEmpty()) {
+                for (String tap : parts[1].split(";")) {
+                    String[] xy = tap.split(",");
+                    taps.add(new int[] {Integer.parseInt(xy[0].trim()), Integer.parseInt(xy[1].trim())});
+                }
+            }
+            return new Step(parts[0], taps, parts[2]);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.magnoliacollectivewellness.appium.pages;
 
+import com.magnoliacollectivewellness.appium.utils.BudgetedWait;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.OutcomeWait;
+import com.magnoliacollectivewellness.appium.utils.Pause;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
 import org.openqa.selenium.WebElement;
@@ -13,41 +18,70 @@ import java.util.List;
  * OTP verification helper.
  */
 public class OtpPage {
+    /**
+     * What the app showed after submitting the OTP
+     */
+    public enum OtpOutcome {
+        HOME_SHOWN, ERROR_SHOWN, STILL_ON_OTP
+    }
+
+    static final String VERIFY_BUTTON_XPATH = "//*[(contains(@text,'Verify') or contains(@text,'VERIFY')) and @clickable='true']";
+
+    /** OTP entry screen */
+    public static final ScreenSignature SCREEN = ScreenSignature.named("otp")
+        .requiresAnyOf(VERIFY_BUTTON_XPATH)
+        .supportedBy("//android.widget.EditText", 1);
+
     private final AppiumDriver driver;
     private final WebDriverWait wait;
 
     public OtpPage(AppiumDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = new BudgetedWait(driver, Duration.ofSeconds(15));
     }
 
     public void enterOtp(String otp) {
-        try {
-            List<WebElement> otpFields = driver.findElements(AppiumBy.className("android.widget.EditText"));
-            int index = 0;
-            for (char digit : otp.toCharArray()) {
-                if (index >= otpFields.size()) break;
-                WebElement field = otpFields.get(index);
-                field.click();
-                Thread.sleep(200);
-                field.clear();
-                field.sendKeys(String.valueOf(digit));
-                index++;
+        try (Tracer.Span span = Tracer.span("OtpPage.enterOtp")) {
+            try {
+                List<WebElement> otpFields = driver.findElements(AppiumBy.className("android.widget.EditText"));
+                int index = 0;
+                for (char digit : otp.toCharArray()) {
+                    if (index >= otpFields.size()) break;
+                    WebElement field = otpFields.get(index);
+                    field.click();
+                    Pause.millis(200);
+                    field.clear();
+                    field.sendKeys(String.valueOf(digit));
+                    index++;
+                }
+            } catch (Exception e) {
+                EventLog.warn("OtpPage.enterOtp", "⚠️ Unable to enter OTP: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.out.println("⚠️ Unable to enter OTP: " + e.getMessage());
         }
     }
 
     public void submitOtp() {
-        try {
-            WebElement verifyButton = wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[(contains(@text,'Verify') or contains(@text,'VERIFY')) and @clickable='true']")));
-            verifyButton.click();
-            Thread.sleep(2000);
-        } catch (Exception e) {
-            System.out.println("⚠️ Could not click OTP verify button: " + e.getMessage());
+        try (Tracer.Span span = Tracer.span("OtpPage.submitOtp")) {
+            try {
+                WebElement verifyButton = wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath(VERIFY_BUTTON_XPATH)));
+                verifyButton.click();
+                Pause.millis(2000);
+            } catch (Exception e) {
+                EventLog.warn("OtpPage.submitOtp", "⚠️ Could not click OTP verify button: " + e.getMessage());
+            }
         }
     }
-}
 
+    /**
+     * Wait for the app to answer the OTP submission: the home screen, an error,
+     * or (when neither shows up in time) still being on the OTP screen.
+     */
+    public OtpOutcome awaitVerificationOutcome(Duration timeout) {
+        return new OutcomeWait<OtpOutcome>(driver, "OtpPage.awaitVerificationOutcome")
+            .when(OtpOutcome.HOME_SHOWN, HomePage::isHomeScreen)
+            .when(OtpOutcome.ERROR_SHOWN, LoginPage::hasErrorMessage)
+            .whenTimedOut(OtpOutcome.STILL_ON_OTP)
+            .await(timeout);
+    }
+}
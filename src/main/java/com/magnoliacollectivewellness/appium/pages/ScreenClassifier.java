@@ -0,0 +1,98 @@
+package com.magnoliacollectivewellness.appium.pages;
+
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.HierarchySnapshot;
+import com.magnoliacollectivewellness.appium.utils.TestClock;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
+import io.appium.java_client.AppiumDriver;
+
+/**
+ * Answers "which screen is the app on?" with a single hierarchy fetch.
+ *
+ * All registered {@link ScreenSignature}s are evaluated against the same snapshot and
+ * the most confident one wins; screens listed earlier in {@link ScreenRegistry} win ties.
+ */
+public final class ScreenClassifier {
+    private ScreenClassifier() {
+    }
+
+    /**
+     * Fetch the hierarchy once and classify it
+     */
+    public static ScreenMatch classify(AppiumDriver driver) {
+        try (Tracer.Span span = Tracer.span("ScreenClassifier.classify")) {
+            long started = TestClock.now();
+            ScreenMatch match = classify(HierarchySnapshot.capture(driver));
+            span.arg("screen", match.getName()).arg("confidence", match.getConfidence());
+            EventLog.event("ScreenClassifier.classify", null, EventLog.Outcome.DETAIL, TestClock.now() - started,
+                "📍 Screen: " + match);
+            return match;
+        }
+    }
+
+    /**
+     * Classify an already fetched snapshot (no round trips)
+     */
+    public static ScreenMatch classify(HierarchySnapshot snapshot) {
+        ScreenSignature best = null;
+        double bestConfidence = 0;
+        for (ScreenSignature signature : ScreenRegistry.signatures()) {
+            double confidence = signature.confidence(snapshot);
+            if (confidence > bestConfidence) {
+                best = signature;
+                bestConfidence = confidence;
+            }
+        }
+        return new ScreenMatch(best, bestConfidence, snapshot);
+    }
+
+    /**
+     * The screen a snapshot was classified as, and how sure the classifier is
+     */
+    public static final class ScreenMatch {
+        private final ScreenSignature screen;
+        private final double confidence;
+        private final HierarchySnapshot snapshot;
+
+        private ScreenMatch(ScreenSignature screen, double confidence, HierarchySnapshot snapshot) {
+            this.screen = screen;
+            this.confidence = confidence;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * The matched screen, or null when no signature matched
+         */
+        public ScreenSignature getScreen() {
+            return screen;
+        }
+
+        public String getName() {
+            return screen != null ? screen.getName() : "unknown";
+        }
+
+        public double getConfidence() {
+            return confidence;
+        }
+
+        /**
+         * The snapshot that was classified, for follow-up checks without another fetch
+         */
+        public HierarchySnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        public boolean is(ScreenSignature signature) {
+            return screen == signature;
+        }
+
+        public boolean isUnknown() {
+            return screen == null;
+        }
+
+        @Override
+        public String toString() {
+            return getName() + String.format(" (%.0f%%)", confidence * 100);
+        }
+    }
+}
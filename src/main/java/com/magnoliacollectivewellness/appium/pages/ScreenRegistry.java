@@ -0,0 +1,44 @@
+package com.magnoliacollectivewellness.appium.pages;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Every screen the suite knows how to recognise.
+ *
+ * Each page object declares the signature of its screen next to its locators; they
+ * are listed here in flow order, which also breaks ties between equally confident
+ * matches. Screens outside the page objects can be added with {@link #register}.
+ */
+public final class ScreenRegistry {
+    private static final List<ScreenSignature> SCREENS = new CopyOnWriteArrayList<>(List.of(
+        LoginPage.WELCOME_SCREEN,
+        LoginPage.LOGIN_IDENTIFIER_SCREEN,
+        LoginPage.LOGIN_PASSWORD_SCREEN,
+        OnboardingPage.QUESTIONNAIRE_SCREEN,
+        SignupFlowPage.SCREEN,
+        OtpPage.SCREEN,
+        HomePage.SCREEN
+    ));
+
+    private ScreenRegistry() {
+    }
+
+    /**
+     * Add a screen signature (ignored if already registered)
+     */
+    public static void register(ScreenSignature signature) {
+        if (!SCREENS.contains(signature)) {
+            SCREENS.add(signature);
+        }
+    }
+
+    /**
+     * All registered signatures, in registration order
+     */
+    public static List<ScreenSignature> signatures() {
+        return Collections.unmodifiableList(new ArrayList<>(SCREENS));
+    }
+}
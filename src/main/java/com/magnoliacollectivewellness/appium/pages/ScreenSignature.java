@@ -0,0 +1,99 @@
+package com.magnoliacollectivewellness.appium.pages;
+
+import com.magnoliacollectivewellness.appium.utils.HierarchySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How a page object recognises its own screen in a hierarchy snapshot.
+ *
+ * A signature needs at least one of its required markers to be displayed. Supporting
+ * markers then add (or, with a negative weight, subtract) evidence, which becomes the
+ * confidence of the match:
+ * <pre>
+ *   ScreenSignature.named("home")
+ *       .requiresAnyOf(HOME_NAV_XPATH, WELCOME_TEXT_XPATH)
+ *       .supportedBy(HOME_NAV_XPATH, 2)
+ *       .supportedBy(LOGIN_MARKERS_XPATH, -2);
+ * </pre>
+ */
+public final class ScreenSignature {
+    private final String name;
+    private final List<String> required = new ArrayList<>();
+    private final List<String> evidence = new ArrayList<>();
+    private final List<Double> weights = new ArrayList<>();
+
+    private ScreenSignature(String name) {
+        this.name = name;
+    }
+
+    public static ScreenSignature named(String name) {
+        return new ScreenSignature(name);
+    }
+
+    /**
+     * The screen is only considered when one of these markers is displayed
+     */
+    public ScreenSignature requiresAnyOf(String... xpaths) {
+        for (String xpath : xpaths) {
+            required.add(xpath);
+        }
+        return this;
+    }
+
+    /**
+     * A marker that makes the match more (positive weight) or less (negative weight) likely
+     */
+    public ScreenSignature supportedBy(String xpath, double weight) {
+        evidence.add(xpath);
+        weights.add(weight);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Confidence between 0 and 1 that the snapshot shows this screen (0 = not this screen)
+     */
+    public double confidence(HierarchySnapshot snapshot) {
+        boolean present = false;
+        for (String xpath : required) {
+            if (snapshot.has(xpath)) {
+                present = true;
+                break;
+            }
+        }
+        if (!present) {
+            return 0;
+        }
+
+        // The required marker counts as one unit of evidence
+        double score = 1;
+        double possible = 1;
+        for (int i = 0; i < evidence.size(); i++) {
+            double weight = weights.get(i);
+            if (weight > 0) {
+                possible += weight;
+            }
+            if (snapshot.has(evidence.get(i))) {
+                score += weight;
+            }
+        }
+        return Math.max(0, Math.min(1, score / possible));
+    }
+
+    /**
+     * Check if the snapshot could show this screen
+     */
+    public boolean matches(HierarchySnapshot snapshot) {
+        return confidence(snapshot) > 0;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,7 +1,17 @@
 package com.magnoliacollectivewellness.appium.pages;
 
+import com.magnoliacollectivewellness.appium.utils.BudgetedWait;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.Pause;
+import com.magnoliacollectivewellness.appium.utils.RetryPolicy;
+import com.magnoliacollectivewellness.appium.utils.ScreenStability;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
 import io.appium.java_client.AppiumBy;
 import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -13,87 +23,115 @@ import java.util.List;
  * Handles the signup steps (Step 1 → Step 3).
  */
 public class SignupFlowPage {
+    static final String SIGNUP_STEP_XPATH = "//*[contains(@text,'tailor') or contains(@text,'Tailor') " +
+        "or contains(@text,'your space') or contains(@text,'First name') " +
+        "or contains(@text,'First Name') or contains(@text,'Legal first')]";
+
+    /** Signup form ("Tailor your space", legal name, ...) that follows the questionnaire */
+    public static final ScreenSignature SCREEN = ScreenSignature.named("signup")
+        .requiresAnyOf(SIGNUP_STEP_XPATH)
+        .supportedBy("//android.widget.EditText", 1);
+
     private final AppiumDriver driver;
     private final WebDriverWait wait;
 
     public SignupFlowPage(AppiumDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.wait = new BudgetedWait(driver, Duration.ofSeconds(15));
     }
 
     public void fillStep1(String firstName, String lastName) {
-        List<WebElement> editTexts = driver.findElements(AppiumBy.className("android.widget.EditText"));
-        if (editTexts.size() >= 2) {
-            editTexts.get(0).click();
-            editTexts.get(0).clear();
-            editTexts.get(0).sendKeys(firstName);
-            editTexts.get(1).click();
-            editTexts.get(1).clear();
-            editTexts.get(1).sendKeys(lastName);
+        try (Tracer.Span span = Tracer.span("SignupFlowPage.fillStep1")) {
+            List<WebElement> editTexts = driver.findElements(AppiumBy.className("android.widget.EditText"));
+            if (editTexts.size() >= 2) {
+                editTexts.get(0).click();
+                editTexts.get(0).clear();
+                editTexts.get(0).sendKeys(firstName);
+                editTexts.get(1).click();
+                editTexts.get(1).clear();
+                editTexts.get(1).sendKeys(lastName);
+            }
+            clickContinue();
         }
-        clickContinue();
     }
 
     public void completeStep2() {
-        selectFirstOption();
-        clickContinue();
+        try (Tracer.Span span = Tracer.span("SignupFlowPage.completeStep2")) {
+            selectFirstOption();
+            clickContinue();
+        }
     }
 
     public void completeStep3() {
-        selectFirstOption();
-        clickContinue();
+        try (Tracer.Span span = Tracer.span("SignupFlowPage.completeStep3")) {
+            selectFirstOption();
+            clickContinue();
+        }
     }
 
     public void selectPreferredPronoun(String pronoun) {
-        try {
-            WebElement pronounButton = wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//android.widget.Button[@text='" + pronoun + "']")));
-            pronounButton.click();
-            Thread.sleep(500);
-        } catch (Exception e) {
-            System.out.println("⚠️ Could not select pronoun '" + pronoun + "': " + e.getMessage());
+        try (Tracer.Span span = Tracer.span("SignupFlowPage.selectPreferredPronoun")) {
+            try {
+                RetryPolicy.named("SignupFlowPage.selectPreferredPronoun")
+                    .run(() -> wait.until(ExpectedConditions.elementToBeClickable(
+                        AppiumBy.xpath("//android.widget.Button[@text='" + pronoun + "']"))).click());
+                Pause.millis(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TimeoutException | NoSuchElementException | ElementNotInteractableException | StaleElementReferenceException e) {
+                EventLog.warn("SignupFlowPage.selectPreferredPronoun", "⚠️ Could not select pronoun '" + pronoun + "': " + e.getMessage());
+            }
         }
     }
 
     public void selectCountry(String country) {
-        try {
-            WebElement dropdownField = wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//android.widget.EditText[contains(@text,'Select Country') or contains(@hint,'Select country') or contains(@text,'Select country')]")));
-            dropdownField.click();
-            Thread.sleep(1000);
-            WebElement countryOption = wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//android.widget.TextView[contains(@text,'" + country + "')]")));
-            countryOption.click();
-            Thread.sleep(500);
-        } catch (Exception e) {
-            System.out.println("⚠️ Could not select country '" + country + "': " + e.getMessage());
+        try (Tracer.Span span = Tracer.span("SignupFlowPage.selectCountry")) {
+            try {
+                WebElement dropdownField = wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//android.widget.EditText[contains(@text,'Select Country') or contains(@hint,'Select country') or contains(@text,'Select country')]")));
+                dropdownField.click();
+                Pause.millis(1000);
+                WebElement countryOption = wait.until(ExpectedConditions.elementToBeClickable(
+                    AppiumBy.xpath("//android.widget.TextView[contains(@text,'" + country + "')]")));
+                countryOption.click();
+                Pause.millis(500);
+            } catch (Exception e) {
+                EventLog.warn("SignupFlowPage.selectCountry", "⚠️ Could not select country '" + country + "': " + e.getMessage());
+            }
         }
     }
 
     private void selectFirstOption() {
-        try {
-            List<WebElement> clickableViews = driver.findElements(
-                AppiumBy.xpath("//android.view.ViewGroup[@clickable='true']"));
-            for (WebElement view : clickableViews) {
-                if (view.isDisplayed()) {
-                    view.click();
-                    Thread.sleep(500);
-                    return;
+        try (Tracer.Span span = Tracer.span("SignupFlowPage.selectFirstOption")) {
+            try {
+                List<WebElement> clickableViews = driver.findElements(
+                    AppiumBy.xpath("//android.view.ViewGroup[@clickable='true']"));
+                for (WebElement view : clickableViews) {
+                    if (view.isDisplayed()) {
+                        view.click();
+                        Pause.millis(500);
+                        return;
+                    }
                 }
+            } catch (Exception e) {
+                EventLog.warn("SignupFlowPage.selectFirstOption", "⚠️ Could not select signup option: " + e.getMessage());
             }
-        } catch (Exception e) {
-            System.out.println("⚠️ Could not select signup option: " + e.getMessage());
         }
     }
 
     private void clickContinue() {
-        try {
-            WebElement continueBtn = wait.until(ExpectedConditions.elementToBeClickable(
-                AppiumBy.xpath("//*[(contains(@text,'Continue') or contains(@text,'CONTINUE')) and @clickable='true']")));
-            continueBtn.click();
-            Thread.sleep(1500);
-        } catch (Exception e) {
-            System.out.println("⚠️ Continue button not found on signup screen: " + e.getMessage());
+        try (Tracer.Span span = Tracer.span("SignupFlowPage.clickContinue")) {
+            try {
+                ScreenStability.Probe settle = ScreenStability.before(driver);
+                RetryPolicy.named("SignupFlowPage.clickContinue")
+                    .run(() -> wait.until(ExpectedConditions.elementToBeClickable(
+                        AppiumBy.xpath("//*[(contains(@text,'Continue') or contains(@text,'CONTINUE')) and @clickable='true']"))).click());
+                settle.await("SignupFlowPage.continue", Duration.ofMillis(1500));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TimeoutException | NoSuchElementException | ElementNotInteractableException | StaleElementReferenceException e) {
+                EventLog.warn("SignupFlowPage.clickContinue", "⚠️ Continue button not found on signup screen: " + e.getMessage());
+            }
         }
     }
 }
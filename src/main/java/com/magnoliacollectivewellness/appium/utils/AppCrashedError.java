@@ -0,0 +1,25 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+/**
+ * The app under test crashed or stopped responding (ANR) during the test.
+ *
+ * An {@link AssertionError} on purpose: page objects catch {@code Exception} around their
+ * fallback strategies, and this must not be swallowed and retried like a missing element.
+ */
+public class AppCrashedError extends AssertionError {
+    private static final long serialVersionUID = 1L;
+
+    private final String logExcerpt;
+
+    public AppCrashedError(String cause, String logExcerpt) {
+        super("💥 App crashed: " + cause + (logExcerpt.isEmpty() ? "" : "\n--- device log ---\n" + logExcerpt));
+        this.logExcerpt = logExcerpt;
+    }
+
+    /**
+     * Device log lines around the crash (empty if none were captured)
+     */
+    public String getLogExcerpt() {
+        return logExcerpt;
+    }
+}
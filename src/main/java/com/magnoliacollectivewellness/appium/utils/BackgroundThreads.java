@@ -0,0 +1,34 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Daemon threads that talk to the session next to the test (crash watchdog, device log pulls).
+ * Their remote commands are not traced or profiled, so they never show up as test time.
+ */
+public final class BackgroundThreads {
+    private static final ThreadLocal<Boolean> BACKGROUND = ThreadLocal.withInitial(() -> false);
+
+    private BackgroundThreads() {
+    }
+
+    /**
+     * Single-threaded scheduler on a marked daemon (virtual, where available) thread
+     */
+    public static ScheduledExecutorService newScheduler(String name) {
+        ThreadFactory threads = VirtualThreads.factory(name + "-");
+        return Executors.newSingleThreadScheduledExecutor(runnable -> threads.newThread(() -> {
+            BACKGROUND.set(true);
+            runnable.run();
+        }));
+    }
+
+    /**
+     * True on a thread created by {@link #newScheduler}
+     */
+    public static boolean isBackground() {
+        return BACKGROUND.get();
+    }
+}
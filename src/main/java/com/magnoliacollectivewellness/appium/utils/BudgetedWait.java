@@ -0,0 +1,46 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * WebDriverWait that draws from the current {@link Deadline}.
+ *
+ * The configured timeout is only an upper bound: each {@code until} call waits at most
+ * for the remaining budget, and the time it took is charged to the open deadlines.
+ * Polling intervals are reported to the {@link Profiler} as wait polling.
+ */
+public class BudgetedWait extends WebDriverWait {
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final Duration timeout;
+
+    public BudgetedWait(WebDriver driver, Duration timeout) {
+        super(driver, timeout, POLL_INTERVAL, TestClock.javaClock(), Profiler.pollingSleeper());
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <V> V until(Function<? super WebDriver, V> isTrue) {
+        String step = "wait " + isTrue;
+        Deadline.check(step);
+        withTimeout(Deadline.clamp(timeout));
+        long started = TestClock.now();
+        try {
+            V value = super.until(isTrue);
+            Deadline.spend(step, TestClock.now() - started);
+            return value;
+        } catch (RuntimeException e) {
+            Deadline.spend(step, TestClock.now() - started);
+            Deadline deadline = Deadline.current();
+            if (e instanceof TimeoutException && deadline != null && deadline.isExpired()) {
+                throw deadline.exceeded(step, e);
+            }
+            throw e;
+        }
+    }
+}
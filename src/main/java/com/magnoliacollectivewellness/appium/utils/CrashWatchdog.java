@@ -0,0 +1,219 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.appium.java_client.appmanagement.ApplicationState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background watchdog that fails a test the moment the app crashes or stops responding.
+ *
+ * Every few seconds a daemon thread checks the app state (a crashed app leaves the foreground),
+ * and each batch of new device log lines from the {@link DeviceLogCollector} is scanned for
+ * FATAL EXCEPTION / ANR of the app package. Page sources the test fetches anyway are checked
+ * for the system crash / ANR dialog at no extra cost.
+ *
+ * On detection the test thread is interrupted and every following remote command or pause
+ * throws {@link AppCrashedError} with the cause and the device log lines around it, instead
+ * of the test waiting out one locator timeout after another.
+ *
+ * The watchdog's own commands bypass tracing and profiling, and it polls far less often than
+ * the test does, so it does not noticeably slow the test's own commands down.
+ */
+public final class CrashWatchdog implements AutoCloseable {
+    private static final ThreadLocal<CrashWatchdog> ACTIVE = new ThreadLocal<>();
+    private static final String CRASH_DIALOG_MARKER = "android:id/aerr_";
+    private static final int LOG_LINES_KEPT = 200;
+    private static final int EXCERPT_LINES_BEFORE = 20;
+    private static final int EXCERPT_LINES_AFTER = 40;
+    // Consecutive polls out of the foreground before it counts as a crash (ignores brief transitions)
+    private static final int BACKGROUND_POLLS = 2;
+
+    private final AppiumDriver driver;
+    private final Thread testThread;
+    private final String appId;
+    private final ScheduledExecutorService scheduler;
+    private final Deque<String> recentLog = new ArrayDeque<>();
+    private final AtomicInteger suspended = new AtomicInteger();
+    private int backgroundPolls;
+    private volatile AppCrashedError crash;
+    private boolean reported;
+
+    private CrashWatchdog(AppiumDriver driver, String testName) {
+        this.driver = driver;
+        this.testThread = Thread.currentThread();
+        this.appId = TestConfig.isAndroid() ? TestConfig.ANDROID_APP_PACKAGE : TestConfig.IOS_BUNDLE_ID;
+        this.scheduler = BackgroundThreads.newScheduler("crash-watchdog-" + testName);
+    }
+
+    /**
+     * Start watching the session on behalf of the current (test) thread;
+     * device log lines come from the session's collector
+     */
+    public static CrashWatchdog start(AppiumDriver driver, String testName, DeviceLogCollector deviceLog) {
+        CrashWatchdog watchdog = new CrashWatchdog(driver, testName);
+        if (TestConfig.CRASH_WATCHDOG) {
+            ACTIVE.set(watchdog);
+            deviceLog.addListener(watchdog::scanDeviceLog);
+            long interval = TestConfig.CRASH_WATCHDOG_INTERVAL_MILLIS;
+            watchdog.scheduler.scheduleWithFixedDelay(watchdog::poll, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return watchdog;
+    }
+
+    /**
+     * Throw if the watchdog of the current thread has seen a crash
+     */
+    public static void throwIfCrashed() {
+        CrashWatchdog watchdog = ACTIVE.get();
+        if (watchdog != null && watchdog.crash != null) {
+            if (!watchdog.reported) {
+                watchdog.reported = true;
+                EventLog.warn("CrashWatchdog", watchdog.crash.getMessage());
+            }
+            throw watchdog.crash;
+        }
+    }
+
+    /**
+     * Check a page source the test fetched for the system crash / ANR dialog
+     */
+    public static void inspect(String pageSource) {
+        CrashWatchdog watchdog = ACTIVE.get();
+        if (watchdog != null && watchdog.suspended.get() == 0 && pageSource != null
+            && pageSource.contains(CRASH_DIALOG_MARKER)) {
+            watchdog.detected("crash / not-responding dialog on screen");
+            throwIfCrashed();
+        }
+    }
+
+    /**
+     * Pause detection while the test deliberately stops or backgrounds the app
+     */
+    public static Suspension suspend() {
+        CrashWatchdog watchdog = ACTIVE.get();
+        if (watchdog == null) {
+            return () -> { };
+        }
+        watchdog.suspended.incrementAndGet();
+        return () -> {
+            synchronized (watchdog) {
+                watchdog.backgroundPolls = 0;
+            }
+            watchdog.suspended.decrementAndGet();
+        };
+    }
+
+    /**
+     * Stop watching; call before the teardown commands so they are not refused
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (ACTIVE.get() == this) {
+            ACTIVE.remove();
+        }
+        if (crash != null) {
+            // Clear an interrupt the test did not consume, so teardown can still talk to the server
+            Thread.interrupted();
+        }
+    }
+
+    private void poll() {
+        if (crash != null || suspended.get() > 0) {
+            return;
+        }
+        try {
+            checkAppState();
+        } catch (RuntimeException e) {
+            // Session busy or already gone - the next poll (or teardown) will tell
+        }
+    }
+
+    /**
+     * Look for FATAL EXCEPTION / ANR of the app in a batch of new device log lines
+     */
+    private void scanDeviceLog(List<String> lines) {
+        if (crash != null || suspended.get() > 0) {
+            return;
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.contains("ANR in " + appId)) {
+                detected("app not responding (ANR)", lines, i);
+                return;
+            }
+            if (line.contains("FATAL EXCEPTION") && mentionsApp(lines, i)) {
+                detected("fatal exception", lines, i);
+                return;
+            }
+        }
+        remember(lines, lines.size());
+    }
+
+    private boolean mentionsApp(List<String> lines, int from) {
+        for (int i = from; i < Math.min(lines.size(), from + 5); i++) {
+            if (lines.get(i).contains(appId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkAppState() {
+        // Query outside the monitor so a virtual thread is not pinned while it waits on HTTP
+        ApplicationState state = ((InteractsWithApps) driver).queryAppState(appId);
+        synchronized (this) {
+            if (state == ApplicationState.RUNNING_IN_FOREGROUND) {
+                backgroundPolls = 0;
+            } else if (++backgroundPolls >= BACKGROUND_POLLS && suspended.get() == 0) {
+                detected("app is no longer in the foreground (" + state + ")");
+            }
+        }
+    }
+
+    private void detected(String cause) {
+        detected(cause, new ArrayList<>(), 0);
+    }
+
+    private synchronized void detected(String cause, List<String> lines, int at) {
+        if (crash != null) {
+            return;
+        }
+        remember(lines, Math.min(lines.size(), at + EXCERPT_LINES_AFTER));
+        List<String> kept = new ArrayList<>(recentLog);
+        int keep = Math.min(kept.size(), EXCERPT_LINES_BEFORE + Math.min(lines.size() - at, EXCERPT_LINES_AFTER));
+        String excerpt = String.join("\n", kept.subList(kept.size() - keep, kept.size()));
+        crash = new AppCrashedError(cause, excerpt);
+        System.out.println("💥 Crash watchdog: " + cause + " - aborting " + testThread.getName());
+        if (Thread.currentThread() != testThread) {
+            testThread.interrupt();
+        }
+    }
+
+    private synchronized void remember(List<String> lines, int upTo) {
+        for (int i = 0; i < upTo; i++) {
+            recentLog.addLast(lines.get(i));
+            if (recentLog.size() > LOG_LINES_KEPT) {
+                recentLog.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Ends a {@link #suspend()} region
+     */
+    @FunctionalInterface
+    public interface Suspension extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,157 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A time budget shared by everything that runs inside it on the current thread.
+ *
+ * Waits ({@link BudgetedWait}) and pauses ({@link Pause}) never run longer than the
+ * remaining budget, so a chain of fallback strategies costs at most the budget of
+ * the action that started it rather than the sum of every strategy's own timeout.
+ * Deadlines nest; an inner deadline never outlives the one around it.
+ *
+ * <pre>
+ *   try (Deadline d = Deadline.open("LoginPage.getEmailOrPhoneInput", Duration.ofSeconds(15))) {
+ *       ... strategy 1 ... strategy 2 ... strategy 3 ...
+ *   }
+ * </pre>
+ * When the budget runs out a {@link Exceeded} is thrown that lists where the time went.
+ */
+public final class Deadline implements AutoCloseable {
+    private static final ThreadLocal<Deque<Deadline>> OPEN = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final String name;
+    private final long budgetNanos;
+    private final long startNanos;
+    private final long endNanos;
+    private final Map<String, Long> spent = new LinkedHashMap<>();
+    private boolean closed;
+
+    private Deadline(String name, long budgetNanos, long startNanos, long endNanos) {
+        this.name = name;
+        this.budgetNanos = budgetNanos;
+        this.startNanos = startNanos;
+        this.endNanos = endNanos;
+    }
+
+    /**
+     * Open a deadline on the current thread; close it (try-with-resources) when the action is done
+     */
+    public static Deadline open(String name, Duration budget) {
+        Deque<Deadline> open = OPEN.get();
+        long now = TestClock.now();
+        long end = now + budget.toNanos();
+        Deadline parent = open.peek();
+        if (parent != null && parent.endNanos - end < 0) {
+            end = parent.endNanos;
+        }
+        Deadline deadline = new Deadline(name, budget.toNanos(), now, end);
+        open.push(deadline);
+        return deadline;
+    }
+
+    /**
+     * The innermost open deadline, or null when none is open
+     */
+    public static Deadline current() {
+        return OPEN.get().peek();
+    }
+
+    /**
+     * The given timeout, shortened to the remaining budget of the current deadline
+     */
+    public static Duration clamp(Duration timeout) {
+        Deadline deadline = current();
+        if (deadline == null) {
+            return timeout;
+        }
+        long remaining = Math.max(0, deadline.remainingNanos());
+        return remaining < timeout.toNanos() ? Duration.ofNanos(remaining) : timeout;
+    }
+
+    /**
+     * Fail fast when the current deadline has already run out
+     */
+    public static void check(String step) {
+        Deadline deadline = current();
+        if (deadline != null && deadline.remainingNanos() <= 0) {
+            throw deadline.exceeded(step, null);
+        }
+    }
+
+    /**
+     * Charge time to every open deadline, so the breakdown shows what used the budget
+     */
+    public static void spend(String what, long nanos) {
+        for (Deadline deadline : OPEN.get()) {
+            deadline.spent.merge(what, nanos, Long::sum);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long remainingNanos() {
+        return endNanos - TestClock.now();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Build the error reported when this budget ran out
+     */
+    public Exceeded exceeded(String step, Throwable cause) {
+        StringBuilder message = new StringBuilder()
+            .append("Time budget of '").append(name).append("' (").append(budgetNanos / 1_000_000).append(" ms)")
+            .append(" ran out at ").append(step)
+            .append(" after ").append((TestClock.now() - startNanos) / 1_000_000).append(" ms:");
+        long accounted = 0;
+        for (Map.Entry<String, Long> entry : spent.entrySet()) {
+            message.append("\n  ").append(entry.getValue() / 1_000_000).append(" ms  ").append(entry.getKey());
+            accounted += entry.getValue();
+        }
+        long other = (TestClock.now() - startNanos) - accounted;
+        message.append("\n  ").append(Math.max(0, other) / 1_000_000).append(" ms  (commands and other work)");
+        return new Exceeded(message.toString(), cause);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Also drop inner deadlines left open by an exception
+        Iterator<Deadline> open = OPEN.get().iterator();
+        while (open.hasNext()) {
+            Deadline deadline = open.next();
+            open.remove();
+            if (deadline == this) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Thrown when a deadline's budget has been used up.
+     *
+     * An {@link AssertionError} like {@link AppCrashedError}: the locator fallbacks catch
+     * {@code TimeoutException} and {@code Exception}, and a spent budget must reach the test
+     * failure with its breakdown instead of passing for one more missing element.
+     */
+    public static class Exceeded extends AssertionError {
+        private static final long serialVersionUID = 1L;
+
+        public Exceeded(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
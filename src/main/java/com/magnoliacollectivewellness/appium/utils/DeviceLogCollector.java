@@ -0,0 +1,322 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams the device log (logcat / syslog) of one session to disk while the session runs.
+ *
+ * Every interval only the entries logged since the previous pull are fetched; lines from other
+ * apps are dropped at ingest (kept: lines naming the app, and lines from the app's processes).
+ * A {@code FATAL EXCEPTION} line names no app, so it is held back until the next line
+ * ({@code Process: <app>, PID: ...}) tells whether the crash was the app's.
+ * They are appended to {@code build/device-logs/<session>.log} through a buffered file channel.
+ * The byte offsets at each test's start and end go to {@code <session>.idx} and, for the
+ * running session, to an in-memory map, so one test's slice is found without reading the
+ * index and read with a single positioned read, however long the session log grows.
+ * With -DdeviceLogs=false and -DcrashWatchdog=false nothing is pulled and no thread is started.
+ *
+ * Listeners (the {@link CrashWatchdog}) see every filtered batch as it arrives.
+ */
+public final class DeviceLogCollector implements AutoCloseable {
+    private static final Path LOG_DIR = Paths.get(TestConfig.DEVICE_LOG_DIR);
+    private static final int BUFFER_BYTES = 64 * 1024;
+    // logcat -v threadtime: "MM-DD HH:MM:SS.mmm  PID  TID L Tag: message"
+    private static final Pattern THREADTIME_PID = Pattern.compile("^\\S+\\s+\\S+\\s+(\\d+)\\s+\\d+\\s");
+    private static final Pattern APP_PID = Pattern.compile("(?:Start proc (\\d+):%1$s|Process: %1$s, PID: (\\d+))");
+
+    private final AppiumDriver driver;
+    private final String logType;
+    private final String appId;
+    private final Pattern appPid;
+    private final Set<String> appPids = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final List<Consumer<List<String>>> listeners = new CopyOnWriteArrayList<>();
+    private final boolean enabled = TestConfig.DEVICE_LOGS || TestConfig.CRASH_WATCHDOG;
+    private final ScheduledExecutorService scheduler;
+    // Slices of this session's tests: test name -> {start, end} byte offsets
+    private final Map<String, long[]> slices = new ConcurrentHashMap<>();
+    private final Path logFile;
+    private final Path indexFile;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel channel;
+    private long written;
+    private String test;
+    private long testStart;
+    // A FATAL EXCEPTION line waiting for the Process line that follows it (may span pulls)
+    private String pendingFatal;
+
+    private DeviceLogCollector(AppiumDriver driver) {
+        this.driver = driver;
+        this.logType = TestConfig.isAndroid() ? "logcat" : "syslog";
+        this.appId = TestConfig.isAndroid() ? TestConfig.ANDROID_APP_PACKAGE : TestConfig.IOS_BUNDLE_ID;
+        this.appPid = Pattern.compile(String.format(APP_PID.pattern(), Pattern.quote(appId)));
+        String session = String.valueOf(driver.getSessionId()).replaceAll("[^A-Za-z0-9._-]", "_");
+        this.logFile = LOG_DIR.resolve(session + ".log");
+        this.indexFile = LOG_DIR.resolve(session + ".idx");
+        this.scheduler = enabled ? BackgroundThreads.newScheduler("device-log-" + session) : null;
+    }
+
+    /**
+     * Start pulling the session's device log (written to disk when -DdeviceLogs is on)
+     */
+    public static DeviceLogCollector start(AppiumDriver driver) {
+        DeviceLogCollector collector = new DeviceLogCollector(driver);
+        if (TestConfig.DEVICE_LOGS) {
+            try {
+                Files.createDirectories(LOG_DIR);
+                collector.channel = FileChannel.open(collector.logFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                collector.written = collector.channel.size();
+            } catch (IOException e) {
+                System.out.println("⚠️ Device log disabled, cannot open " + collector.logFile + ": " + e.getMessage());
+            }
+        }
+        if (collector.enabled) {
+            collector.scheduler.execute(collector::findRunningAppPid);
+            long interval = TestConfig.DEVICE_LOG_INTERVAL_MILLIS;
+            collector.scheduler.scheduleWithFixedDelay(collector::pullSafely, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return collector;
+    }
+
+    /**
+     * Receive each batch of new (filtered) lines on the collector thread
+     */
+    public void addListener(Consumer<List<String>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Mark where the test's slice starts
+     */
+    public void beginTest(String testName) {
+        if (!enabled) {
+            return;
+        }
+        pullNow();
+        test = testName;
+        testStart = written;
+    }
+
+    /**
+     * Mark where the test's slice ends and index it
+     */
+    public void endTest() {
+        if (test == null) {
+            return;
+        }
+        pullNow();
+        if (channel != null) {
+            slices.put(test, new long[] {testStart, written});
+            try (Writer index = Files.newBufferedWriter(indexFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                index.write(test + "\t" + testStart + "\t" + written + "\n");
+            } catch (IOException e) {
+                EventLog.warn("DeviceLogCollector.endTest", "⚠️ Could not index device log: " + e.getMessage());
+            }
+            EventLog.detail("DeviceLogCollector.endTest", "📜 Device log for " + test + ": " + logFile
+                + " bytes " + testStart + "-" + written);
+        }
+        test = null;
+    }
+
+    /**
+     * This session's log lines of one test (empty if it was not indexed), from the in-memory offsets
+     */
+    public String readSlice(String testName) throws IOException {
+        long[] slice = slices.get(testName);
+        return slice != null ? read(logFile, slice[0], slice[1]) : "";
+    }
+
+    /**
+     * One test's lines from a finished session's log, looking its offsets up in the index file
+     */
+    public static String readSlice(Path logFile, Path indexFile, String testName) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return "";
+        }
+        for (String line : Files.readAllLines(indexFile, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields.length == 3 && fields[0].equals(testName)) {
+                return read(logFile, Long.parseLong(fields[1]), Long.parseLong(fields[2]));
+            }
+        }
+        return "";
+    }
+
+    private static String read(Path logFile, long start, long end) throws IOException {
+        ByteBuffer slice = ByteBuffer.allocate((int) (end - start));
+        try (FileChannel in = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            while (slice.hasRemaining() && in.read(slice, start + slice.position()) > 0) {
+                // positioned reads until the slice is full
+            }
+        }
+        return new String(slice.array(), 0, slice.position(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (channel != null) {
+                flush();
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            EventLog.warn("DeviceLogCollector.close", "⚠️ Could not close device log: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pull on the collector thread and wait for it, so the pull is not charged to the test
+     */
+    private void pullNow() {
+        try {
+            scheduler.submit(this::pullSafely).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException e) {
+            // Collector already closed - offsets stay where the last pull left them
+        }
+    }
+
+    // A lock rather than synchronized: pulls block on HTTP and must not pin a virtual thread's carrier
+    private void pullSafely() {
+        lock.lock();
+        try {
+            pull();
+        } catch (RuntimeException e) {
+            // Session busy or already gone - nothing new this time
+        } catch (IOException e) {
+            EventLog.warn("DeviceLogCollector", "⚠️ Could not write device log: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fetch the entries logged since the last pull, filter, append and notify listeners
+     */
+    private void pull() throws IOException {
+        List<LogEntry> entries = driver.manage().logs().get(logType).getAll();
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<String> kept = new ArrayList<>();
+        for (LogEntry entry : entries) {
+            String line = entry.getMessage();
+            if (pendingFatal != null) {
+                if (line.contains(appId)) {
+                    keep(pendingFatal, kept);
+                }
+                pendingFatal = null;
+            }
+            if (isAppLine(line)) {
+                keep(line, kept);
+            } else if (line.contains("FATAL EXCEPTION")) {
+                // Before pidof works the crash header would be dropped; the next line decides
+                pendingFatal = line;
+            }
+        }
+        if (channel != null) {
+            flush();
+        }
+        if (!kept.isEmpty()) {
+            for (Consumer<List<String>> listener : listeners) {
+                listener.accept(kept);
+            }
+        }
+    }
+
+    private void keep(String line, List<String> kept) throws IOException {
+        kept.add(line);
+        if (channel != null) {
+            append(line);
+        }
+    }
+
+    private boolean isAppLine(String line) {
+        if (line.contains(appId)) {
+            Matcher started = appPid.matcher(line);
+            if (started.find()) {
+                appPids.add(started.group(1) != null ? started.group(1) : started.group(2));
+            }
+            return true;
+        }
+        Matcher pid = THREADTIME_PID.matcher(line);
+        return pid.find() && appPids.contains(pid.group(1));
+    }
+
+    /**
+     * The app was launched before the collector; ask for its pid once (needs relaxed security)
+     */
+    private void findRunningAppPid() {
+        if (!TestConfig.isAndroid()) {
+            return;
+        }
+        try {
+            Object pid = driver.executeScript("mobile: shell", Map.of("command", "pidof", "args", List.of(appId)));
+            if (pid != null && !pid.toString().isBlank()) {
+                for (String each : pid.toString().trim().split("\\s+")) {
+                    appPids.add(each);
+                }
+            }
+        } catch (RuntimeException e) {
+            EventLog.detail("DeviceLogCollector", "pidof unavailable, filtering by package name until the app restarts: "
+                + e.getMessage());
+        }
+    }
+
+    private void append(String line) throws IOException {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.capacity()) {
+            written += channel.write(ByteBuffer.wrap(bytes));
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
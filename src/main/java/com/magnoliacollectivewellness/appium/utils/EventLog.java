@@ -0,0 +1,355 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Structured per-test event log.
+ *
+ * Page objects record typed events (step, locator, outcome, duration, message)
+ * into a per-thread buffer of preallocated slots - no event objects are created.
+ * Full buffers are formatted as JSON lines and handed to a single background
+ * writer that appends them to one file per test ({@code build/event-logs/<test>.jsonl}).
+ * A thread gives its buffer up when its test ends, or when the thread is gone, so short-lived
+ * (virtual) threads do not pile up buffers. Events at or above the configured console level are mirrored through SLF4J.
+ */
+public final class EventLog {
+
+    /**
+     * Event outcome; also decides the console level used for mirroring
+     */
+    public enum Outcome {
+        DETAIL(0), INFO(1), SUCCESS(1), WARNING(2), FAILURE(3);
+
+        private final int severity;
+
+        Outcome(int severity) {
+            this.severity = severity;
+        }
+    }
+
+    private static final int CAPACITY = 256;
+    private static final String NO_TEST = "session";
+    private static final Path LOG_DIR = Paths.get(TestConfig.EVENT_LOG_DIR);
+    private static final int CONSOLE_SEVERITY = consoleSeverity(TestConfig.EVENT_LOG_CONSOLE_LEVEL);
+
+    private static final Logger LOGGER;
+    private static final BlockingQueue<Batch> QUEUE = new LinkedBlockingQueue<>();
+    private static final CountDownLatch CLOSED = new CountDownLatch(1);
+    private static final Queue<Buffer> BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(() -> {
+        releaseDeadThreads();
+        Buffer buffer = new Buffer(Thread.currentThread());
+        BUFFERS.add(buffer);
+        return buffer;
+    });
+
+    static {
+        // slf4j-simple reads its settings once, so route mirrored events to stdout at the configured level first
+        if (System.getProperty("org.slf4j.simpleLogger.logFile") == null) {
+            System.setProperty("org.slf4j.simpleLogger.logFile", "System.out");
+        }
+        if (System.getProperty("org.slf4j.simpleLogger.log.magnolia") == null) {
+            System.setProperty("org.slf4j.simpleLogger.log.magnolia", CONSOLE_SEVERITY == 0 ? "debug" : "info");
+        }
+        LOGGER = LoggerFactory.getLogger("magnolia.events");
+
+        Thread writer = new Thread(EventLog::writeLoop, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(EventLog::flushAll, "event-log-flush"));
+    }
+
+    private EventLog() {
+    }
+
+    /**
+     * Direct this thread's events to the log file of the given test
+     */
+    public static void beginTest(String testName) {
+        Buffer buffer = BUFFER.get();
+        synchronized (buffer) {
+            buffer.flush();
+            buffer.test = testName.replaceAll("[^A-Za-z0-9._-]", "_");
+            QUEUE.add(new Batch(buffer.test, ""));
+        }
+    }
+
+    /**
+     * Flush this thread's events, close the current test's log file and release the thread's buffer
+     */
+    public static void endTest() {
+        Buffer buffer = BUFFER.get();
+        synchronized (buffer) {
+            buffer.flush();
+            QUEUE.add(new Batch(buffer.test, null));
+            buffer.test = NO_TEST;
+        }
+        BUFFERS.remove(buffer);
+        BUFFER.remove();
+    }
+
+    public static void detail(String step, String message) {
+        event(step, null, Outcome.DETAIL, -1, message);
+    }
+
+    public static void info(String step, String message) {
+        event(step, null, Outcome.INFO, -1, message);
+    }
+
+    public static void success(String step, String message) {
+        event(step, null, Outcome.SUCCESS, -1, message);
+    }
+
+    public static void warn(String step, String message) {
+        event(step, null, Outcome.WARNING, -1, message);
+    }
+
+    /**
+     * Record one event
+     *
+     * @param step           page method, e.g. "OnboardingPage.selectVisibleOption"
+     * @param locator        locator involved, or null
+     * @param outcome        what happened
+     * @param durationNanos  how long it took, or -1 when not measured
+     * @param message        human readable description
+     */
+    public static void event(String step, String locator, Outcome outcome, long durationNanos, String message) {
+        Buffer buffer = BUFFER.get();
+        synchronized (buffer) {
+            buffer.add(System.currentTimeMillis(), step, locator, outcome, durationNanos, message);
+        }
+        if (outcome.severity >= CONSOLE_SEVERITY) {
+            mirror(outcome, message);
+        }
+    }
+
+    private static void mirror(Outcome outcome, String message) {
+        switch (outcome) {
+            case DETAIL:
+                LOGGER.debug(message);
+                break;
+            case WARNING:
+                LOGGER.warn(message);
+                break;
+            case FAILURE:
+                LOGGER.error(message);
+                break;
+            default:
+                LOGGER.info(message);
+        }
+    }
+
+    private static int consoleSeverity(String level) {
+        switch (level.toLowerCase()) {
+            case "debug":
+                return Outcome.DETAIL.severity;
+            case "warn":
+                return Outcome.WARNING.severity;
+            case "error":
+                return Outcome.FAILURE.severity;
+            case "off":
+                return Integer.MAX_VALUE;
+            default:
+                return Outcome.INFO.severity;
+        }
+    }
+
+    /**
+     * Flush and drop the buffers of threads that ended without ending a test (e.g. background threads)
+     */
+    private static void releaseDeadThreads() {
+        for (Buffer buffer : BUFFERS) {
+            if (!buffer.owner.isAlive()) {
+                synchronized (buffer) {
+                    buffer.flush();
+                }
+                BUFFERS.remove(buffer);
+            }
+        }
+    }
+
+    private static void flushAll() {
+        for (Buffer buffer : BUFFERS) {
+            synchronized (buffer) {
+                buffer.flush();
+            }
+        }
+        QUEUE.add(Batch.SHUTDOWN);
+        try {
+            CLOSED.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeLoop() {
+        Map<String, Writer> writers = new HashMap<>();
+        while (true) {
+            Batch batch;
+            try {
+                batch = QUEUE.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                if (batch == Batch.SHUTDOWN) {
+                    for (Writer writer : writers.values()) {
+                        writer.close();
+                    }
+                    writers.clear();
+                    CLOSED.countDown();
+                } else if (batch.text == null) {
+                    Writer writer = writers.remove(batch.test);
+                    if (writer != null) {
+                        writer.close();
+                    }
+                } else if (batch.text.isEmpty()) {
+                    // A test (re)starts: replace whatever an earlier run left behind
+                    Writer previous = writers.remove(batch.test);
+                    if (previous != null) {
+                        previous.close();
+                    }
+                    Files.createDirectories(LOG_DIR);
+                    writers.put(batch.test, Files.newBufferedWriter(LOG_DIR.resolve(batch.test + ".jsonl"),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING));
+                } else {
+                    Writer writer = writers.get(batch.test);
+                    if (writer == null) {
+                        Files.createDirectories(LOG_DIR);
+                        writer = Files.newBufferedWriter(LOG_DIR.resolve(batch.test + ".jsonl"), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                        writers.put(batch.test, writer);
+                    }
+                    writer.write(batch.text);
+                }
+            } catch (IOException e) {
+                System.err.println("⚠️ Event log write failed for " + batch.test + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Formatted events on their way to a test's file; empty text starts the file, null text closes it
+     */
+    private static final class Batch {
+        static final Batch SHUTDOWN = new Batch(null, null);
+
+        final String test;
+        final String text;
+
+        Batch(String test, String text) {
+            this.test = test;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Fixed-size columnar buffer of events for one thread
+     */
+    private static final class Buffer {
+        final Thread owner;
+        final String thread;
+        final long[] timestamps = new long[CAPACITY];
+        final long[] durations = new long[CAPACITY];
+        final String[] steps = new String[CAPACITY];
+        final String[] locators = new String[CAPACITY];
+        final Outcome[] outcomes = new Outcome[CAPACITY];
+        final String[] messages = new String[CAPACITY];
+        final StringBuilder text = new StringBuilder(CAPACITY * 160);
+        String test = NO_TEST;
+        int size;
+
+        Buffer(Thread owner) {
+            this.owner = owner;
+            this.thread = owner.getName();
+        }
+
+        void add(long timestamp, String step, String locator, Outcome outcome, long durationNanos, String message) {
+            timestamps[size] = timestamp;
+            steps[size] = step;
+            locators[size] = locator;
+            outcomes[size] = outcome;
+            durations[size] = durationNanos;
+            messages[size] = message;
+            if (++size == CAPACITY) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (size == 0) {
+                return;
+            }
+            text.setLength(0);
+            for (int i = 0; i < size; i++) {
+                text.append("{\"ts\":").append(timestamps[i]);
+                appendField("thread", thread);
+                appendField("step", steps[i]);
+                if (locators[i] != null) {
+                    appendField("locator", locators[i]);
+                }
+                appendField("outcome", outcomes[i].name());
+                if (durations[i] >= 0) {
+                    text.append(",\"durationMs\":").append(durations[i] / 1_000_000.0);
+                }
+                appendField("message", messages[i]);
+                text.append("}\n");
+                steps[i] = locators[i] = messages[i] = null;
+            }
+            QUEUE.add(new Batch(test, text.toString()));
+            size = 0;
+        }
+
+        private void appendField(String name, String value) {
+            text.append(",\"").append(name).append("\":\"");
+            if (value == null) {
+                value = "";
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        text.append("\\\"");
+                        break;
+                    case '\\':
+                        text.append("\\\\");
+                        break;
+                    case '\n':
+                        text.append("\\n");
+                        break;
+                    case '\r':
+                        text.append("\\r");
+                        break;
+                    case '\t':
+                        text.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            text.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            text.append(c);
+                        }
+                }
+            }
+            text.append('"');
+        }
+    }
+}
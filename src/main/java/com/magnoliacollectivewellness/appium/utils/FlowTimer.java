@@ -0,0 +1,98 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Times named user flows (launch, login, questionnaire, signup, otp).
+ *
+ * Usage:
+ * <pre>
+ *   try (FlowTimer.Timing t = FlowTimer.start(FlowTimer.LOGIN)) {
+ *       ...
+ *       t.success();
+ *   }
+ * </pre>
+ * Only flows marked as successful are recorded: a flow cut short by an exception says
+ * nothing about how long it takes. Samples are kept in memory for the whole run, so
+ * {@link PerformanceGate} sees every iteration of a flow across all test classes.
+ */
+public final class FlowTimer {
+    public static final String LAUNCH = "launch";
+    public static final String LOGIN = "login";
+    public static final String QUESTIONNAIRE = "questionnaire";
+    public static final String SIGNUP = "signup";
+    public static final String OTP = "otp";
+
+    private static final Map<String, List<Long>> SAMPLES = new TreeMap<>();
+
+    private FlowTimer() {
+    }
+
+    /**
+     * Start timing a flow; the sample is recorded when the returned timing is closed after {@link Timing#success()}
+     */
+    public static Timing start(String flow) {
+        return new Timing(flow);
+    }
+
+    /**
+     * Record a flow duration in milliseconds
+     */
+    public static synchronized void record(String flow, long millis) {
+        SAMPLES.computeIfAbsent(flow, k -> new ArrayList<>()).add(millis);
+    }
+
+    /**
+     * Copy of all samples recorded so far in the run, keyed by flow name
+     */
+    public static synchronized Map<String, List<Long>> samples() {
+        Map<String, List<Long>> samples = new TreeMap<>();
+        for (Map.Entry<String, List<Long>> entry : SAMPLES.entrySet()) {
+            samples.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        return samples;
+    }
+
+    /**
+     * Return and clear all samples recorded so far, keyed by flow name
+     */
+    public static synchronized Map<String, List<Long>> drain() {
+        Map<String, List<Long>> drained = new TreeMap<>(SAMPLES);
+        SAMPLES.clear();
+        return drained;
+    }
+
+    /**
+     * A running flow measurement
+     */
+    public static final class Timing implements AutoCloseable {
+        private final String flow;
+        private final long startNanos = TestClock.now();
+        private boolean succeeded;
+
+        private Timing(String flow) {
+            this.flow = flow;
+        }
+
+        /**
+         * Mark the flow as completed normally; call it last inside the try block
+         */
+        public void success() {
+            succeeded = true;
+        }
+
+        @Override
+        public void close() {
+            long millis = (TestClock.now() - startNanos) / 1_000_000;
+            if (!succeeded) {
+                EventLog.info("FlowTimer", "⏱️ Flow '" + flow + "' did not complete after " + millis + " ms - not recorded");
+                return;
+            }
+            record(flow, millis);
+            EventLog.success("FlowTimer", "⏱️ Flow '" + flow + "' took " + millis + " ms");
+        }
+    }
+}
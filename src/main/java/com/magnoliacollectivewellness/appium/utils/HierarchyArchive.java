@@ -0,0 +1,209 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Content-addressed archive of every distinct page source seen during test runs.
+ *
+ * Page sources are normalised, keyed by the SHA-256 of that text and stored once,
+ * deflate-compressed, in an append-only pack file ({@code hierarchies.pack}). The index
+ * ({@code hierarchies.idx}) has one line per entry: {@code hash offset compressedLength rawLength}.
+ * Test steps only keep the hash (as a trace span arg and event log entry); compression
+ * and the sequential appends happen on a background writer thread.
+ */
+public final class HierarchyArchive {
+    private static final Path DIR = Paths.get(TestConfig.HIERARCHY_ARCHIVE_DIR);
+    private static final Path PACK = DIR.resolve("hierarchies.pack");
+    private static final Path INDEX = DIR.resolve("hierarchies.idx");
+    private static final String SHUTDOWN = "";
+
+    private static final Set<String> KNOWN = ConcurrentHashMap.newKeySet();
+    private static final BlockingQueue<String[]> QUEUE = new LinkedBlockingQueue<>();
+    private static final CountDownLatch CLOSED = new CountDownLatch(1);
+    private static volatile boolean failed;
+
+    static {
+        if (TestConfig.HIERARCHY_ARCHIVE) {
+            loadIndex();
+            Thread writer = new Thread(HierarchyArchive::writeLoop, "hierarchy-archive-writer");
+            writer.setDaemon(true);
+            writer.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(HierarchyArchive::flush, "hierarchy-archive-flush"));
+        }
+    }
+
+    private HierarchyArchive() {
+    }
+
+    /**
+     * Archive a page source (once per distinct content) and return its hash, or null when archiving is off
+     */
+    public static String store(String pageSource) {
+        if (!TestConfig.HIERARCHY_ARCHIVE || pageSource == null) {
+            return null;
+        }
+        String normalized = normalize(pageSource);
+        String hash = sha256(normalized);
+        if (KNOWN.add(hash) && !failed) {
+            QUEUE.add(new String[] {hash, normalized});
+        }
+        // The step keeps only the reference
+        String step = Tracer.currentName();
+        Tracer.annotate("hierarchy", hash);
+        EventLog.detail(step != null ? step : "HierarchyArchive.store", "🗂️ Hierarchy " + hash);
+        return hash;
+    }
+
+    /**
+     * Read an archived page source back by hash (for debugging and offline fixtures), or null if absent
+     */
+    public static String read(String hash) throws IOException {
+        if (!Files.exists(INDEX)) {
+            return null;
+        }
+        for (String line : Files.readAllLines(INDEX, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(" ");
+            if (fields.length == 4 && fields[0].equals(hash)) {
+                byte[] compressed = new byte[Integer.parseInt(fields[2])];
+                try (RandomAccessFile pack = new RandomAccessFile(PACK.toFile(), "r")) {
+                    pack.seek(Long.parseLong(fields[1]));
+                    pack.readFully(compressed);
+                }
+                return new String(inflate(compressed, Integer.parseInt(fields[3])), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whitespace between tags and line endings vary between fetches of the same screen
+     */
+    static String normalize(String pageSource) {
+        return pageSource.replace("\r\n", "\n").replaceAll(">\\s+<", "><").trim();
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void loadIndex() {
+        try {
+            if (Files.exists(INDEX)) {
+                for (String line : Files.readAllLines(INDEX, StandardCharsets.UTF_8)) {
+                    int space = line.indexOf(' ');
+                    if (space > 0) {
+                        KNOWN.add(line.substring(0, space));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not read hierarchy archive index: " + e.getMessage());
+        }
+    }
+
+    private static void flush() {
+        QUEUE.add(new String[] {SHUTDOWN, null});
+        try {
+            CLOSED.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void writeLoop() {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            Files.createDirectories(DIR);
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not create hierarchy archive: " + e.getMessage());
+        }
+        try (OutputStream pack = Files.newOutputStream(PACK, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             Writer index = Files.newBufferedWriter(INDEX, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long offset = Files.size(PACK);
+            while (true) {
+                String[] entry = QUEUE.take();
+                if (entry[0].equals(SHUTDOWN)) {
+                    break;
+                }
+                byte[] raw = entry[1].getBytes(StandardCharsets.UTF_8);
+                byte[] compressed = deflate(deflater, raw);
+                pack.write(compressed);
+                index.write(entry[0] + " " + offset + " " + compressed.length + " " + raw.length + "\n");
+                offset += compressed.length;
+                if (QUEUE.isEmpty()) {
+                    pack.flush();
+                    index.flush();
+                }
+            }
+        } catch (IOException e) {
+            failed = true;
+            QUEUE.clear();
+            System.err.println("⚠️ Hierarchy archive write failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            deflater.end();
+            CLOSED.countDown();
+        }
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                read += inflater.inflate(raw, read, rawLength - read);
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt hierarchy archive entry", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
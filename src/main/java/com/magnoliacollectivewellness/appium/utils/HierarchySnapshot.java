@@ -0,0 +1,123 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import io.appium.java_client.AppiumDriver;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One fetched copy of the UI hierarchy (page source) that XPath locators can be
+ * evaluated against locally. Lets several "is X on screen?" checks share a
+ * single server round trip instead of one findElements call each.
+ */
+public class HierarchySnapshot {
+    private static final ThreadLocal<DocumentBuilder> BUILDER = ThreadLocal.withInitial(() -> {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        } catch (Exception e) {
+            throw new IllegalStateException("No XML parser available", e);
+        }
+    });
+    private static final ThreadLocal<Map<String, XPathExpression>> EXPRESSIONS = ThreadLocal.withInitial(HashMap::new);
+
+    private final String pageSource;
+    private final Document document;
+
+    private HierarchySnapshot(String pageSource, Document document) {
+        this.pageSource = pageSource;
+        this.document = document;
+    }
+
+    /**
+     * Fetch the current hierarchy from the driver (one round trip), archive it and check it for a crash dialog
+     */
+    public static HierarchySnapshot capture(AppiumDriver driver) {
+        String pageSource = driver.getPageSource();
+        HierarchyArchive.store(pageSource);
+        CrashWatchdog.inspect(pageSource);
+        return of(pageSource);
+    }
+
+    /**
+     * Parse an already fetched page source
+     */
+    public static HierarchySnapshot of(String pageSource) {
+        try {
+            Document document = BUILDER.get().parse(new InputSource(new StringReader(pageSource)));
+            return new HierarchySnapshot(pageSource, document);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Page source is not valid XML: " + e.getMessage(), e);
+        }
+    }
+
+    public String getPageSource() {
+        return pageSource;
+    }
+
+    /**
+     * Check if any displayed element matches the XPath
+     */
+    public boolean has(String xpath) {
+        for (Element element : find(xpath)) {
+            if (isDisplayed(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Count elements matching the XPath
+     */
+    public int count(String xpath) {
+        return find(xpath).size();
+    }
+
+    /**
+     * All elements matching the XPath, in document order
+     */
+    public List<Element> find(String xpath) {
+        try {
+            NodeList nodes = (NodeList) expression(xpath).evaluate(document, XPathConstants.NODESET);
+            List<Element> elements = new ArrayList<>(nodes.getLength());
+            for (int i = 0; i < nodes.getLength(); i++) {
+                if (nodes.item(i) instanceof Element) {
+                    elements.add((Element) nodes.item(i));
+                }
+            }
+            return elements;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("Invalid XPath: " + xpath, e);
+        }
+    }
+
+    /**
+     * Android reports "displayed", iOS reports "visible"; absent means displayed
+     */
+    public static boolean isDisplayed(Element element) {
+        return !"false".equals(element.getAttribute("displayed")) && !"false".equals(element.getAttribute("visible"));
+    }
+
+    private static XPathExpression expression(String xpath) throws XPathExpressionException {
+        Map<String, XPathExpression> cache = EXPRESSIONS.get();
+        XPathExpression expression = cache.get(xpath);
+        if (expression == null) {
+            expression = XPathFactory.newInstance().newXPath().compile(xpath);
+            cache.put(xpath, expression);
+        }
+        return expression;
+    }
+}
@@ -0,0 +1,159 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.w3c.dom.Element;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves an element from several candidate locators in one polling loop.
+ *
+ * Each poll fetches the hierarchy once and evaluates every candidate XPath against
+ * it in priority order. The first candidate with a displayed match wins and only that
+ * element is fetched from the server, so a fallback chain costs one wait instead of
+ * one full timeout per strategy.
+ *
+ * <pre>
+ *   LocatorResolver.Resolution r = LocatorResolver.resolve(driver, "LoginPage.getPasswordInput", timeout,
+ *       LocatorResolver.candidate("Find by placeholder", PASSWORD_INPUT_XPATH),
+ *       LocatorResolver.candidate("Last EditText", "(//android.widget.EditText)[last()]"));
+ *   r.getElement().sendKeys(...);
+ * </pre>
+ */
+public final class LocatorResolver {
+    private static final long POLL_INTERVAL_MILLIS = 250;
+
+    private LocatorResolver() {
+    }
+
+    /**
+     * A displayed match of this XPath satisfies the lookup
+     */
+    public static Candidate candidate(String strategy, String xpath) {
+        return new Candidate(strategy, xpath, false);
+    }
+
+    /**
+     * A displayed and enabled match of this XPath satisfies the lookup (for buttons)
+     */
+    public static Candidate clickable(String strategy, String xpath) {
+        return new Candidate(strategy, xpath, true);
+    }
+
+    /**
+     * Wait for the highest-priority candidate to match and return it with the strategy that matched
+     *
+     * @throws TimeoutException if no candidate matched in time (or the current {@link Deadline} ran out)
+     */
+    public static Resolution resolve(AppiumDriver driver, String step, Duration timeout, Candidate... candidates) {
+        Duration budget = Deadline.clamp(timeout);
+        try (Tracer.Span span = Tracer.span(step + " (resolve)")) {
+            long started = TestClock.now();
+            long deadline = started + budget.toNanos();
+            int polls = 0;
+            try {
+                while (true) {
+                    polls++;
+                    try {
+                        HierarchySnapshot snapshot = HierarchySnapshot.capture(driver);
+                        for (Candidate candidate : candidates) {
+                            int index = candidate.firstMatch(snapshot);
+                            if (index < 0) {
+                                continue;
+                            }
+                            // Fetch just the winning element; the server evaluates the same hierarchy
+                            WebElement element = driver.findElement(AppiumBy.xpath("(" + candidate.xpath + ")[" + (index + 1) + "]"));
+                            span.arg("strategy", candidate.strategy).arg("polls", polls);
+                            EventLog.event(step, candidate.xpath, EventLog.Outcome.SUCCESS, TestClock.now() - started,
+                                "✅ Resolved via " + candidate.strategy + " after " + polls + " polls");
+                            return new Resolution(element, candidate.strategy);
+                        }
+                    } catch (RuntimeException e) {
+                        // Hierarchy changed between the snapshot and the fetch - try again on the next poll
+                        EventLog.detail(step, "Poll " + polls + " failed: " + e.getMessage());
+                    }
+
+                    if (TestClock.now() >= deadline) {
+                        break;
+                    }
+                    try {
+                        Pause.poll(POLL_INTERVAL_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            } finally {
+                Deadline.spend("resolve " + step, TestClock.now() - started);
+            }
+
+            List<String> strategies = new ArrayList<>();
+            for (Candidate candidate : candidates) {
+                strategies.add(candidate.strategy);
+            }
+            TimeoutException timedOut = new TimeoutException(
+                "No candidate matched within " + budget.toMillis() + " ms for " + step + ": " + strategies);
+            Deadline current = Deadline.current();
+            if (current != null && current.isExpired()) {
+                throw current.exceeded(step, timedOut);
+            }
+            throw timedOut;
+        }
+    }
+
+    /**
+     * One way of locating the element, with the strategy name reported when it wins
+     */
+    public static final class Candidate {
+        private final String strategy;
+        private final String xpath;
+        private final boolean requireEnabled;
+
+        private Candidate(String strategy, String xpath, boolean requireEnabled) {
+            this.strategy = strategy;
+            this.xpath = xpath;
+            this.requireEnabled = requireEnabled;
+        }
+
+        /**
+         * Index (in document order) of the first usable match, or -1
+         */
+        int firstMatch(HierarchySnapshot snapshot) {
+            List<Element> matches = snapshot.find(xpath);
+            for (int i = 0; i < matches.size(); i++) {
+                Element element = matches.get(i);
+                if (HierarchySnapshot.isDisplayed(element)
+                    && (!requireEnabled || !"false".equals(element.getAttribute("enabled")))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The resolved element and which strategy found it
+     */
+    public static final class Resolution {
+        private final WebElement element;
+        private final String strategy;
+
+        private Resolution(WebElement element, String strategy) {
+            this.element = element;
+            this.strategy = strategy;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        public String getStrategy() {
+            return strategy;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only store of per-step timings across runs.
+ *
+ * Every closed test, page-method and command span becomes one fixed-size record in a
+ * memory-mapped file ({@code build/metrics/metrics.bin}); strings (test, step, command,
+ * device, app version) are stored once in a dictionary file ({@code metrics.dict}) and
+ * referenced by id. Queries scan the mapped records directly, e.g.
+ * <pre>
+ *   Map&lt;String, Long&gt; p95 = MetricsStore.open(dir).percentileByAppVersion("LoginPage.login", 0.95, 200);
+ * </pre>
+ * One JVM writes at a time; readers may open the files while a run is appending.
+ */
+public final class MetricsStore implements AutoCloseable {
+    private static final int MAGIC = 0x4d474d54; // "MGMT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 40;
+    private static final int GROWTH_RECORDS = 16 * 1024;
+
+    // Header: magic, version, record count, last run id
+    private static final int COUNT_OFFSET = 8;
+    private static final int LAST_RUN_OFFSET = 16;
+
+    // Record: timestamp, run, test, step, command, duration, device, app version
+    private static final int TIMESTAMP = 0;
+    private static final int RUN = 8;
+    private static final int TEST = 12;
+    private static final int STEP = 16;
+    private static final int COMMAND = 20;
+    private static final int DURATION = 24;
+    private static final int DEVICE = 32;
+    private static final int APP_VERSION = 36;
+
+    private static MetricsStore writer;
+    private static boolean disabled;
+
+    private final Path dataFile;
+    private final Path dictFile;
+    private final FileChannel channel;
+    private final boolean writable;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private MappedByteBuffer buffer;
+    private Writer dictWriter;
+    private int runId;
+    private int deviceId;
+    private int appVersionId;
+
+    private MetricsStore(Path dir, boolean writable) throws IOException {
+        this.dataFile = dir.resolve("metrics.bin");
+        this.dictFile = dir.resolve("metrics.dict");
+        this.writable = writable;
+        if (writable) {
+            Files.createDirectories(dir);
+            channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } else {
+            channel = FileChannel.open(dataFile, StandardOpenOption.READ);
+        }
+        if (Files.exists(dictFile)) {
+            for (String value : Files.readAllLines(dictFile, StandardCharsets.UTF_8)) {
+                ids.put(value, strings.size());
+                strings.add(value);
+            }
+        }
+        if (!writable && channel.size() < HEADER_SIZE) {
+            channel.close();
+            throw new IOException("Not a metrics store: " + dataFile);
+        }
+        long size = Math.max(channel.size(), writable ? HEADER_SIZE + (long) GROWTH_RECORDS * RECORD_SIZE : 0);
+        map(size);
+        if (writable && buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putLong(COUNT_OFFSET, 0).putInt(LAST_RUN_OFFSET, 0);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a metrics store: " + dataFile);
+        }
+    }
+
+    /**
+     * Open a store read-only for queries
+     */
+    public static MetricsStore open(Path dir) throws IOException {
+        return new MetricsStore(dir, false);
+    }
+
+    /**
+     * Record one step of the current run (called by {@link Tracer} when a span closes)
+     */
+    static synchronized void record(String test, String step, String command, long durationNanos) {
+        if (!TestConfig.METRICS_ENABLED || disabled) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                writer = new MetricsStore(Paths.get(TestConfig.METRICS_DIR), true);
+                writer.startRun(TestConfig.getDeviceName(), TestConfig.APP_VERSION);
+                Runtime.getRuntime().addShutdownHook(new Thread(MetricsStore::closeWriter, "metrics-store-close"));
+            }
+            writer.append(System.currentTimeMillis(), test, step, command, durationNanos);
+        } catch (IOException | RuntimeException e) {
+            EventLog.warn("MetricsStore.record", "⚠️ Metrics store disabled: " + e.getMessage());
+            disabled = true;
+        }
+    }
+
+    private static synchronized void closeWriter() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    private void startRun(String device, String appVersion) throws IOException {
+        runId = buffer.getInt(LAST_RUN_OFFSET) + 1;
+        buffer.putInt(LAST_RUN_OFFSET, runId);
+        deviceId = id(device);
+        appVersionId = id(appVersion);
+    }
+
+    private void append(long timestamp, String test, String step, String command, long durationNanos) throws IOException {
+        long count = buffer.getLong(COUNT_OFFSET);
+        long offset = HEADER_SIZE + count * RECORD_SIZE;
+        if (offset + RECORD_SIZE > buffer.capacity()) {
+            map(offset + (long) GROWTH_RECORDS * RECORD_SIZE);
+        }
+        int at = (int) offset;
+        buffer.putLong(at + TIMESTAMP, timestamp)
+            .putInt(at + RUN, runId)
+            .putInt(at + TEST, id(test))
+            .putInt(at + STEP, id(step))
+            .putInt(at + COMMAND, id(command))
+            .putLong(at + DURATION, durationNanos)
+            .putInt(at + DEVICE, deviceId)
+            .putInt(at + APP_VERSION, appVersionId);
+        // Publish the record only once it is complete
+        buffer.putLong(COUNT_OFFSET, count + 1);
+    }
+
+    private void map(long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Metrics store is full: " + dataFile);
+        }
+        buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+
+    private int id(String value) throws IOException {
+        String key = value == null ? "" : value.replace('\n', ' ');
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = strings.size();
+            ids.put(key, id);
+            strings.add(key);
+            if (dictWriter == null) {
+                dictWriter = Files.newBufferedWriter(dictFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            dictWriter.write(key);
+            dictWriter.write('\n');
+            dictWriter.flush();
+        }
+        return id;
+    }
+
+    /**
+     * Number of records in the store
+     */
+    public long size() {
+        return Math.min(buffer.getLong(COUNT_OFFSET), (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    /**
+     * Id of the most recent run
+     */
+    public int lastRun() {
+        return buffer.getInt(LAST_RUN_OFFSET);
+    }
+
+    /**
+     * Percentile of a step's duration in milliseconds, per app version, over the last N runs
+     */
+    public Map<String, Long> percentileByAppVersion(String step, double percentile, int lastRuns) {
+        return percentileBy(step, APP_VERSION, percentile, lastRuns);
+    }
+
+    /**
+     * Percentile of a step's duration in milliseconds, per device, over the last N runs
+     */
+    public Map<String, Long> percentileByDevice(String step, double percentile, int lastRuns) {
+        return percentileBy(step, DEVICE, percentile, lastRuns);
+    }
+
+    private Map<String, Long> percentileBy(String step, int groupField, double percentile, int lastRuns) {
+        Map<String, Long> result = new TreeMap<>();
+        Integer stepId = ids.get(step);
+        if (stepId == null) {
+            return result;
+        }
+        int firstRun = lastRun() - lastRuns + 1;
+        Map<Integer, long[]> groups = new HashMap<>();
+        Map<Integer, Integer> counts = new HashMap<>();
+        long size = size();
+        for (long i = 0; i < size; i++) {
+            int at = (int) (HEADER_SIZE + i * RECORD_SIZE);
+            if (buffer.getInt(at + STEP) != stepId || buffer.getInt(at + RUN) < firstRun) {
+                continue;
+            }
+            int group = buffer.getInt(at + groupField);
+            int count = counts.getOrDefault(group, 0);
+            long[] values = groups.computeIfAbsent(group, g -> new long[64]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                groups.put(group, values);
+            }
+            values[count] = buffer.getLong(at + DURATION);
+            counts.put(group, count + 1);
+        }
+        for (Map.Entry<Integer, long[]> group : groups.entrySet()) {
+            int count = counts.get(group.getKey());
+            long[] values = group.getValue();
+            Arrays.sort(values, 0, count);
+            int rank = Math.max(1, (int) Math.ceil(percentile * count));
+            result.put(name(group.getKey()), values[rank - 1] / 1_000_000);
+        }
+        return result;
+    }
+
+    private String name(int id) {
+        return id < strings.size() ? strings.get(id) : "#" + id;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (writable) {
+                buffer.force();
+            }
+            if (dictWriter != null) {
+                dictWriter.close();
+            }
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not close metrics store: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Print a percentile query: {@code MetricsStore <step> [percentile] [lastRuns] [dir]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: MetricsStore <step> [percentile=0.95] [lastRuns=200] [dir=" + TestConfig.METRICS_DIR + "]");
+            return;
+        }
+        double percentile = args.length > 1 ? Double.parseDouble(args[1]) : 0.95;
+        int lastRuns = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        Path dir = Paths.get(args.length > 3 ? args[3] : TestConfig.METRICS_DIR);
+        try (MetricsStore store = open(dir)) {
+            long started = System.nanoTime();
+            Map<String, Long> byVersion = store.percentileByAppVersion(args[0], percentile, lastRuns);
+            System.out.println("📊 p" + Math.round(percentile * 100) + " of " + args[0] + " over the last " + lastRuns
+                + " runs (" + store.size() + " records, " + (System.nanoTime() - started) / 1_000_000 + " ms):");
+            for (Map.Entry<String, Long> entry : byVersion.entrySet()) {
+                System.out.println("   " + entry.getKey() + ": " + entry.getValue() + " ms");
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Waits for whichever of several expected outcomes happens first.
+ *
+ * Each poll fetches the hierarchy once and evaluates every outcome against that
+ * snapshot, in the order they were added. The first outcome that holds is returned
+ * immediately, so a test continues the moment the app has answered. A failed poll is
+ * retried on the next one, unless it can never succeed ({@link RetryPolicy#isFatal}, e.g. a
+ * dead session) - that failure is thrown at once instead of being reported as a timeout.
+ *
+ * <pre>
+ *   LoginOutcome outcome = new OutcomeWait&lt;LoginOutcome&gt;(driver, "LoginPage.awaitLoginOutcome")
+ *       .when(LoginOutcome.ERROR_SHOWN, LoginPage::hasErrorMessage)
+ *       .when(LoginOutcome.HOME_SHOWN, HomePage::isHomeScreen)
+ *       .whenTimedOut(LoginOutcome.STILL_ON_LOGIN)
+ *       .await(Duration.ofSeconds(10));
+ * </pre>
+ */
+public class OutcomeWait<K> {
+    private static final long POLL_INTERVAL_MILLIS = 250;
+
+    private final AppiumDriver driver;
+    private final String step;
+    private final Map<K, Predicate<HierarchySnapshot>> outcomes = new LinkedHashMap<>();
+    private K timeoutOutcome;
+
+    public OutcomeWait(AppiumDriver driver, String step) {
+        this.driver = driver;
+        this.step = step;
+    }
+
+    /**
+     * Add an outcome; earlier outcomes win when several hold in the same poll
+     */
+    public OutcomeWait<K> when(K outcome, Predicate<HierarchySnapshot> condition) {
+        outcomes.put(outcome, condition);
+        return this;
+    }
+
+    /**
+     * Outcome to return when none of the others happened in time (instead of throwing)
+     */
+    public OutcomeWait<K> whenTimedOut(K outcome) {
+        this.timeoutOutcome = outcome;
+        return this;
+    }
+
+    /**
+     * Poll until an outcome holds or the timeout (or the current {@link Deadline}) passes
+     *
+     * @throws TimeoutException if nothing happened in time and no timeout outcome was given
+     */
+    public K await(Duration timeout) {
+        timeout = Deadline.clamp(timeout);
+        try (Tracer.Span span = Tracer.span(step)) {
+            long started = TestClock.now();
+            long deadline = started + timeout.toNanos();
+            int polls = 0;
+            while (true) {
+                polls++;
+                try {
+                    HierarchySnapshot snapshot = HierarchySnapshot.capture(driver);
+                    for (Map.Entry<K, Predicate<HierarchySnapshot>> outcome : outcomes.entrySet()) {
+                        if (outcome.getValue().test(snapshot)) {
+                            EventLog.event(step, null, EventLog.Outcome.SUCCESS, TestClock.now() - started,
+                                "✅ Outcome " + outcome.getKey() + " after " + polls + " polls");
+                            return outcome.getKey();
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    if (RetryPolicy.isFatal(e)) {
+                        throw e;
+                    }
+                    // Hierarchy unavailable mid-transition - try again on the next poll
+                    EventLog.detail(step, "Poll " + polls + " failed: " + e.getMessage());
+                }
+
+                if (TestClock.now() >= deadline) {
+                    break;
+                }
+                try {
+                    Pause.poll(POLL_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            if (timeoutOutcome != null) {
+                EventLog.event(step, null, EventLog.Outcome.INFO, TestClock.now() - started,
+                    "ℹ️ No outcome within " + timeout.toMillis() + " ms - " + timeoutOutcome);
+                return timeoutOutcome;
+            }
+            List<K> expected = new ArrayList<>(outcomes.keySet());
+            throw new TimeoutException("None of " + expected + " happened within " + timeout.toMillis() + " ms");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.time.Duration;
+
+/**
+ * Deliberate pauses in page objects and tests.
+ * Every pause is traced so sleep time shows up on the test timeline, and is
+ * cut short to the remaining budget of the current {@link Deadline}.
+ * A pause interrupted by the {@link CrashWatchdog} fails with its crash.
+ * Pauses sleep on the {@link TestClock}, so unit tests can run them in virtual time.
+ */
+public final class Pause {
+    private static final ThreadLocal<long[]> POLLS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private Pause() {
+    }
+
+    /**
+     * Sleep for the given number of milliseconds
+     */
+    public static void millis(long millis) throws InterruptedException {
+        sleep(millis, "sleep", Profiler.Bucket.SLEEP);
+    }
+
+    /**
+     * Sleep between two polls of a wait loop (profiled as wait polling, not as a deliberate sleep)
+     */
+    public static void poll(long millis) throws InterruptedException {
+        polled();
+        sleep(millis, "poll", Profiler.Bucket.WAIT_POLLING);
+    }
+
+    /**
+     * Number of wait-loop polls the current thread has slept through; a read from before the
+     * latest one must not be reused, since the loop is waiting for the screen to change
+     */
+    public static long polls() {
+        return POLLS.get()[0];
+    }
+
+    static void polled() {
+        POLLS.get()[0]++;
+    }
+
+    private static void sleep(long millis, String name, Profiler.Bucket bucket) throws InterruptedException {
+        CrashWatchdog.throwIfCrashed();
+        long budgeted = Deadline.clamp(Duration.ofMillis(millis)).toMillis();
+        try (Tracer.Span span = Tracer.span(name, Tracer.CATEGORY_SLEEP).arg("ms", budgeted)) {
+            long started = Profiler.enter();
+            long clockStarted = TestClock.now();
+            try {
+                TestClock.get().sleep(budgeted);
+            } catch (InterruptedException e) {
+                // Interrupted by the crash watchdog - fail with the crash instead
+                CrashWatchdog.throwIfCrashed();
+                throw e;
+            } finally {
+                Deadline.spend(name, TestClock.now() - clockStarted);
+                Profiler.exit(bucket, started);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import org.openqa.selenium.Capabilities;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Performance regression gate for the flows timed by {@link FlowTimer}.
+ *
+ * Baselines (p95 in milliseconds) live in a versioned properties file, keyed by
+ * {@code <deviceModel>/<appVersion>/<flow>}, the model being the one the session reports.
+ * A flow fails the gate when the p95 of its samples in the run exceeds the baseline by more
+ * than the configured threshold. A flow is only judged once the run holds -DperfMinSamples
+ * samples of it (-DperfIterations repeats each test to get there), so one noisy iteration
+ * neither fails the run nor becomes a baseline.
+ * Run with -DupdatePerfBaselines=true to write the measured p95 values instead.
+ */
+public final class PerformanceGate {
+    private static final String HEADER =
+        "# Flow performance baselines: <deviceModel>/<appVersion>/<flow>=<p95 millis>\n"
+            + "# Regenerate with: ./gradlew test -DupdatePerfBaselines=true -DperfIterations=5\n";
+
+    // Sample count each flow was last judged at, so a class only re-judges flows with new samples
+    private static final Map<String, Integer> JUDGED = new HashMap<>();
+    private static volatile String deviceModel;
+
+    private PerformanceGate() {
+    }
+
+    /**
+     * Key baselines on the device model the session reports (Android "deviceModel"),
+     * falling back to the configured device name where the driver reports none
+     */
+    public static void useDevice(Capabilities capabilities) {
+        Object model = capabilities.getCapability("deviceModel");
+        if (model == null) {
+            model = capabilities.getCapability("appium:deviceModel");
+        }
+        deviceModel = model != null && !model.toString().isBlank() ? model.toString() : TestConfig.getDeviceName();
+    }
+
+    /**
+     * Check every flow with enough samples so far in the run against the stored baselines.
+     * Updates the baselines instead when configured to.
+     *
+     * @throws AssertionError listing every flow that regressed
+     */
+    public static synchronized void verify() {
+        Map<String, List<Long>> samples = FlowTimer.samples();
+        if (samples.isEmpty() || !TestConfig.PERF_GATE_ENABLED) {
+            return;
+        }
+
+        Path file = Paths.get(TestConfig.PERF_BASELINE_FILE);
+        Map<String, Long> baselines = load(file);
+        List<String> regressions = new ArrayList<>();
+
+        System.out.println("\n📈 === FLOW PERFORMANCE ===");
+        boolean updated = false;
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            String key = key(entry.getKey());
+            int count = entry.getValue().size();
+            if (count < TestConfig.PERF_MIN_SAMPLES) {
+                System.out.println("   " + key + ": " + count + " of " + TestConfig.PERF_MIN_SAMPLES
+                    + " samples - not judged yet");
+                continue;
+            }
+            if (JUDGED.getOrDefault(key, 0) == count) {
+                continue;
+            }
+            JUDGED.put(key, count);
+            long p95 = percentile(entry.getValue(), 0.95);
+            Long baseline = baselines.get(key);
+
+            if (TestConfig.UPDATE_PERF_BASELINES) {
+                baselines.put(key, p95);
+                updated = true;
+                System.out.println("   " + key + ": p95 " + p95 + " ms over " + count + " samples (baseline updated)");
+            } else if (baseline == null) {
+                System.out.println("   " + key + ": p95 " + p95 + " ms (no baseline)");
+            } else {
+                long limit = Math.round(baseline * (1 + TestConfig.PERF_REGRESSION_THRESHOLD));
+                boolean regressed = p95 > limit;
+                System.out.println("   " + key + ": p95 " + p95 + " ms vs baseline " + baseline
+                    + " ms (limit " + limit + " ms)" + (regressed ? " ❌ REGRESSED" : " ✅"));
+                if (regressed) {
+                    regressions.add(key + " p95 " + p95 + " ms > " + limit + " ms (baseline " + baseline + " ms, "
+                        + count + " samples)");
+                }
+            }
+        }
+
+        if (updated) {
+            save(file, baselines);
+        }
+        if (!regressions.isEmpty()) {
+            throw new AssertionError("Flow performance regressed:\n  " + String.join("\n  ", regressions));
+        }
+    }
+
+    /**
+     * Nearest-rank percentile of the samples
+     */
+    public static long percentile(List<Long> samples, double percentile) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static String key(String flow) {
+        String device = deviceModel != null ? deviceModel : TestConfig.getDeviceName();
+        return sanitize(device) + "/" + sanitize(TestConfig.APP_VERSION) + "/" + flow;
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static synchronized Map<String, Long> load(Path file) {
+        Map<String, Long> baselines = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return baselines;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not read performance baselines " + file + ": " + e.getMessage());
+        }
+        for (String name : properties.stringPropertyNames()) {
+            try {
+                baselines.put(name, Long.parseLong(properties.getProperty(name).trim()));
+            } catch (NumberFormatException e) {
+                // A hand-edited line must not break every class's gate - that flow starts over
+                System.out.println("⚠️ Ignoring invalid performance baseline " + name + "=" + properties.getProperty(name));
+            }
+        }
+        return baselines;
+    }
+
+    private static synchronized void save(Path file, Map<String, Long> baselines) {
+        // Merge with what is on disk so concurrent classes don't drop each other's flows
+        Map<String, Long> merged = load(file);
+        merged.putAll(baselines);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            for (Map.Entry<String, Long> entry : merged.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+            System.out.println("💾 Performance baselines written to " + file);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write performance baselines " + file + ": " + e.getMessage());
+        }
+    }
+}
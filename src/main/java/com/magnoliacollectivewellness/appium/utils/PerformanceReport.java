@@ -0,0 +1,230 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a single self-contained HTML performance report from the per-test trace files.
+ *
+ * For each test it draws a flame graph (identical call paths merged) of page methods,
+ * strategies, commands and sleeps, and totals sleep versus remote command time. The run
+ * summary lists the slowest locators. Trace files are streamed one at a time and each
+ * test's section is written as soon as it is done, so memory stays bounded by one test.
+ *
+ * Run with {@code ./gradlew performanceReport} after a test run.
+ */
+public final class PerformanceReport {
+    private static final int SLOWEST_LOCATORS = 25;
+    private static final double MIN_FLAME_SHARE = 0.002;
+
+    private final Map<String, LocatorStats> locators = new HashMap<>();
+    private long totalSleepMicros;
+    private long totalCommandMicros;
+    private long totalTestMicros;
+    private int tests;
+
+    private PerformanceReport() {
+    }
+
+    /**
+     * Generate the report: {@code PerformanceReport [traceDir] [output.html]}
+     */
+    public static void main(String[] args) throws IOException {
+        Path traceDir = Paths.get(args.length > 0 ? args[0] : TestConfig.TRACE_DIR);
+        Path output = Paths.get(args.length > 1 ? args[1] : "build/reports/performance/index.html");
+        new PerformanceReport().generate(traceDir, output);
+        System.out.println("📊 Performance report written to " + output.toAbsolutePath());
+    }
+
+    private void generate(Path traceDir, Path output) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(traceDir)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(traceDir, "*.json")) {
+                for (Path file : stream) {
+                    // run.json repeats every test; the per-test files are enough
+                    if (!file.getFileName().toString().equals("run.json")) {
+                        files.add(file);
+                    }
+                }
+            }
+        }
+        files.sort(Comparator.comparing(Path::toString));
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            out.write(HEAD);
+            for (Path file : files) {
+                writeTest(out, file);
+            }
+            writeSummary(out);
+            out.write("</main></body></html>\n");
+        }
+    }
+
+    private void writeTest(Writer out, Path file) throws IOException {
+        List<TraceReader.Event> events = new ArrayList<>();
+        TraceReader.read(file, events::add);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        // Parents first: earlier start, then longer duration
+        events.sort(Comparator.comparingLong((TraceReader.Event e) -> e.ts).thenComparing(e -> -e.dur));
+        Node root = new Node("all", "test");
+        List<Node> stack = new ArrayList<>();
+        List<Long> ends = new ArrayList<>();
+        long sleep = 0;
+        long commands = 0;
+        for (TraceReader.Event event : events) {
+            while (!ends.isEmpty() && ends.get(ends.size() - 1) <= event.ts) {
+                ends.remove(ends.size() - 1);
+                stack.remove(stack.size() - 1);
+            }
+            Node parent = stack.isEmpty() ? root : stack.get(stack.size() - 1);
+            Node node = parent.child(event.name, event.category);
+            node.micros += event.dur;
+            node.calls++;
+            stack.add(node);
+            ends.add(event.end());
+
+            if (Tracer.CATEGORY_SLEEP.equals(event.category)) {
+                sleep += event.dur;
+            } else if (Tracer.CATEGORY_COMMAND.equals(event.category)) {
+                commands += event.dur;
+                String using = event.args.get("using");
+                if (using != null) {
+                    locators.computeIfAbsent(using + ": " + event.args.get("value"), LocatorStats::new).add(event.dur);
+                }
+            }
+        }
+        for (Node top : root.children.values()) {
+            root.micros += top.micros;
+        }
+        totalSleepMicros += sleep;
+        totalCommandMicros += commands;
+        totalTestMicros += root.micros;
+        tests++;
+
+        String test = file.getFileName().toString().replaceFirst("\\.json$", "");
+        out.write("<section><h2>" + escape(test) + "</h2>\n");
+        out.write("<p>" + millis(root.micros) + " total · 💤 sleep " + millis(sleep) + " (" + percent(sleep, root.micros)
+            + ") · 📡 remote commands " + millis(commands) + " (" + percent(commands, root.micros) + ")</p>\n");
+        out.write("<div class=\"flame c\">");
+        for (Node top : root.children.values()) {
+            writeNode(out, top, root.micros, root.micros);
+        }
+        out.write("</div></section>\n");
+    }
+
+    private void writeNode(Writer out, Node node, long parentMicros, long testMicros) throws IOException {
+        if (node.micros < testMicros * MIN_FLAME_SHARE) {
+            return;
+        }
+        double width = parentMicros == 0 ? 100 : 100.0 * node.micros / parentMicros;
+        out.write("<div class=\"n\" style=\"width:" + String.format("%.3f", Math.min(100, width)) + "%\">");
+        out.write("<div class=\"l " + escape(node.category) + "\" title=\"" + escape(node.name) + " — "
+            + millis(node.micros) + ", " + node.calls + " call(s)\">" + escape(node.name) + "</div>");
+        if (!node.children.isEmpty()) {
+            out.write("<div class=\"c\">");
+            for (Node child : node.children.values()) {
+                writeNode(out, child, node.micros, testMicros);
+            }
+            out.write("</div>");
+        }
+        out.write("</div>");
+    }
+
+    private void writeSummary(Writer out) throws IOException {
+        out.write("<section class=\"summary\"><h2>Run summary</h2>\n");
+        out.write("<p>" + tests + " test(s), " + millis(totalTestMicros) + " traced · 💤 sleep " + millis(totalSleepMicros)
+            + " (" + percent(totalSleepMicros, totalTestMicros) + ") · 📡 remote commands " + millis(totalCommandMicros)
+            + " (" + percent(totalCommandMicros, totalTestMicros) + ")</p>\n");
+
+        List<LocatorStats> slowest = new ArrayList<>(locators.values());
+        slowest.sort(Comparator.comparingLong((LocatorStats s) -> -s.totalMicros));
+        out.write("<h3>Slowest locators</h3><table><tr><th>Locator</th><th>Lookups</th><th>Total</th><th>Mean</th><th>Max</th></tr>\n");
+        for (LocatorStats stats : slowest.subList(0, Math.min(SLOWEST_LOCATORS, slowest.size()))) {
+            out.write("<tr><td><code>" + escape(stats.locator) + "</code></td><td>" + stats.count + "</td><td>"
+                + millis(stats.totalMicros) + "</td><td>" + millis(stats.totalMicros / stats.count) + "</td><td>"
+                + millis(stats.maxMicros) + "</td></tr>\n");
+        }
+        out.write("</table></section>\n");
+    }
+
+    private static String millis(long micros) {
+        return micros >= 10_000_000 ? String.format("%.1f s", micros / 1_000_000.0) : (micros / 1000) + " ms";
+    }
+
+    private static String percent(long part, long whole) {
+        return whole == 0 ? "0%" : Math.round(100.0 * part / whole) + "%";
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * One call path in the flame graph; identical paths are merged
+     */
+    private static final class Node {
+        final String name;
+        final String category;
+        final Map<String, Node> children = new LinkedHashMap<>();
+        long micros;
+        int calls;
+
+        Node(String name, String category) {
+            this.name = name;
+            this.category = category;
+        }
+
+        Node child(String name, String category) {
+            return children.computeIfAbsent(name, n -> new Node(n, category));
+        }
+    }
+
+    private static final class LocatorStats {
+        final String locator;
+        long count;
+        long totalMicros;
+        long maxMicros;
+
+        LocatorStats(String locator) {
+            this.locator = locator;
+        }
+
+        void add(long micros) {
+            count++;
+            totalMicros += micros;
+            maxMicros = Math.max(maxMicros, micros);
+        }
+    }
+
+    private static final String HEAD = "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Performance report</title><style>\n"
+        + "body{font-family:-apple-system,Segoe UI,Helvetica,Arial,sans-serif;margin:24px;color:#222}\n"
+        + "main{display:flex;flex-direction:column}.summary{order:-1}\n"
+        + "section{margin-bottom:28px}h2{font-size:18px;margin:0 0 4px}p{margin:4px 0 10px;color:#555}\n"
+        + ".flame{width:100%;font-size:11px}.n{display:inline-block;vertical-align:top;overflow:hidden}\n"
+        + ".c{display:flex;width:100%}.l{height:18px;line-height:18px;padding:0 3px;margin:0 1px 1px 0;white-space:nowrap;"
+        + "overflow:hidden;text-overflow:ellipsis;border-radius:2px;background:#ddd}\n"
+        + ".test{background:#b0bec5}.page{background:#ffb74d}.strategy{background:#fff176}.command{background:#64b5f6}"
+        + ".sleep{background:#e57373}\n"
+        + "table{border-collapse:collapse;font-size:12px}td,th{border:1px solid #ddd;padding:3px 8px;text-align:left}"
+        + "td:nth-child(n+2){text-align:right}code{word-break:break-all}\n"
+        + "</style></head><body><h1>🌸 Magnolia test performance</h1>\n"
+        + "<p>Bars: <span class=\"l page\">page method</span> <span class=\"l strategy\">strategy</span> "
+        + "<span class=\"l command\">command</span> <span class=\"l sleep\">sleep</span> — hover for times.</p><main>\n";
+}
@@ -0,0 +1,316 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits each test's wall-clock time into where it went:
+ * <ul>
+ *   <li>deliberate sleeps ({@link Pause#millis})</li>
+ *   <li>explicit-wait polling (WebDriverWait / OutcomeWait / LocatorResolver intervals)</li>
+ *   <li>HTTP round trips of remote commands, minus</li>
+ *   <li>Appium server processing, from the server's {@code eventTimings} where available</li>
+ *   <li>client CPU burned by the test thread between those</li>
+ * </ul>
+ * Time is charged to the innermost page method open at the time. The breakdown is
+ * printed at the end of each test and written to {@code build/profiles/<test>.txt}.
+ */
+public final class Profiler {
+
+    /**
+     * Where a slice of wall-clock time went
+     */
+    public enum Bucket {
+        SLEEP("💤 sleep"),
+        WAIT_POLLING("⏳ wait polling"),
+        NETWORK("📡 HTTP / network"),
+        SERVER("🖥️ Appium server"),
+        CLIENT_CPU("⚙️ client CPU"),
+        UNATTRIBUTED("❔ unattributed");
+
+        private final String label;
+
+        Bucket(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final String NO_PAGE = "(test)";
+    private static final Path PROFILE_DIR = Paths.get(TestConfig.PROFILE_DIR);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+    private static final ThreadLocal<TestProfile> PROFILE = new ThreadLocal<>();
+    private static final Sleeper POLLING_SLEEPER = duration -> {
+        Pause.polled();
+        long started = enter();
+        try {
+            TestClock.get().sleep(duration.toMillis());
+        } finally {
+            exit(Bucket.WAIT_POLLING, started);
+        }
+    };
+
+    private Profiler() {
+    }
+
+    /**
+     * Start profiling a test on the current thread
+     */
+    public static void beginTest(String testName) {
+        if (TestConfig.PROFILER_ENABLED) {
+            PROFILE.set(new TestProfile(testName));
+        }
+    }
+
+    /**
+     * Sleeper for explicit waits, so their polling intervals are attributed as such
+     */
+    public static Sleeper pollingSleeper() {
+        return POLLING_SLEEPER;
+    }
+
+    /**
+     * Start of a blocking region (sleep, poll, remote command); returns its start time
+     */
+    public static long enter() {
+        TestProfile profile = PROFILE.get();
+        long now = System.nanoTime();
+        if (profile != null && profile.depth++ == 0) {
+            profile.chargeCpu(currentPage());
+        }
+        return now;
+    }
+
+    /**
+     * End of a blocking region started with {@link #enter()}
+     */
+    public static void exit(Bucket bucket, long startNanos) {
+        TestProfile profile = PROFILE.get();
+        if (profile != null && --profile.depth == 0) {
+            profile.charge(currentPage(), bucket, System.nanoTime() - startNanos);
+            profile.resetCpu();
+        }
+    }
+
+    /**
+     * End of a remote command; its time counts as HTTP until server timings split it
+     *
+     * @param serverIndex position of the command among all commands the session sent to the server,
+     *                    background ones included - the server's timings are listed in that order
+     */
+    public static void command(String name, int serverIndex, long startNanos) {
+        TestProfile profile = PROFILE.get();
+        if (profile != null && profile.depth == 1 && !profile.collecting) {
+            profile.commands.add(new RemoteCall(name, serverIndex, currentPage(), System.nanoTime() - startNanos));
+        }
+        exit(Bucket.NETWORK, startNanos);
+    }
+
+    /**
+     * Fetch the server's per-command timings (needs the eventTimings capability) before the session ends
+     */
+    public static void collectServerTimings(AppiumDriver driver) {
+        TestProfile profile = PROFILE.get();
+        if (profile == null || driver == null) {
+            return;
+        }
+        profile.collecting = true;
+        try {
+            Response response = driver.execute("getLogEvents", Collections.emptyMap());
+            Object value = response.getValue();
+            if (value instanceof Map && ((Map<?, ?>) value).get("commands") instanceof List) {
+                profile.serverCommands = (List<?>) ((Map<?, ?>) value).get("commands");
+            }
+        } catch (RuntimeException e) {
+            EventLog.detail("Profiler.collectServerTimings", "Server timings unavailable: " + e.getMessage());
+        } finally {
+            profile.collecting = false;
+        }
+    }
+
+    /**
+     * Finish the current test's profile: split HTTP time using server timings, print and write the breakdown
+     */
+    public static void endTest() {
+        TestProfile profile = PROFILE.get();
+        if (profile == null) {
+            return;
+        }
+        PROFILE.remove();
+        profile.chargeCpu(currentPage());
+        boolean serverTimed = profile.splitServerTime();
+        String report = profile.format(serverTimed);
+        System.out.println(report);
+        Path file = PROFILE_DIR.resolve(profile.test.replaceAll("[^A-Za-z0-9._-]", "_") + ".txt");
+        try {
+            Files.createDirectories(PROFILE_DIR);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(report);
+            }
+        } catch (IOException e) {
+            EventLog.warn("Profiler.endTest", "⚠️ Could not write profile " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String currentPage() {
+        String page = Tracer.currentPage();
+        return page != null ? page : NO_PAGE;
+    }
+
+    private static long cpuNow() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * One remote command as seen by the client
+     */
+    private static final class RemoteCall {
+        final String name;
+        final int serverIndex;
+        final String page;
+        final long nanos;
+
+        RemoteCall(String name, int serverIndex, String page, long nanos) {
+            this.name = name;
+            this.serverIndex = serverIndex;
+            this.page = page;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * Bucket totals of one test, per page method
+     */
+    private static final class TestProfile {
+        final String test;
+        final long startNanos = System.nanoTime();
+        final Map<String, long[]> pages = new LinkedHashMap<>();
+        final List<RemoteCall> commands = new ArrayList<>();
+        List<?> serverCommands;
+        long cpuMark = cpuNow();
+        int depth;
+        boolean collecting;
+
+        TestProfile(String test) {
+            this.test = test;
+        }
+
+        void charge(String page, Bucket bucket, long nanos) {
+            pages.computeIfAbsent(page, p -> new long[Bucket.values().length])[bucket.ordinal()] += nanos;
+        }
+
+        void chargeCpu(String page) {
+            long now = cpuNow();
+            if (now > cpuMark) {
+                charge(page, Bucket.CLIENT_CPU, now - cpuMark);
+            }
+            cpuMark = now;
+        }
+
+        void resetCpu() {
+            cpuMark = cpuNow();
+        }
+
+        /**
+         * Match server command timings to client commands by their position in the session's
+         * traffic and move that time from HTTP to server. Commands of background threads (crash
+         * watchdog, device log) hold positions too, so they are skipped rather than shifting the rest.
+         */
+        boolean splitServerTime() {
+            if (serverCommands == null || serverCommands.isEmpty()) {
+                return false;
+            }
+            for (RemoteCall command : commands) {
+                if (command.serverIndex < 0 || command.serverIndex >= serverCommands.size()) {
+                    continue;
+                }
+                Object entry = serverCommands.get(command.serverIndex);
+                if (!(entry instanceof Map)) {
+                    continue;
+                }
+                Object start = ((Map<?, ?>) entry).get("startTime");
+                Object end = ((Map<?, ?>) entry).get("endTime");
+                if (!(start instanceof Number) || !(end instanceof Number)) {
+                    continue;
+                }
+                long server = Math.min(command.nanos, (((Number) end).longValue() - ((Number) start).longValue()) * 1_000_000);
+                long[] buckets = pages.get(command.page);
+                if (buckets != null && server > 0) {
+                    buckets[Bucket.NETWORK.ordinal()] -= server;
+                    buckets[Bucket.SERVER.ordinal()] += server;
+                }
+            }
+            return true;
+        }
+
+        String format(boolean serverTimed) {
+            long wall = System.nanoTime() - startNanos;
+            long[] totals = new long[Bucket.values().length];
+            for (long[] buckets : pages.values()) {
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += buckets[i];
+                }
+            }
+            long attributed = 0;
+            for (long total : totals) {
+                attributed += total;
+            }
+            totals[Bucket.UNATTRIBUTED.ordinal()] = Math.max(0, wall - attributed);
+
+            StringBuilder out = new StringBuilder();
+            out.append("\n🔬 === WALL-CLOCK PROFILE: ").append(test).append(" (").append(wall / 1_000_000).append(" ms) ===\n");
+            for (Bucket bucket : Bucket.values()) {
+                out.append(String.format("   %-22s %8d ms  %5.1f%%%n", bucket.label, totals[bucket.ordinal()] / 1_000_000,
+                    wall == 0 ? 0 : 100.0 * totals[bucket.ordinal()] / wall));
+            }
+            if (!serverTimed) {
+                out.append("   (no server timings - Appium server time is included in HTTP)\n");
+            }
+
+            out.append("\n   Per page method (ms):\n");
+            out.append(String.format("   %-48s", "page method"));
+            for (Bucket bucket : Bucket.values()) {
+                if (bucket != Bucket.UNATTRIBUTED) {
+                    out.append(String.format(" %10s", bucket.name().toLowerCase()));
+                }
+            }
+            out.append('\n');
+            List<Map.Entry<String, long[]>> rows = new ArrayList<>(pages.entrySet());
+            rows.sort((a, b) -> Long.compare(sum(b.getValue()), sum(a.getValue())));
+            for (Map.Entry<String, long[]> row : rows) {
+                out.append(String.format("   %-48s", row.getKey()));
+                for (Bucket bucket : Bucket.values()) {
+                    if (bucket != Bucket.UNATTRIBUTED) {
+                        out.append(String.format(" %10d", row.getValue()[bucket.ordinal()] / 1_000_000));
+                    }
+                }
+                out.append('\n');
+            }
+            return out.toString();
+        }
+
+        private static long sum(long[] values) {
+            long sum = 0;
+            for (long value : values) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+}
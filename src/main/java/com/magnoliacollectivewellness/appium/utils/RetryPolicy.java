@@ -0,0 +1,312 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Declarative retry of one UI operation.
+ *
+ * A failure is retried only if it is classified as transient (by default: stale element,
+ * click intercepted, element not interactable, element not found yet). Anything else fails
+ * at once - an invalid selector or a dead session will not get better by waiting, and a
+ * {@link AppCrashedError} or spent {@link Deadline.Exceeded} budget is an Error and is never caught. Waits that already timed out are
+ * not retried either, since they have spent their own patience.
+ *
+ * Between attempts the policy backs off exponentially with jitter and runs the recovery hooks
+ * registered for the failure (re-resolving happens naturally when the operation looks its
+ * element up itself; dismissing the keyboard is a typical hook). It stops after maxAttempts or
+ * when maxTime (cut to the current {@link Deadline}) would be exceeded, rethrowing the last
+ * failure with the earlier ones attached as suppressed.
+ *
+ * Retries and the time lost to them (failed attempts plus backoff) are recorded as the pseudo
+ * command "retry" of the operation in the {@link MetricsStore}, annotated on the enclosing span,
+ * and summed per operation at the end of the run.
+ *
+ * <pre>
+ *   RetryPolicy.named("LoginPage.tapLoginButton")
+ *       .onRetry(ElementClickInterceptedException.class, failure -&gt; hideKeyboard())
+ *       .run(() -&gt; getLoginButton().click());
+ * </pre>
+ */
+public final class RetryPolicy {
+    private static final List<Class<? extends RuntimeException>> TRANSIENT = List.of(
+        StaleElementReferenceException.class,
+        ElementClickInterceptedException.class,
+        ElementNotInteractableException.class,
+        NoSuchElementException.class);
+    // Checked before TRANSIENT: InvalidSelectorException is a NoSuchElementException
+    private static final List<Class<? extends RuntimeException>> FATAL = List.of(
+        InvalidSelectorException.class,
+        NoSuchSessionException.class,
+        SessionNotCreatedException.class);
+    private static final Map<String, Stats> STATS = new TreeMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(RetryPolicy::printSummary, "retry-summary"));
+    }
+
+    /**
+     * Repairs the screen before the next attempt
+     */
+    @FunctionalInterface
+    public interface Recovery {
+        void recover(RuntimeException failure);
+    }
+
+    private final String name;
+    private final List<Class<? extends RuntimeException>> retryOn = new ArrayList<>(TRANSIENT);
+    private final List<Class<? extends RuntimeException>> failFastOn = new ArrayList<>(FATAL);
+    private final List<Class<? extends RuntimeException>> recoveryTypes = new ArrayList<>();
+    private final List<Recovery> recoveries = new ArrayList<>();
+    private int maxAttempts = TestConfig.RETRY_MAX_ATTEMPTS;
+    private long maxTimeMillis = TestConfig.RETRY_MAX_TIME_MILLIS;
+    private long initialBackoffMillis = TestConfig.RETRY_BACKOFF_MILLIS;
+    private double multiplier = 2.0;
+    private long maxBackoffMillis = TestConfig.RETRY_MAX_BACKOFF_MILLIS;
+
+    private RetryPolicy(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Policy with the configured defaults for the named operation (e.g. "LoginPage.tapLoginButton")
+     */
+    public static RetryPolicy named(String name) {
+        return new RetryPolicy(name);
+    }
+
+    /**
+     * Whether a failure can never go away by trying again (invalid selector, dead session)
+     */
+    public static boolean isFatal(RuntimeException failure) {
+        for (Class<? extends RuntimeException> type : FATAL) {
+            if (type.isInstance(failure)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Attempts in total, including the first
+     */
+    public RetryPolicy maxAttempts(int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        return this;
+    }
+
+    /**
+     * Time the operation may take across all attempts
+     */
+    public RetryPolicy maxTime(Duration maxTime) {
+        this.maxTimeMillis = maxTime.toMillis();
+        return this;
+    }
+
+    /**
+     * Backoff before the first retry, grown by the multiplier up to the cap (each with jitter)
+     */
+    public RetryPolicy backoff(Duration initial, double multiplier, Duration max) {
+        this.initialBackoffMillis = initial.toMillis();
+        this.multiplier = multiplier;
+        this.maxBackoffMillis = max.toMillis();
+        return this;
+    }
+
+    /**
+     * Also treat these failures as transient
+     */
+    @SafeVarargs
+    public final RetryPolicy retryOn(Class<? extends RuntimeException>... types) {
+        // Copied one by one: handing the generic array on would make the varargs unsafe
+        for (Class<? extends RuntimeException> type : types) {
+            retryOn.add(type);
+        }
+        return this;
+    }
+
+    /**
+     * Never retry these failures (wins over {@link #retryOn})
+     */
+    @SafeVarargs
+    public final RetryPolicy failFastOn(Class<? extends RuntimeException>... types) {
+        for (Class<? extends RuntimeException> type : types) {
+            failFastOn.add(type);
+        }
+        return this;
+    }
+
+    /**
+     * Run the hook before retrying after a failure of the given type
+     */
+    public RetryPolicy onRetry(Class<? extends RuntimeException> type, Recovery recovery) {
+        recoveryTypes.add(type);
+        recoveries.add(recovery);
+        return this;
+    }
+
+    /**
+     * Run the hook before every retry
+     */
+    public RetryPolicy onRetry(Recovery recovery) {
+        return onRetry(RuntimeException.class, recovery);
+    }
+
+    /**
+     * Run the operation until it succeeds or the policy gives up
+     */
+    public void run(Runnable operation) {
+        call(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run the operation until it succeeds or the policy gives up, and return its result
+     */
+    public <T> T call(Supplier<T> operation) {
+        long started = TestClock.now();
+        long limit = started + Deadline.clamp(Duration.ofMillis(maxTimeMillis)).toNanos();
+        long backoff = initialBackoffMillis;
+        long failedNanos = 0;
+        List<RuntimeException> failures = new ArrayList<>();
+        for (int attempt = 1; ; attempt++) {
+            long attemptStarted = TestClock.now();
+            try {
+                T result = operation.get();
+                if (attempt > 1) {
+                    retried(attempt - 1, failedNanos, true);
+                }
+                return result;
+            } catch (RuntimeException e) {
+                failedNanos += TestClock.now() - attemptStarted;
+                long delay = jitter(backoff);
+                String reason = e.getClass().getSimpleName();
+                if (!isTransient(e) || attempt >= maxAttempts
+                    || TestClock.now() + delay * 1_000_000 >= limit) {
+                    if (attempt > 1 || isTransient(e)) {
+                        EventLog.warn(name, "⚠️ Giving up after " + attempt + " attempt(s) in "
+                            + (TestClock.now() - started) / 1_000_000 + " ms: " + reason);
+                        retried(attempt - 1, failedNanos, false);
+                    }
+                    for (RuntimeException earlier : failures) {
+                        e.addSuppressed(earlier);
+                    }
+                    throw e;
+                }
+                failures.add(e);
+                EventLog.detail(name, "🔁 Attempt " + attempt + "/" + maxAttempts + " failed (" + reason
+                    + "), retrying in " + delay + " ms");
+                long recovering = TestClock.now();
+                try {
+                    Pause.poll(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                recover(e);
+                failedNanos += TestClock.now() - recovering;
+                backoff = Math.min(maxBackoffMillis, Math.round(backoff * multiplier));
+            }
+        }
+    }
+
+    private boolean isTransient(RuntimeException failure) {
+        for (Class<? extends RuntimeException> type : failFastOn) {
+            if (type.isInstance(failure)) {
+                return false;
+            }
+        }
+        for (Class<? extends RuntimeException> type : retryOn) {
+            if (type.isInstance(failure)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void recover(RuntimeException failure) {
+        for (int i = 0; i < recoveries.size(); i++) {
+            if (recoveryTypes.get(i).isInstance(failure)) {
+                try {
+                    recoveries.get(i).recover(failure);
+                } catch (RuntimeException e) {
+                    EventLog.detail(name, "Recovery failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Equal jitter: half the backoff is fixed, the other half random, so retries from
+     * parallel sessions do not line up
+     */
+    private static long jitter(long backoff) {
+        long half = backoff / 2;
+        return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+    }
+
+    private void retried(int retries, long retriedNanos, boolean recovered) {
+        Tracer.annotate("retries", retries);
+        Tracer.annotate("retriedMs", retriedNanos / 1_000_000);
+        String test = Tracer.currentTest();
+        if (test != null && retries > 0) {
+            MetricsStore.record(test, name, "retry", retriedNanos);
+        }
+        synchronized (STATS) {
+            STATS.computeIfAbsent(name, key -> new Stats()).add(retries, retriedNanos, recovered);
+        }
+    }
+
+    private static void printSummary() {
+        synchronized (STATS) {
+            if (STATS.isEmpty()) {
+                return;
+            }
+            long retries = 0;
+            long millis = 0;
+            StringBuilder perOperation = new StringBuilder();
+            for (Map.Entry<String, Stats> entry : STATS.entrySet()) {
+                Stats stats = entry.getValue();
+                retries += stats.retries;
+                millis += stats.retriedNanos / 1_000_000;
+                perOperation.append("\n   ").append(entry.getKey()).append(": ").append(stats.retries)
+                    .append(" retries, ").append(stats.retriedNanos / 1_000_000).append(" ms, ")
+                    .append(stats.recovered).append(" recovered, ").append(stats.exhausted).append(" gave up");
+            }
+            System.out.println("🔁 Retries: " + retries + " retries costing " + millis + " ms" + perOperation);
+        }
+    }
+
+    private static final class Stats {
+        long retries;
+        long retriedNanos;
+        long recovered;
+        long exhausted;
+
+        void add(int retries, long retriedNanos, boolean recovered) {
+            this.retries += retries;
+            this.retriedNanos += retriedNanos;
+            if (recovered) {
+                this.recovered++;
+            } else {
+                this.exhausted++;
+            }
+        }
+    }
+}
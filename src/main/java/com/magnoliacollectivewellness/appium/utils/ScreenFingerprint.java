@@ -0,0 +1,73 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import io.appium.java_client.AppiumDriver;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Screen fingerprinting helpers.
+ * A fingerprint identifies "which screen" is showing, independent of
+ * volatile state such as selection, focus or exact bounds.
+ */
+public final class ScreenFingerprint {
+    private static final Pattern NODE = Pattern.compile("<([A-Za-z][\\w.$]*)([^>]*)>");
+    private static final Pattern TEXT = Pattern.compile("\\s(?:text|content-desc|name|label)=\"([^\"]*)\"");
+
+    private ScreenFingerprint() {
+    }
+
+    /**
+     * Fingerprint the screen currently displayed by the driver
+     */
+    public static String capture(AppiumDriver driver) {
+        String pageSource = driver.getPageSource();
+        HierarchyArchive.store(pageSource);
+        return of(pageSource);
+    }
+
+    /**
+     * Fingerprint a page source: hash of element classes and their visible texts, in document order
+     */
+    public static String of(String pageSource) {
+        return hash(normalize(pageSource));
+    }
+
+    /**
+     * Reduce a page source to its stable structure: one line per element with class and texts
+     */
+    public static String normalize(String pageSource) {
+        StringBuilder normalized = new StringBuilder(pageSource.length() / 4);
+        Matcher node = NODE.matcher(pageSource);
+        while (node.find()) {
+            normalized.append(node.group(1));
+            Matcher text = TEXT.matcher(node.group(2));
+            while (text.find()) {
+                if (!text.group(1).isEmpty()) {
+                    normalized.append('|').append(text.group(1));
+                }
+            }
+            normalized.append('\n');
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Short hex SHA-1 of the given text
+     */
+    public static String hash(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import io.appium.java_client.AppiumDriver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Waits until the screen has settled after an action, instead of sleeping a guessed time.
+ *
+ * The screen is reduced to a cheap structural hash: class, texts and state (enabled, checked,
+ * selected, focused) of every displayed element. Bounds are left out, so an animation that
+ * only moves things along does not keep the screen "unsettled". After the action the hash is
+ * polled until it
+ * <ul>
+ *   <li>differs from the pre-action hash and then stays the same for K polls ({@link Result#SETTLED}), or</li>
+ *   <li>keeps the pre-action value for K polls and twice the step's usual transition time
+ *       ({@link Result#UNCHANGED}: the action had no visible effect).</li>
+ * </ul>
+ *
+ * The usual transition time (until the first change) is learned per step; the former fixed
+ * sleep only seeds it. Polls are a quarter of it apart (50-500 ms). A poll that can never
+ * succeed ({@link RetryPolicy#isFatal}, e.g. a dead session) is thrown at once. With
+ * -DscreenStability=false the fixed sleep is used instead.
+ *
+ * <pre>
+ *   ScreenStability.Probe settle = ScreenStability.before(driver);
+ *   continueButton.click();
+ *   settle.await("OnboardingPage.continue", Duration.ofMillis(1500));
+ * </pre>
+ */
+public final class ScreenStability {
+    private static final Pattern NODE = Pattern.compile("<([A-Za-z][\\w.$]*)([^>]*)>");
+    private static final Pattern STATE =
+        Pattern.compile("\\s(?:text|content-desc|name|label|value|enabled|checked|selected|focused)=\"([^\"]*)\"");
+    private static final Pattern HIDDEN = Pattern.compile("\\s(?:displayed|visible)=\"false\"");
+    private static final long MIN_POLL_MILLIS = 50;
+    private static final long MAX_POLL_MILLIS = 500;
+    // Give up on a still-changing screen after this many times the expected transition (at least 2 s)
+    private static final int TIMEOUT_FACTOR = 4;
+    private static final long MIN_TIMEOUT_MILLIS = 2000;
+    private static final double LEARNING_WEIGHT = 0.3;
+    private static final Map<String, Double> TRANSITION_MILLIS = new ConcurrentHashMap<>();
+
+    private ScreenStability() {
+    }
+
+    /**
+     * How an {@link Probe#await} or {@link #awaitSettled} ended
+     */
+    public enum Result {
+        /** The screen changed (or, without a pre-action hash, held still) and is stable now */
+        SETTLED,
+        /** The screen still shows what it showed before the action */
+        UNCHANGED,
+        /** The screen was still changing when the time ran out */
+        TIMED_OUT,
+        /** Detection is off - slept the fixed time */
+        SLEPT
+    }
+
+    /**
+     * Remember the screen before an action (one hierarchy fetch; none when detection is off)
+     */
+    public static Probe before(AppiumDriver driver) {
+        return new Probe(driver, TestConfig.SCREEN_STABILITY ? hash(driver) : 0);
+    }
+
+    /**
+     * Wait until the screen holds still for K polls, with no action to compare against
+     *
+     * @param step     name the transition time is learned under, e.g. "OnboardingPage.load"
+     * @param expected former fixed sleep: used when detection is off and as the first estimate
+     */
+    public static Result awaitSettled(AppiumDriver driver, String step, Duration expected) throws InterruptedException {
+        return await(driver, step, false, 0, expected);
+    }
+
+    /**
+     * Structural hash of the current screen
+     */
+    public static long hash(AppiumDriver driver) {
+        String pageSource = driver.getPageSource();
+        CrashWatchdog.inspect(pageSource);
+        return hash(pageSource);
+    }
+
+    /**
+     * Structural hash of a page source: FNV-1a over class, texts and state of each displayed element
+     */
+    public static long hash(String pageSource) {
+        long hash = 0xcbf29ce484222325L;
+        Matcher node = NODE.matcher(pageSource);
+        while (node.find()) {
+            String attributes = node.group(2);
+            if (HIDDEN.matcher(attributes).find()) {
+                continue;
+            }
+            hash = mix(hash, node.group(1));
+            Matcher state = STATE.matcher(attributes);
+            while (state.find()) {
+                hash = mix(hash, state.group(1));
+            }
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        // Field separator, so "ab"+"c" and "a"+"bc" differ
+        return (hash ^ 0x1f) * 0x100000001b3L;
+    }
+
+    private static Result await(AppiumDriver driver, String step, boolean hasBefore, long before, Duration expected)
+        throws InterruptedException {
+        if (!TestConfig.SCREEN_STABILITY) {
+            Pause.millis(expected.toMillis());
+            return Result.SLEPT;
+        }
+        double transition = TRANSITION_MILLIS.getOrDefault(step, (double) expected.toMillis());
+        long interval = Math.max(MIN_POLL_MILLIS, Math.min(MAX_POLL_MILLIS, Math.round(transition / 4)));
+        Duration timeout = Deadline.clamp(Duration.ofMillis(
+            Math.max(MIN_TIMEOUT_MILLIS, TIMEOUT_FACTOR * Math.max(expected.toMillis(), Math.round(transition)))));
+
+        try (Tracer.Span span = Tracer.span("settle " + step, Tracer.CATEGORY_STRATEGY)) {
+            long started = TestClock.now();
+            long deadline = started + timeout.toNanos();
+            boolean changed = false;
+            boolean hasLast = false;
+            long last = 0;
+            int stable = 0;
+            int polls = 0;
+            Result result;
+            while (true) {
+                Pause.poll(interval);
+                polls++;
+                long elapsedMillis = (TestClock.now() - started) / 1_000_000;
+                try {
+                    long current = hash(driver);
+                    if (hasBefore && !changed && current != before) {
+                        changed = true;
+                        learn(step, transition, elapsedMillis);
+                    }
+                    stable = hasLast && current == last ? stable + 1 : 1;
+                    last = current;
+                    hasLast = true;
+                } catch (RuntimeException e) {
+                    if (RetryPolicy.isFatal(e)) {
+                        throw e;
+                    }
+                    // Hierarchy unavailable mid-transition - the screen is anything but settled
+                    hasLast = false;
+                    stable = 0;
+                    EventLog.detail(step, "Settle poll " + polls + " failed: " + e.getMessage());
+                }
+                if (stable >= TestConfig.STABLE_POLLS) {
+                    if (changed || !hasBefore) {
+                        result = Result.SETTLED;
+                        break;
+                    }
+                    if (elapsedMillis >= 2 * transition) {
+                        result = Result.UNCHANGED;
+                        break;
+                    }
+                }
+                if (TestClock.now() >= deadline) {
+                    result = Result.TIMED_OUT;
+                    break;
+                }
+            }
+            long millis = (TestClock.now() - started) / 1_000_000;
+            span.arg("result", result).arg("polls", polls).arg("intervalMs", interval);
+            EventLog.event(step, null, result == Result.TIMED_OUT ? EventLog.Outcome.INFO : EventLog.Outcome.DETAIL,
+                TestClock.now() - started, "🫧 Screen " + result.name().toLowerCase().replace('_', ' ') + " after "
+                    + millis + " ms (" + polls + " polls every " + interval + " ms, fixed sleep was "
+                    + expected.toMillis() + " ms)");
+            return result;
+        }
+    }
+
+    private static void learn(String step, double transition, long observedMillis) {
+        TRANSITION_MILLIS.put(step, transition * (1 - LEARNING_WEIGHT) + observedMillis * LEARNING_WEIGHT);
+    }
+
+    /**
+     * The screen as it was before an action; await its effect once the action is done
+     */
+    public static final class Probe {
+        private final AppiumDriver driver;
+        private final long before;
+
+        private Probe(AppiumDriver driver, long before) {
+            this.driver = driver;
+            this.before = before;
+        }
+
+        /**
+         * Wait until the action's effect has settled, or until it is clear there is none
+         *
+         * @param step     name the transition time is learned under, e.g. "OnboardingPage.continue"
+         * @param expected former fixed sleep: used when detection is off and as the first estimate
+         */
+        public Result await(String step, Duration expected) throws InterruptedException {
+            return ScreenStability.await(driver, step, true, before, expected);
+        }
+    }
+}
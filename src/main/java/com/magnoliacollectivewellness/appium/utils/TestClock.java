@@ -0,0 +1,92 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * The time source behind every pause, wait, poll loop and time budget in pages and utils.
+ *
+ * Normally the system clock. A unit test installs a {@link VirtualClock} instead, so page-object
+ * control flow (a 25-step questionnaire loop, a 15 s wait) runs in milliseconds against a fake
+ * driver while every timeout, backoff and budget behaves exactly as it would in real time.
+ * Tracing, profiling and event timestamps stay on real time.
+ */
+public abstract class TestClock {
+    private static final TestClock SYSTEM = new TestClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            Thread.sleep(millis);
+        }
+    };
+    private static final Clock JAVA_CLOCK = new CurrentClock();
+    private static volatile TestClock current = SYSTEM;
+
+    /**
+     * Monotonic time in nanoseconds (only differences are meaningful)
+     */
+    public abstract long nanoTime();
+
+    /**
+     * Block for the given time
+     */
+    public abstract void sleep(long millis) throws InterruptedException;
+
+    /**
+     * The clock in use
+     */
+    public static TestClock get() {
+        return current;
+    }
+
+    /**
+     * Shortcut for {@code get().nanoTime()}
+     */
+    public static long now() {
+        return current.nanoTime();
+    }
+
+    /**
+     * Use the given clock from now on (for every thread)
+     */
+    public static void install(TestClock clock) {
+        current = clock;
+    }
+
+    /**
+     * Go back to the system clock
+     */
+    public static void reset() {
+        current = SYSTEM;
+    }
+
+    /**
+     * A {@link Clock} for Selenium waits that always reads the clock in use
+     */
+    public static Clock javaClock() {
+        return JAVA_CLOCK;
+    }
+
+    private static final class CurrentClock extends Clock {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.EPOCH.plusNanos(current.nanoTime());
+        }
+    }
+}
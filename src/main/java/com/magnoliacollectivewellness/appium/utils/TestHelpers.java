@@ -2,10 +2,13 @@ package com.magnoliacollectivewellness.appium.utils;
 
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.android.AndroidDriver;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.time.Duration;
+import java.util.function.Supplier;
 
 /**
  * Helper utilities for Appium tests
@@ -23,31 +26,51 @@ public class TestHelpers {
      * Wait for element to be visible
      */
     public void waitForElement(WebElement element, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        wait.until(ExpectedConditions.visibilityOf(element));
+        try (Tracer.Span span = Tracer.span("TestHelpers.waitForElement")) {
+            WebDriverWait wait = new BudgetedWait(driver, Duration.ofSeconds(timeoutSeconds));
+            wait.until(ExpectedConditions.visibilityOf(element));
+        }
     }
 
     /**
      * Wait for element to be clickable
      */
     public void waitForClickable(WebElement element, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        try (Tracer.Span span = Tracer.span("TestHelpers.waitForClickable")) {
+            WebDriverWait wait = new BudgetedWait(driver, Duration.ofSeconds(timeoutSeconds));
+            wait.until(ExpectedConditions.elementToBeClickable(element));
+        }
     }
 
     /**
-     * Tap on element with retry
+     * Tap on element with retry (transient failures only, see {@link RetryPolicy}).
+     * The element cannot be found again from here, so a stale reference fails at once;
+     * pass a locator ({@link #tapWithRetry(Supplier, int)}) to recover from that.
      */
-    public void tapWithRetry(WebElement element, int retries) throws InterruptedException {
-        for (int i = 0; i < retries; i++) {
-            try {
+    public void tapWithRetry(WebElement element, int retries) {
+        tapWithRetry(() -> element, retries, false);
+    }
+
+    /**
+     * Tap on the element the locator finds, finding it again and hiding the keyboard between attempts
+     */
+    public void tapWithRetry(Supplier<WebElement> locate, int retries) {
+        tapWithRetry(locate, retries, true);
+    }
+
+    private void tapWithRetry(Supplier<WebElement> locate, int retries, boolean relocates) {
+        try (Tracer.Span span = Tracer.span("TestHelpers.tapWithRetry")) {
+            RetryPolicy policy = RetryPolicy.named("TestHelpers.tapWithRetry")
+                .maxAttempts(retries)
+                .onRetry(ElementClickInterceptedException.class, failure -> hideKeyboard());
+            if (!relocates) {
+                policy.failFastOn(StaleElementReferenceException.class);
+            }
+            policy.run(() -> {
+                WebElement element = locate.get();
                 waitForClickable(element, 10);
                 element.click();
-                return;
-            } catch (Exception e) {
-                if (i == retries - 1) throw e;
-                Thread.sleep(1000);
-            }
+            });
         }
     }
 
@@ -63,19 +86,21 @@ public class TestHelpers {
      * Hide keyboard
      */
     public void hideKeyboard() {
-        try {
-            if (isAndroid) {
-                ((AndroidDriver) driver).hideKeyboard();
-            } else {
-                // iOS - tap Done button or tap outside
-                try {
-                    driver.findElement(io.appium.java_client.AppiumBy.xpath("//XCUIElementTypeButton[@name='Done']")).click();
-                } catch (Exception e) {
-                    // Keyboard might not be visible
+        try (Tracer.Span span = Tracer.span("TestHelpers.hideKeyboard")) {
+            try {
+                if (isAndroid) {
+                    ((AndroidDriver) driver).hideKeyboard();
+                } else {
+                    // iOS - tap Done button or tap outside
+                    try {
+                        driver.findElement(io.appium.java_client.AppiumBy.xpath("//XCUIElementTypeButton[@name='Done']")).click();
+                    } catch (Exception e) {
+                        // Keyboard might not be visible
+                    }
                 }
+            } catch (Exception e) {
+                EventLog.detail("TestHelpers.hideKeyboard", "Keyboard not visible or already hidden");
             }
-        } catch (Exception e) {
-            System.out.println("Keyboard not visible or already hidden");
         }
     }
 
@@ -0,0 +1,174 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streams the events of a trace file written by {@link Tracer}.
+ *
+ * Tracer writes one event per line, so events are parsed a line at a time and
+ * handed to the consumer without holding the file in memory.
+ */
+final class TraceReader {
+
+    private TraceReader() {
+    }
+
+    /**
+     * Read every complete ("X") event of a trace file
+     */
+    static void read(Path file, Consumer<Event> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("{\"name\"")) {
+                    continue;
+                }
+                if (line.endsWith(",")) {
+                    line = line.substring(0, line.length() - 1);
+                }
+                Event event = parse(line);
+                if ("X".equals(event.phase)) {
+                    consumer.accept(event);
+                }
+            }
+        }
+    }
+
+    static Event parse(String line) {
+        Parser parser = new Parser(line);
+        Map<String, Object> fields = parser.object();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> args = (Map<String, Object>) fields.getOrDefault("args", Collections.emptyMap());
+        Map<String, String> stringArgs = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> arg : args.entrySet()) {
+            stringArgs.put(arg.getKey(), String.valueOf(arg.getValue()));
+        }
+        return new Event(
+            (String) fields.get("name"),
+            (String) fields.get("cat"),
+            (String) fields.get("ph"),
+            number(fields.get("ts")),
+            number(fields.get("dur")),
+            number(fields.get("tid")),
+            stringArgs);
+    }
+
+    private static long number(Object value) {
+        return value instanceof Long ? (Long) value : 0;
+    }
+
+    /**
+     * One traced span; times in microseconds
+     */
+    static final class Event {
+        final String name;
+        final String category;
+        final String phase;
+        final long ts;
+        final long dur;
+        final long tid;
+        final Map<String, String> args;
+
+        Event(String name, String category, String phase, long ts, long dur, long tid, Map<String, String> args) {
+            this.name = name;
+            this.category = category;
+            this.phase = phase;
+            this.ts = ts;
+            this.dur = dur;
+            this.tid = tid;
+            this.args = args;
+        }
+
+        long end() {
+            return ts + dur;
+        }
+    }
+
+    /**
+     * Just enough JSON for Tracer's output: objects, strings and integers
+     */
+    private static final class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> object() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                pos++;
+                return object;
+            }
+            while (true) {
+                String key = string();
+                expect(':');
+                object.put(key, value());
+                char next = text.charAt(pos++);
+                if (next == '}') {
+                    return object;
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("Unexpected '" + next + "' at " + pos);
+                }
+            }
+        }
+
+        private Object value() {
+            char c = peek();
+            if (c == '{') {
+                return object();
+            }
+            if (c == '"') {
+                return string();
+            }
+            int start = pos;
+            while (pos < text.length() && "-0123456789".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            return Long.parseLong(text.substring(start, pos));
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c == '\\') {
+                    char escaped = text.charAt(pos++);
+                    if (escaped == 'u') {
+                        value.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                    } else {
+                        value.append(escaped);
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+        }
+
+        private char peek() {
+            return text.charAt(pos);
+        }
+
+        private void expect(char c) {
+            if (text.charAt(pos++) != c) {
+                throw new IllegalArgumentException("Expected '" + c + "' at " + (pos - 1));
+            }
+        }
+    }
+}
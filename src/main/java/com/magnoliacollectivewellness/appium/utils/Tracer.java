@@ -0,0 +1,381 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight hierarchical span tracing.
+ *
+ * Spans nest per thread: test → page method → strategy → WebDriver command / sleep.
+ * Closing a span also closes any child spans still open above it, so a strategy
+ * span left open by an early {@code return} ends with its page method.
+ *
+ * Each test is exported as a Chrome trace-event file ({@code build/traces/<test>.json})
+ * that opens in chrome://tracing or Perfetto; each finished test is also appended to
+ * {@code build/traces/run.json}, where concurrent workers show up as separate tracks.
+ * Durations of test, page-method and command spans inside a test (between {@link #beginTest}
+ * and {@link #endTest}) are also appended to the {@link MetricsStore},
+ * with or without tracing: -Dtracing=false only drops the trace files.
+ */
+public final class Tracer {
+    public static final String CATEGORY_TEST = "test";
+    public static final String CATEGORY_PAGE = "page";
+    public static final String CATEGORY_STRATEGY = "strategy";
+    public static final String CATEGORY_COMMAND = "command";
+    public static final String CATEGORY_SLEEP = "sleep";
+
+    private static final long BASE_NANOS = System.nanoTime();
+    private static final Path TRACE_DIR = Paths.get(TestConfig.TRACE_DIR);
+    // Spans are kept for the trace files, the metrics store, or both
+    private static final boolean ACTIVE = TestConfig.TRACING_ENABLED || TestConfig.METRICS_ENABLED;
+    private static final Span NOOP = new Span(null, null, null, 0);
+    private static final Object RUN_LOCK = new Object();
+    private static final ThreadLocal<ThreadTrace> TRACE = ThreadLocal.withInitial(ThreadTrace::new);
+    private static Writer runWriter;
+    private static boolean runHasEvents;
+    private static boolean runFailed;
+
+    static {
+        if (TestConfig.TRACING_ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Tracer::closeRunTrace, "trace-run-export"));
+        }
+    }
+
+    private Tracer() {
+    }
+
+    /**
+     * Open a page-method span
+     */
+    public static Span span(String name) {
+        return span(name, CATEGORY_PAGE);
+    }
+
+    /**
+     * Open a span of the given category on the current thread
+     */
+    public static Span span(String name, String category) {
+        if (!ACTIVE) {
+            return NOOP;
+        }
+        ThreadTrace trace = TRACE.get();
+        Span span = new Span(trace, name, category, System.nanoTime());
+        trace.stack.push(span);
+        return span;
+    }
+
+    /**
+     * Start the next fallback strategy inside the current page method.
+     * Ends the previous strategy span if it is still the innermost open span,
+     * so consecutive strategies appear as siblings; the last one ends with its method.
+     */
+    public static Span strategy(String name) {
+        if (ACTIVE) {
+            Span current = TRACE.get().stack.peek();
+            if (current != null && CATEGORY_STRATEGY.equals(current.category)) {
+                current.close();
+            }
+        }
+        return span(name, CATEGORY_STRATEGY);
+    }
+
+    /**
+     * Attach a detail to the innermost open span of the current thread
+     */
+    public static void annotate(String key, Object value) {
+        if (ACTIVE) {
+            Span current = TRACE.get().stack.peek();
+            if (current != null) {
+                current.arg(key, value);
+            }
+        }
+    }
+
+    /**
+     * Name of the innermost open span of the current thread, or null
+     */
+    public static String currentName() {
+        if (!ACTIVE) {
+            return null;
+        }
+        Span current = TRACE.get().stack.peek();
+        return current != null ? current.name : null;
+    }
+
+    /**
+     * Name of the innermost open page-method span of the current thread, or null
+     */
+    public static String currentPage() {
+        if (!ACTIVE) {
+            return null;
+        }
+        for (Span open : TRACE.get().stack) {
+            if (CATEGORY_PAGE.equals(open.category)) {
+                return open.name;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * File-safe name of the test traced on the current thread, or null
+     */
+    public static String currentTest() {
+        return ACTIVE ? TRACE.get().test : null;
+    }
+
+    /**
+     * Start a new trace for a test on the current thread (opens the root test span)
+     */
+    public static void beginTest(String testName) {
+        if (!ACTIVE) {
+            return;
+        }
+        ThreadTrace trace = TRACE.get();
+        trace.events.clear();
+        trace.stack.clear();
+        trace.test = testName.replaceAll("[^A-Za-z0-9._-]", "_");
+        span(testName, CATEGORY_TEST);
+    }
+
+    /**
+     * Close the test span, export this thread's trace as a Chrome trace-event file and append it to the run trace
+     */
+    public static void endTest() {
+        if (!ACTIVE) {
+            return;
+        }
+        ThreadTrace trace = TRACE.get();
+        if (!trace.stack.isEmpty()) {
+            trace.stack.peekLast().close();
+        }
+        if (trace.test == null) {
+            return;
+        }
+        if (!TestConfig.TRACING_ENABLED) {
+            trace.test = null;
+            return;
+        }
+
+        List<String> events = new ArrayList<>(trace.events.size() + 1);
+        events.add(threadNameEvent());
+        events.addAll(trace.events);
+        Path file = TRACE_DIR.resolve(trace.test + ".json");
+        try {
+            writeTrace(file, events);
+            EventLog.detail("Tracer.endTest", "🧭 Trace written to " + file);
+        } catch (IOException e) {
+            EventLog.warn("Tracer.endTest", "⚠️ Could not write trace " + file + ": " + e.getMessage());
+        }
+        appendToRunTrace(events);
+        trace.events.clear();
+        trace.test = null;
+    }
+
+    /**
+     * Stream a finished test's events into run.json, so the run's events are not held until exit
+     */
+    private static void appendToRunTrace(List<String> events) {
+        synchronized (RUN_LOCK) {
+            if (runFailed) {
+                return;
+            }
+            try {
+                if (runWriter == null) {
+                    Files.createDirectories(TRACE_DIR);
+                    runWriter = Files.newBufferedWriter(TRACE_DIR.resolve("run.json"), StandardCharsets.UTF_8);
+                    runWriter.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+                }
+                for (String event : events) {
+                    if (runHasEvents) {
+                        runWriter.write(",\n");
+                    }
+                    runWriter.write(event);
+                    runHasEvents = true;
+                }
+                runWriter.flush();
+            } catch (IOException e) {
+                runFailed = true;
+                EventLog.warn("Tracer.endTest", "⚠️ Could not write run trace: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void closeRunTrace() {
+        synchronized (RUN_LOCK) {
+            if (runWriter == null) {
+                return;
+            }
+            try {
+                runWriter.write("\n]}\n");
+                runWriter.close();
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not finish run trace: " + e.getMessage());
+            }
+            runWriter = null;
+        }
+    }
+
+    /**
+     * Write events as a Chrome trace file, one event per line so the file can be streamed
+     */
+    private static void writeTrace(Path file, List<String> events) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+            for (int i = 0; i < events.size(); i++) {
+                writer.write(events.get(i));
+                writer.write(i < events.size() - 1 ? ",\n" : "\n");
+            }
+            writer.write("]}\n");
+        }
+    }
+
+    private static String threadNameEvent() {
+        Thread thread = Thread.currentThread();
+        return "{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + thread.getId()
+            + ",\"args\":{\"name\":" + quote(thread.getName()) + "}}";
+    }
+
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Open and completed spans of one thread
+     */
+    private static final class ThreadTrace {
+        final Deque<Span> stack = new ArrayDeque<>();
+        final List<String> events = new ArrayList<>();
+        final long tid = Thread.currentThread().getId();
+        String test;
+    }
+
+    /**
+     * A timed region; close it (try-with-resources) to record it
+     */
+    public static final class Span implements AutoCloseable {
+        private final ThreadTrace trace;
+        private final String name;
+        private final String category;
+        private final long startNanos;
+        private Map<String, Object> args;
+        private boolean closed;
+
+        private Span(ThreadTrace trace, String name, String category, long startNanos) {
+            this.trace = trace;
+            this.name = name;
+            this.category = category;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Attach a detail (locator, script, ...) shown in the trace viewer
+         */
+        public Span arg(String key, Object value) {
+            if (trace != null && value != null && TestConfig.TRACING_ENABLED) {
+                if (args == null) {
+                    args = new LinkedHashMap<>();
+                }
+                args.put(key, value);
+            }
+            return this;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public void close() {
+            if (trace == null || closed || !trace.stack.contains(this)) {
+                return;
+            }
+            long endNanos = System.nanoTime();
+            // Unwind children left open (e.g. a strategy span abandoned by an early return)
+            while (!trace.stack.isEmpty()) {
+                Span top = trace.stack.pop();
+                top.record(endNanos);
+                if (top == this) {
+                    break;
+                }
+            }
+        }
+
+        private void record(long endNanos) {
+            closed = true;
+            if (TestConfig.TRACING_ENABLED) {
+                trace.events.add(event(endNanos));
+            }
+
+            if (trace.test == null) {
+                // Outside a test (unit tests on a fake driver and virtual clock) - not a real device timing
+                return;
+            }
+            if (CATEGORY_TEST.equals(category) || CATEGORY_PAGE.equals(category)) {
+                MetricsStore.record(trace.test, name, "", endNanos - startNanos);
+            } else if (CATEGORY_COMMAND.equals(category)) {
+                MetricsStore.record(trace.test, enclosingPage(), name, endNanos - startNanos);
+            }
+        }
+
+        private String event(long endNanos) {
+            StringBuilder event = new StringBuilder(128)
+                .append("{\"name\":").append(quote(name))
+                .append(",\"cat\":\"").append(category)
+                .append("\",\"ph\":\"X\",\"ts\":").append((startNanos - BASE_NANOS) / 1000)
+                .append(",\"dur\":").append((endNanos - startNanos) / 1000)
+                .append(",\"pid\":1,\"tid\":").append(trace.tid);
+            if (args != null) {
+                event.append(",\"args\":{");
+                boolean first = true;
+                for (Map.Entry<String, Object> arg : args.entrySet()) {
+                    if (!first) event.append(',');
+                    event.append(quote(arg.getKey())).append(':').append(quote(String.valueOf(arg.getValue())));
+                    first = false;
+                }
+                event.append('}');
+            }
+            return event.append('}').toString();
+        }
+
+        /**
+         * Innermost page method still open around this span (its parents are still on the stack)
+         */
+        private String enclosingPage() {
+            for (Span open : trace.stack) {
+                if (CATEGORY_PAGE.equals(open.category)) {
+                    return open.name;
+                }
+            }
+            return "";
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulated time for unit tests: sleeping advances the clock instead of blocking.
+ *
+ * <pre>
+ *   VirtualClock clock = new VirtualClock();
+ *   TestClock.install(clock);
+ *   try {
+ *       ... run page-object code against a fake driver ...
+ *       assertEquals(26_500, clock.elapsed().toMillis());
+ *   } finally {
+ *       TestClock.reset();
+ *   }
+ * </pre>
+ */
+public final class VirtualClock extends TestClock {
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Override
+    public long nanoTime() {
+        return nanos.get();
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        advance(Duration.ofMillis(millis));
+    }
+
+    /**
+     * Let time pass, e.g. to simulate a slow server round trip in a fake driver
+     */
+    public void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    /**
+     * Simulated time since the clock was created
+     */
+    public Duration elapsed() {
+        return Duration.ofNanos(nanos.get());
+    }
+}
@@ -0,0 +1,83 @@
+package com.magnoliacollectivewellness.appium.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Virtual threads when the JVM has them (JDK 21+), platform daemon threads otherwise.
+ *
+ * The build targets Java 11, so the virtual-thread API is looked up reflectively;
+ * running the same classes on a modern JDK is enough to get virtual threads.
+ */
+public final class VirtualThreads {
+    private static final Method OF_VIRTUAL = find(Thread.class, "ofVirtual");
+    private static final Method BUILDER_NAME = find(builderClass(), "name", String.class, long.class);
+    private static final Method BUILDER_FACTORY = find(builderClass(), "factory");
+    private static final Method THREAD_PER_TASK = find(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * True when this JVM can create virtual threads
+     */
+    public static boolean isAvailable() {
+        return OF_VIRTUAL != null && BUILDER_NAME != null && BUILDER_FACTORY != null && THREAD_PER_TASK != null;
+    }
+
+    /**
+     * Factory for threads named prefix0, prefix1, ... (virtual if available, else platform daemon threads)
+     */
+    public static ThreadFactory factory(String prefix) {
+        if (isAvailable()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One new virtual thread per task, or (without virtual threads) a pool of at most maxThreads platform threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix, int maxThreads) {
+        if (isAvailable()) {
+            try {
+                return (ExecutorService) THREAD_PER_TASK.invoke(null, factory(prefix));
+            } catch (ReflectiveOperationException e) {
+                // fall through to platform threads
+            }
+        }
+        return Executors.newFixedThreadPool(maxThreads, factory(prefix));
+    }
+
+    private static Class<?> builderClass() {
+        try {
+            return Class.forName("java.lang.Thread$Builder");
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static Method find(Class<?> type, String name, Class<?>... parameters) {
+        if (type == null) {
+            return null;
+        }
+        try {
+            return type.getMethod(name, parameters);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
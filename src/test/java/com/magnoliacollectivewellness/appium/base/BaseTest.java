@@ -4,9 +4,25 @@ import com.magnoliacollectivewellness.appium.config.AppiumConfig;
 import com.magnoliacollectivewellness.appium.config.TestConfig;
 import com.magnoliacollectivewellness.appium.pages.HomePage;
 import com.magnoliacollectivewellness.appium.pages.LoginPage;
+import com.magnoliacollectivewellness.appium.utils.CrashWatchdog;
+import com.magnoliacollectivewellness.appium.utils.Deadline;
+import com.magnoliacollectivewellness.appium.utils.DeviceLogCollector;
+import com.magnoliacollectivewellness.appium.utils.EventLog;
+import com.magnoliacollectivewellness.appium.utils.FlowTimer;
+import com.magnoliacollectivewellness.appium.utils.Pause;
+import com.magnoliacollectivewellness.appium.utils.PerformanceGate;
+import com.magnoliacollectivewellness.appium.utils.Profiler;
+import com.magnoliacollectivewellness.appium.utils.Tracer;
 import io.appium.java_client.AppiumDriver;
 import org.junit.After;
+import org.junit.AfterClass;
 import org.junit.Before;
+import org.junit.Rule;
+import org.junit.rules.TestName;
+import org.junit.rules.TestRule;
+import org.junit.runners.model.Statement;
+
+import java.time.Duration;
 
 /**
  * Base Test Class
@@ -16,12 +32,38 @@ import org.junit.Before;
  * - Pre-configured driver instance
  * - Pre-initialized page objects
  * - Platform and target configuration
+ * - Flow performance gate against stored baselines
+ * - Per-test structured event log (build/event-logs)
+ * - Per-test Chrome trace of page methods and commands (build/traces)
+ * - Per-test time budget shared by every wait and pause inside the test
+ * - Per-test wall-clock profile: sleep vs polling vs network vs server vs CPU (build/profiles)
+ * - Crash / ANR watchdog that fails the test at once with the device log excerpt
+ * - Device log of the app streamed during the session, indexed per test (build/device-logs)
  */
 public abstract class BaseTest {
     
     protected AppiumDriver driver;
     protected LoginPage loginPage;
     protected HomePage homePage;
+    private Deadline testDeadline;
+    private CrashWatchdog crashWatchdog;
+    private DeviceLogCollector deviceLog;
+    
+    @Rule
+    public TestName testName = new TestName();
+    
+    /**
+     * Runs each test -DperfIterations times, setup and teardown included, so the performance gate gets several samples per flow
+     */
+    @Rule
+    public TestRule iterations = (base, description) -> new Statement() {
+        @Override
+        public void evaluate() throws Throwable {
+            for (int i = 0; i < TestConfig.PERF_ITERATIONS; i++) {
+                base.evaluate();
+            }
+        }
+    };
     
     /**
      * Setup method - called before each test
@@ -35,18 +77,38 @@ public abstract class BaseTest {
             return;
         }
         
+        // Route this test's page-object events and trace spans to their own files
+        String testId = getClass().getSimpleName() + "." + testName.getMethodName();
+        EventLog.beginTest(testId);
+        Tracer.beginTest(testId);
+        Profiler.beginTest(testId);
+        
         System.out.println("\n" + "═".repeat(80));
         System.out.println("🚀 TEST SETUP STARTING");
         System.out.println("═".repeat(80));
         
         // Create driver based on configuration
-        driver = AppiumConfig.createDriver();
+        try (FlowTimer.Timing t = FlowTimer.start(FlowTimer.LAUNCH)) {
+            driver = AppiumConfig.createDriver();
+            t.success();
+        }
+        PerformanceGate.useDevice(driver.getCapabilities());
+        
+        // Everything after launch draws from one time budget
+        testDeadline = Deadline.open(testId, Duration.ofSeconds(TestConfig.TEST_BUDGET_SECONDS));
+        
+        // Stream the app's device log during the session; this test's slice starts here
+        deviceLog = DeviceLogCollector.start(driver);
+        deviceLog.beginTest(testId);
+        
+        // Abort the test as soon as the app crashes instead of waiting out locator timeouts
+        crashWatchdog = CrashWatchdog.start(driver, testId, deviceLog);
         
         // Initialize page objects
         initializePageObjects();
         
         // Wait for app to be ready
-        Thread.sleep(2000);
+        Pause.millis(2000);
         
         System.out.println("✅ Setup completed successfully!");
         System.out.println("═".repeat(80) + "\n");
@@ -71,6 +133,16 @@ public abstract class BaseTest {
             return;
         }
         
+        if (crashWatchdog != null) {
+            crashWatchdog.close();
+            crashWatchdog = null;
+        }
+        if (deviceLog != null) {
+            deviceLog.endTest();
+            deviceLog.close();
+            deviceLog = null;
+        }
+        
         if (driver != null) {
             try {
                 System.out.println("\n" + "═".repeat(80));
@@ -79,6 +151,7 @@ public abstract class BaseTest {
                 System.out.println("🎯 Platform: " + TestConfig.getPlatform().toUpperCase());
                 System.out.println("🎯 Target: " + TestConfig.getRunTarget().toUpperCase());
                 
+                Profiler.collectServerTimings(driver);
                 driver.quit();
                 
                 System.out.println("✅ Driver session closed successfully!");
@@ -88,6 +161,23 @@ public abstract class BaseTest {
                 e.printStackTrace();
             }
         }
+        
+        if (testDeadline != null) {
+            testDeadline.close();
+            testDeadline = null;
+        }
+        Profiler.endTest();
+        Tracer.endTest();
+        EventLog.endTest();
+    }
+    
+    /**
+     * Compare flow timings collected so far in the run against the stored baselines
+     * Fails the class when a flow regressed beyond the configured threshold
+     */
+    @AfterClass
+    public static void verifyFlowPerformance() {
+        PerformanceGate.verify();
     }
     
     /**
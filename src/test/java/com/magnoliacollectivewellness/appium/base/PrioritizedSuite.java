@@ -0,0 +1,188 @@
+package com.magnoliacollectivewellness.appium.base;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import org.junit.FixMethodOrder;
+import org.junit.runner.Description;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Sortable;
+import org.junit.runner.manipulation.Sorter;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+import org.junit.runners.Suite;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Suite runner that runs the likeliest failures first.
+ *
+ * Classes and their test methods are ordered by recent failure probability per expected
+ * second, from the {@link TestHistory} file: a quick test that failed lately goes first, a
+ * long test that keeps passing goes last. A class with {@link FixMethodOrder} keeps its
+ * method order. With -DfailFastAfter=N the run stops once N tests failed and reports the
+ * rest as skipped. The history is updated at the end of every run.
+ *
+ * <pre>
+ *   &#64;RunWith(PrioritizedSuite.class)
+ *   &#64;Suite.SuiteClasses({LoginTest.class, SignupFlowTest.class})
+ *   public class PrioritizedTests {
+ *   }
+ * </pre>
+ */
+public class PrioritizedSuite extends Suite {
+    private final TestHistory history;
+
+    public PrioritizedSuite(Class<?> klass, RunnerBuilder builder) throws InitializationError {
+        this(klass, builder, TestHistory.load(Paths.get(TestConfig.TEST_HISTORY_FILE)));
+    }
+
+    private PrioritizedSuite(Class<?> klass, RunnerBuilder builder, TestHistory history) throws InitializationError {
+        super(klass, prioritize(builder.runners(klass, suiteClasses(klass)), history));
+        this.history = history;
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        Outcomes outcomes = new Outcomes(notifier);
+        notifier.addListener(outcomes);
+        try {
+            super.run(notifier);
+        } catch (StoppedByUserException e) {
+            int skipped = 0;
+            for (Description test : tests(getDescription())) {
+                if (!outcomes.started.contains(test)) {
+                    notifier.fireTestIgnored(test);
+                    skipped++;
+                }
+            }
+            System.out.println("⏹️ Fail-fast: stopped after " + outcomes.failures + " failed test(s), "
+                + skipped + " not run");
+        } finally {
+            notifier.removeListener(outcomes);
+            if (outcomes.recorded > 0) {
+                history.save();
+            }
+        }
+    }
+
+    private static Class<?>[] suiteClasses(Class<?> klass) throws InitializationError {
+        SuiteClasses annotation = klass.getAnnotation(SuiteClasses.class);
+        if (annotation == null) {
+            throw new InitializationError("Class '" + klass.getName() + "' must have a SuiteClasses annotation");
+        }
+        return annotation.value();
+    }
+
+    private static List<Runner> prioritize(List<Runner> runners, TestHistory history) {
+        Comparator<Description> byPriority = Comparator.comparingDouble(test -> -priority(List.of(test), history));
+        Map<Runner, Double> priorities = new HashMap<>();
+        for (Runner runner : runners) {
+            Class<?> testClass = runner.getDescription().getTestClass();
+            if (runner instanceof Sortable && (testClass == null || !testClass.isAnnotationPresent(FixMethodOrder.class))) {
+                ((Sortable) runner).sort(new Sorter(byPriority));
+            }
+            priorities.put(runner, priority(tests(runner.getDescription()), history));
+        }
+        List<Runner> ordered = new ArrayList<>(runners);
+        // Stable: classes without any history keep their declared order
+        ordered.sort(Comparator.comparingDouble(runner -> -priorities.get(runner)));
+
+        System.out.println("🎯 Prioritized test order (recent failure probability per expected second):");
+        for (int i = 0; i < ordered.size(); i++) {
+            Runner runner = ordered.get(i);
+            List<Description> tests = tests(runner.getDescription());
+            double millis = 0;
+            for (Description test : tests) {
+                millis += history.expectedMillis(test);
+            }
+            System.out.println(String.format("   %d. %s - fails %.0f%%, ~%.1fs", i + 1,
+                runner.getDescription().getDisplayName(), failureProbability(tests, history) * 100, millis / 1000));
+        }
+        if (TestConfig.FAIL_FAST_AFTER > 0) {
+            System.out.println("   Stopping after " + TestConfig.FAIL_FAST_AFTER + " failed test(s)");
+        }
+        return ordered;
+    }
+
+    /**
+     * Chance a group of tests finds a failure per second spent running it
+     */
+    private static double priority(List<Description> tests, TestHistory history) {
+        double millis = 0;
+        for (Description test : tests) {
+            millis += history.expectedMillis(test);
+        }
+        return failureProbability(tests, history) / Math.max(1, millis);
+    }
+
+    private static double failureProbability(List<Description> tests, TestHistory history) {
+        double allPass = 1;
+        for (Description test : tests) {
+            allPass *= 1 - history.failureProbability(test);
+        }
+        return 1 - allPass;
+    }
+
+    private static List<Description> tests(Description description) {
+        List<Description> tests = new ArrayList<>();
+        if (description.isTest()) {
+            tests.add(description);
+        }
+        for (Description child : description.getChildren()) {
+            tests.addAll(tests(child));
+        }
+        return tests;
+    }
+
+    /**
+     * Times and outcomes of the tests as they run; asks the notifier to stop once enough failed
+     */
+    private final class Outcomes extends RunListener {
+        private final RunNotifier notifier;
+        private final boolean recording = !System.getProperty("skipAppiumTests", "false").equals("true");
+        private final Set<Description> started = new HashSet<>();
+        private final Set<Description> failed = new HashSet<>();
+        private final Map<Description, Long> startNanos = new HashMap<>();
+        private int failures;
+        private int recorded;
+
+        Outcomes(RunNotifier notifier) {
+            this.notifier = notifier;
+        }
+
+        @Override
+        public void testStarted(Description description) {
+            started.add(description);
+            startNanos.put(description, System.nanoTime());
+        }
+
+        @Override
+        public void testFailure(Failure failure) {
+            failed.add(failure.getDescription());
+            failures++;
+            if (TestConfig.FAIL_FAST_AFTER > 0 && failures >= TestConfig.FAIL_FAST_AFTER) {
+                notifier.pleaseStop();
+            }
+        }
+
+        @Override
+        public void testFinished(Description description) {
+            Long started = startNanos.remove(description);
+            // Skipped setups finish at once and would teach the history nothing but wrong durations
+            if (recording && started != null) {
+                history.record(description, failed.contains(description), (System.nanoTime() - started) / 1_000_000);
+                recorded++;
+            }
+        }
+    }
+}
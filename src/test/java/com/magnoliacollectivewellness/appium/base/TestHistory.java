@@ -0,0 +1,136 @@
+package com.magnoliacollectivewellness.appium.base;
+
+import org.junit.runner.Description;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Recent outcome and duration of each test, kept in a small properties file between runs.
+ *
+ * Per test: {@code Class.method=runs,failures,millis}. Runs and failures decay with every run,
+ * so old failures fade out; millis is a moving average of the test's duration.
+ */
+final class TestHistory {
+    private static final String HEADER =
+        "# Recent test outcomes for prioritized ordering: <class>.<method>=<runs>,<failures>,<averageMillis>\n"
+            + "# Runs and failures decay by %s per run; delete the file to start over\n";
+    // Weight of the previous history against the latest run
+    private static final double DECAY = 0.8;
+    private static final double DURATION_WEIGHT = 0.3;
+    // Assumed duration of a test that never ran, if no other test has a history either
+    private static final double UNKNOWN_MILLIS = 60_000;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new TreeMap<>();
+
+    private TestHistory(Path file) {
+        this.file = file;
+    }
+
+    static TestHistory load(Path file) {
+        TestHistory history = new TestHistory(file);
+        if (!Files.exists(file)) {
+            return history;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not read test history " + file + ": " + e.getMessage());
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] parts = properties.getProperty(key).trim().split(",");
+            if (parts.length == 3) {
+                try {
+                    history.entries.put(key, new Entry(Double.parseDouble(parts[0]), Double.parseDouble(parts[1]),
+                        Double.parseDouble(parts[2])));
+                } catch (NumberFormatException e) {
+                    // Hand-edited line - the test starts over
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Chance the test fails now: recent failures over recent runs, a coin flip for a new test
+     */
+    double failureProbability(Description test) {
+        Entry entry = entries.get(key(test));
+        return entry == null ? 0.5 : (entry.failures + 1) / (entry.runs + 2);
+    }
+
+    /**
+     * Expected duration; a new test is assumed to take as long as the median known one
+     */
+    double expectedMillis(Description test) {
+        Entry entry = entries.get(key(test));
+        if (entry != null) {
+            return entry.millis;
+        }
+        List<Double> known = new ArrayList<>();
+        for (Entry each : entries.values()) {
+            known.add(each.millis);
+        }
+        if (known.isEmpty()) {
+            return UNKNOWN_MILLIS;
+        }
+        Collections.sort(known);
+        return known.get(known.size() / 2);
+    }
+
+    void record(Description test, boolean failed, long millis) {
+        Entry entry = entries.get(key(test));
+        entries.put(key(test), entry == null
+            ? new Entry(1, failed ? 1 : 0, millis)
+            : new Entry(entry.runs * DECAY + 1, entry.failures * DECAY + (failed ? 1 : 0),
+                entry.millis * (1 - DURATION_WEIGHT) + millis * DURATION_WEIGHT));
+    }
+
+    void save() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(String.format(Locale.ROOT, HEADER, DECAY));
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    Entry e = entry.getValue();
+                    writer.write(entry.getKey() + "=" + String.format(Locale.ROOT, "%.3f,%.3f,%.0f", e.runs, e.failures, e.millis)
+                        + "\n");
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not write test history " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static String key(Description test) {
+        String className = test.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + test.getMethodName();
+    }
+
+    private static final class Entry {
+        final double runs;
+        final double failures;
+        final double millis;
+
+        Entry(double runs, double failures, double millis) {
+            this.runs = runs;
+            this.failures = failures;
+            this.millis = millis;
+        }
+    }
+}
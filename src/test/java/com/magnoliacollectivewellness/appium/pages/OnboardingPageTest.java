@@ -0,0 +1,383 @@
+package com.magnoliacollectivewellness.appium.pages;
+
+import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.utils.FlowTimer;
+import com.magnoliacollectivewellness.appium.utils.HierarchySnapshot;
+import com.magnoliacollectivewellness.appium.utils.ScreenStability;
+import com.magnoliacollectivewellness.appium.utils.TestClock;
+import com.magnoliacollectivewellness.appium.utils.VirtualClock;
+import io.appium.java_client.AppiumBy;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.android.AndroidDriver;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.ErrorCodes;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.w3c.dom.Element;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Onboarding Page Unit Tests
+ *
+ * Runs the questionnaire logic against a fake Android app on a {@link VirtualClock}:
+ * no server, no device, and every pause and wait takes exactly its nominal time
+ * without the test actually sleeping. The fake app reacts at once, so screen-stability
+ * waits end after their first polls.
+ */
+public class OnboardingPageTest {
+    private static final int QUESTIONS = 5;
+    // Per live step with fixed sleeps: load 1500 + option 800 + Continue 1500
+    private static final long LIVE_STEP_MILLIS = 3800;
+    // Per replayed step: option tap 800 + Continue tap 800, the next screen is already there
+    private static final long REPLAY_STEP_MILLIS = 1600;
+
+    private static final Path SCRIPT_DIR;
+
+    static {
+        // Keep recorded onboarding paths of these tests away from real ones
+        try {
+            SCRIPT_DIR = Files.createTempDirectory("onboarding-scripts");
+            System.setProperty("onboardingScriptDir", SCRIPT_DIR.toString());
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private VirtualClock clock;
+    private FakeApp app;
+    private AndroidDriver driver;
+
+    @Before
+    public void setup() throws Exception {
+        // Each test starts without a recorded path
+        try (Stream<Path> scripts = Files.list(SCRIPT_DIR)) {
+            for (Path script : (Iterable<Path>) scripts::iterator) {
+                Files.delete(script);
+            }
+        }
+        clock = new VirtualClock();
+        TestClock.install(clock);
+        app = new FakeApp(QUESTIONS);
+        driver = new AndroidDriver(app, new MutableCapabilities());
+    }
+
+    @After
+    public void tearDown() {
+        driver.quit();
+        TestClock.reset();
+        // Virtual flow timings must not reach the performance gate
+        FlowTimer.drain();
+    }
+
+    @Test
+    public void test01_LiveQuestionnaireTakesNominalTime() throws InterruptedException {
+        long realStarted = System.nanoTime();
+
+        new OnboardingPage(driver).completeOnboardingQuestionnaire();
+
+        assertTrue("Should end on the signup form", app.isOnSignup());
+        assertEquals("Every question answered once", QUESTIONS, app.answered);
+        assertEquals("Flow timing", List.of(clock.elapsed().toMillis()), FlowTimer.drain().get(FlowTimer.QUESTIONNAIRE));
+        if (TestConfig.SCREEN_STABILITY) {
+            assertTrue("Settled screens should beat the fixed sleeps: " + clock.elapsed().toMillis() + " ms",
+                clock.elapsed().toMillis() < QUESTIONS * LIVE_STEP_MILLIS / 2);
+        } else {
+            assertEquals("Virtual time", QUESTIONS * LIVE_STEP_MILLIS, clock.elapsed().toMillis());
+        }
+        assertTrue("Should not really sleep", (System.nanoTime() - realStarted) / 1_000_000 < QUESTIONS * LIVE_STEP_MILLIS / 2);
+        assertEquals("Unexpected commands", List.of(), app.unsupported);
+    }
+
+    @Test
+    public void test02_RecordedQuestionnaireIsReplayed() throws InterruptedException {
+        Assume.assumeTrue("Onboarding replay is off", TestConfig.ONBOARDING_REPLAY);
+        new OnboardingPage(driver).completeOnboardingQuestionnaire();
+        app.restart();
+        long replayStarted = clock.elapsed().toMillis();
+
+        new OnboardingPage(driver).completeOnboardingQuestionnaire();
+
+        assertTrue("Should end on the signup form", app.isOnSignup());
+        assertEquals("Questions answered in both runs", 2 * QUESTIONS, app.answered);
+        long replayMillis = clock.elapsed().toMillis() - replayStarted;
+        if (TestConfig.SCREEN_STABILITY) {
+            assertTrue("Replayed taps should settle early: " + replayMillis + " ms", replayMillis < QUESTIONS * REPLAY_STEP_MILLIS);
+        } else {
+            assertEquals("Replayed in virtual time", QUESTIONS * REPLAY_STEP_MILLIS, replayMillis);
+        }
+        assertEquals("Unexpected commands", List.of(), app.unsupported);
+    }
+
+    @Test
+    public void test03_ContinueStaysDisabledWithoutAnswer() {
+        OnboardingPage onboarding = new OnboardingPage(driver);
+
+        assertFalse("Continue before answering", onboarding.isContinueEnabled());
+        assertFalse("Not on signup yet", onboarding.isOnSignupStep());
+        assertEquals("Checks take no virtual time", 0, clock.elapsed().toMillis());
+    }
+
+    @Test
+    public void test04_AnsweredScreenSettlesAfterStablePolls() throws InterruptedException {
+        Assume.assumeTrue("Screen stability is off", TestConfig.SCREEN_STABILITY);
+        assumeTwoStablePolls();
+
+        // First time: 800 ms estimate, polls every 200 ms; changed at the 1st poll, stable at the 2nd
+        assertEquals(ScreenStability.Result.SETTLED, answerAndSettle("OnboardingPageTest.answer"));
+        assertEquals("First settle", 400, clock.elapsed().toMillis());
+
+        // Learned 0.7 * 800 + 0.3 * 200 = 620 ms, so polls every 155 ms
+        app.restart();
+        long second = clock.elapsed().toMillis();
+        assertEquals(ScreenStability.Result.SETTLED, answerAndSettle("OnboardingPageTest.answer"));
+        assertEquals("Settle with adapted interval", 310, clock.elapsed().toMillis() - second);
+    }
+
+    @Test
+    public void test05_UnchangedScreenGivesUpAfterTwiceTheTransition() throws InterruptedException {
+        Assume.assumeTrue("Screen stability is off", TestConfig.SCREEN_STABILITY);
+        assumeTwoStablePolls();
+
+        ScreenStability.Probe settle = ScreenStability.before(driver);
+        // Tapping the disabled Continue does nothing
+        driver.findElement(AppiumBy.xpath(OnboardingPage.CONTINUE_XPATH)).click();
+
+        assertEquals(ScreenStability.Result.UNCHANGED, settle.await("OnboardingPageTest.noop", Duration.ofMillis(400)));
+        assertEquals("Gave up after 2 x 400 ms", 800, clock.elapsed().toMillis());
+    }
+
+    @Test
+    public void test06_StillScreenSettlesWithoutProbe() throws InterruptedException {
+        Assume.assumeTrue("Screen stability is off", TestConfig.SCREEN_STABILITY);
+        assumeTwoStablePolls();
+
+        assertEquals(ScreenStability.Result.SETTLED,
+            ScreenStability.awaitSettled(driver, "OnboardingPageTest.still", Duration.ofMillis(1000)));
+        assertEquals("Two polls 250 ms apart", 500, clock.elapsed().toMillis());
+    }
+
+    private ScreenStability.Result answerAndSettle(String step) throws InterruptedException {
+        ScreenStability.Probe settle = ScreenStability.before(driver);
+        driver.findElement(AppiumBy.xpath("//android.view.View[@clickable='true']")).click();
+        return settle.await(step, Duration.ofMillis(800));
+    }
+
+    private static void assumeTwoStablePolls() {
+        Assume.assumeTrue("Timings below assume -DstablePolls=2", TestConfig.STABLE_POLLS == 2);
+    }
+
+    /**
+     * Fake Appium server holding a questionnaire of option cards and a Continue button,
+     * followed by the signup form. Elements go stale when the screen changes.
+     */
+    private static final class FakeApp extends AppiumCommandExecutor {
+        private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+        private static final Pattern BOUNDS = Pattern.compile("\\[(\\d+),(\\d+)]\\[(\\d+),(\\d+)]");
+
+        private final int questions;
+        private final List<String> unsupported = new ArrayList<>();
+        private int screen;
+        private boolean answeredScreen;
+        private int answered;
+        private HierarchySnapshot snapshot;
+
+        FakeApp(int questions) throws Exception {
+            super(MobileCommand.commandRepository, new URL("http://fake-appium"), HttpClient.Factory.createDefault());
+            this.questions = questions;
+            restart();
+        }
+
+        void restart() {
+            screen = 0;
+            answeredScreen = false;
+            snapshot = null;
+        }
+
+        boolean isOnSignup() {
+            return screen == questions;
+        }
+
+        @Override
+        public Response execute(Command command) {
+            Map<String, ?> parameters = command.getParameters();
+            switch (command.getName()) {
+                case "newSession":
+                    return success(Map.of("platformName", "Android", "automationName", "UiAutomator2"));
+                case "getPageSource":
+                    return success(snapshot().getPageSource());
+                case "getCurrentWindowSize":
+                case "getWindowRect":
+                    return success(Map.of("x", 0, "y", 0, "width", 1080, "height", 2400));
+                case "findElement": {
+                    List<Map<String, String>> found = find(parameters);
+                    return found.isEmpty()
+                        ? error(ErrorCodes.NO_SUCH_ELEMENT, new NoSuchElementException("Not found"))
+                        : success(found.get(0));
+                }
+                case "findElements":
+                    return success(find(parameters));
+                case "isElementDisplayed":
+                    return element(parameters, HierarchySnapshot::isDisplayed);
+                case "isElementEnabled":
+                    return element(parameters, element -> !"false".equals(element.getAttribute("enabled")));
+                case "getElementText":
+                    return element(parameters, element -> element.getAttribute("text"));
+                case "getElementRect":
+                    return element(parameters, FakeApp::rect);
+                case "clickElement":
+                    return element(parameters, element -> {
+                        press(element);
+                        return null;
+                    });
+                case "executeScript":
+                    if ("mobile: tap".equals(parameters.get("script"))) {
+                        Map<?, ?> args = (Map<?, ?>) ((List<?>) parameters.get("args")).get(0);
+                        tap(((Number) args.get("x")).intValue(), ((Number) args.get("y")).intValue());
+                        return success(null);
+                    }
+                    break;
+                case "quit":
+                    return success(null);
+                default:
+                    break;
+            }
+            unsupported.add(command.getName());
+            return error(ErrorCodes.UNKNOWN_COMMAND, new WebDriverException("Unsupported by fake: " + command.getName()));
+        }
+
+        private HierarchySnapshot snapshot() {
+            if (snapshot == null) {
+                snapshot = HierarchySnapshot.of(pageSource());
+            }
+            return snapshot;
+        }
+
+        private String pageSource() {
+            StringBuilder xml = new StringBuilder("<hierarchy><android.widget.FrameLayout bounds=\"[0,0][1080,2400]\">");
+            if (isOnSignup()) {
+                xml.append("<android.widget.TextView text=\"Tailor your space\" bounds=\"[60,300][1020,400]\"/>")
+                    .append("<android.widget.EditText text=\"Legal first name\" clickable=\"true\" bounds=\"[60,600][1020,750]\"/>");
+            } else {
+                xml.append("<android.widget.TextView text=\"Step ").append(screen + 1).append(" of ").append(questions)
+                    .append("\" bounds=\"[60,300][1020,400]\"/>");
+                for (int option = 0; option < 3; option++) {
+                    int top = 700 + option * 250;
+                    xml.append("<android.view.View clickable=\"true\" bounds=\"[60,").append(top).append("][1020,")
+                        .append(top + 200).append("]\"><android.widget.TextView text=\"Answer ").append(option + 1)
+                        .append(" to question ").append(screen + 1).append(" of the questionnaire\" bounds=\"[100,")
+                        .append(top + 50).append("][980,").append(top + 150).append("]\"/></android.view.View>");
+                }
+                xml.append("<android.widget.Button text=\"Continue\" clickable=\"true\" enabled=\"")
+                    .append(answeredScreen).append("\" bounds=\"[60,2100][1020,2250]\"/>");
+            }
+            return xml.append("</android.widget.FrameLayout></hierarchy>").toString();
+        }
+
+        /**
+         * Tapping an option card answers the question; an enabled Continue moves to the next screen
+         */
+        private void press(Element element) {
+            if ("android.view.View".equals(element.getTagName())) {
+                answeredScreen = true;
+                snapshot = null;
+            } else if ("Continue".equals(element.getAttribute("text")) && answeredScreen) {
+                screen++;
+                answered++;
+                answeredScreen = false;
+                snapshot = null;
+            }
+        }
+
+        private void tap(int x, int y) {
+            Element hit = null;
+            for (Element element : snapshot().find("//*[@clickable='true']")) {
+                int[] bounds = bounds(element);
+                if (x >= bounds[0] && x < bounds[2] && y >= bounds[1] && y < bounds[3]) {
+                    hit = element;
+                }
+            }
+            if (hit != null) {
+                press(hit);
+            }
+        }
+
+        private List<Map<String, String>> find(Map<String, ?> parameters) {
+            String using = (String) parameters.get("using");
+            String value = (String) parameters.get("value");
+            String xpath = "accessibility id".equals(using) ? "//*[@content-desc='" + value + "']" : value;
+            if (!"xpath".equals(using) && !"accessibility id".equals(using)) {
+                unsupported.add("findElement using " + using);
+                return List.of();
+            }
+            List<Element> every = snapshot().find("//*");
+            List<Map<String, String>> found = new ArrayList<>();
+            for (Element element : snapshot().find(xpath)) {
+                found.add(Map.of(ELEMENT_KEY, screen + ":" + every.indexOf(element)));
+            }
+            return found;
+        }
+
+        private Response element(Map<String, ?> parameters, Function<Element, Object> read) {
+            String[] id = String.valueOf(parameters.get("id")).split(":");
+            if (Integer.parseInt(id[0]) != screen) {
+                return error(ErrorCodes.STALE_ELEMENT_REFERENCE, new StaleElementReferenceException("Screen changed"));
+            }
+            return success(read.apply(snapshot().find("//*").get(Integer.parseInt(id[1]))));
+        }
+
+        private static Map<String, Object> rect(Element element) {
+            int[] bounds = bounds(element);
+            return Map.of("x", bounds[0], "y", bounds[1], "width", bounds[2] - bounds[0], "height", bounds[3] - bounds[1]);
+        }
+
+        private static int[] bounds(Element element) {
+            Matcher matcher = BOUNDS.matcher(element.getAttribute("bounds"));
+            if (!matcher.matches()) {
+                throw new IllegalStateException("No bounds on " + element.getTagName());
+            }
+            return new int[] {Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                Integer.parseInt(matcher.group(3)), Integer.parseInt(matcher.group(4))};
+        }
+
+        private static Response success(Object value) {
+            Response response = new Response();
+            response.setSessionId("fake-session");
+            response.setStatus(ErrorCodes.SUCCESS);
+            response.setState(ErrorCodes.SUCCESS_STRING);
+            response.setValue(value);
+            return response;
+        }
+
+        private static Response error(int status, WebDriverException failure) {
+            Response response = new Response();
+            response.setSessionId("fake-session");
+            response.setStatus(status);
+            response.setState(new ErrorCodes().toState(status));
+            response.setValue(failure);
+            return response;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.magnoliacollectivewellness.appium.tests;
 
 import com.magnoliacollectivewellness.appium.base.BaseTest;
 import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.utils.Pause;
 import io.appium.java_client.android.AndroidDriver;
 import org.junit.Test;
 
@@ -25,7 +26,7 @@ public class AppLaunchTest extends BaseTest {
         System.out.println("🎯 Target: " + TestConfig.getRunTarget().toUpperCase());
         
         // Wait for app to launch
-        Thread.sleep(3000);
+        Pause.millis(3000);
 
         // Verify app is launched by checking package/bundle
         if (TestConfig.isAndroid()) {
@@ -2,10 +2,13 @@ package com.magnoliacollectivewellness.appium.tests;
 
 import com.magnoliacollectivewellness.appium.base.BaseTest;
 import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.pages.LoginPage;
 import org.junit.Test;
 import org.junit.FixMethodOrder;
 import org.junit.runners.MethodSorters;
 
+import java.time.Duration;
+
 import static org.junit.Assert.*;
 
 /**
@@ -33,8 +36,8 @@ public class LoginTest extends BaseTest {
         // Perform login
         loginPage.login(email, password);
 
-        // Wait for navigation to home page
-        Thread.sleep(5000); // Give more time for navigation and data loading
+        // Wait for navigation to home page (continues as soon as the app answers)
+        loginPage.awaitLoginOutcome(Duration.ofSeconds(10));
 
         // Verify home page is displayed
         boolean isHomePageDisplayed = homePage.isHomePageDisplayed();
@@ -60,15 +63,13 @@ public class LoginTest extends BaseTest {
         // Perform login
         loginPage.login(email, password);
 
-        // Wait for error message or navigation
-        Thread.sleep(5000); // Give time for error to appear or navigation to complete
+        // Wait for error message or navigation - whichever the app shows first
+        LoginPage.LoginOutcome outcome = loginPage.awaitLoginOutcome(Duration.ofSeconds(10));
+        System.out.println("📍 Login outcome: " + outcome);
 
         // Verify error message is displayed OR we're still on login screen (both indicate failure)
-        boolean isErrorDisplayed = loginPage.isErrorMessageDisplayed();
-        boolean isStillOnLoginScreen = !homePage.isHomePageDisplayed();
-        
-        assertTrue("Error message should be displayed OR login should fail (still on login screen) for invalid credentials", 
-            isErrorDisplayed || isStillOnLoginScreen);
+        assertNotEquals("Error message should be displayed OR login should fail (still on login screen) for invalid credentials", 
+            LoginPage.LoginOutcome.HOME_SHOWN, outcome);
 
         System.out.println("✅ Invalid credentials test completed!");
     }
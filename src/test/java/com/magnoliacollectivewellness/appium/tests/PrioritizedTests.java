@@ -0,0 +1,19 @@
+package com.magnoliacollectivewellness.appium.tests;
+
+import com.magnoliacollectivewellness.appium.base.PrioritizedSuite;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * All end-to-end test classes, likeliest failures first
+ *
+ * Run with: ./gradlew test -Dprioritize=true [-DfailFastAfter=1]
+ */
+@RunWith(PrioritizedSuite.class)
+@Suite.SuiteClasses({
+    LoginTest.class,
+    SignupFlowTest.class,
+    AppLaunchTest.class
+})
+public class PrioritizedTests {
+}
@@ -2,12 +2,15 @@ package com.magnoliacollectivewellness.appium.tests;
 
 import com.magnoliacollectivewellness.appium.base.BaseTest;
 import com.magnoliacollectivewellness.appium.config.TestConfig;
+import com.magnoliacollectivewellness.appium.pages.AppNavigator;
 import com.magnoliacollectivewellness.appium.pages.LoginPage;
-import com.magnoliacollectivewellness.appium.pages.OnboardingPage;
 import com.magnoliacollectivewellness.appium.pages.OtpPage;
 import com.magnoliacollectivewellness.appium.pages.SignupFlowPage;
+import com.magnoliacollectivewellness.appium.utils.FlowTimer;
 import org.junit.Test;
 
+import java.time.Duration;
+
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -17,7 +20,7 @@ import static org.junit.Assert.assertTrue;
  * rather than assuming a fixed order.
  */
 public class SignupFlowTest extends BaseTest {
-    private OnboardingPage onboardingPage;
+    private AppNavigator navigator;
     private SignupFlowPage signupFlowPage;
     private OtpPage otpPage;
     private LoginPage loginPage;
@@ -25,7 +28,7 @@ public class SignupFlowTest extends BaseTest {
     @Override
     protected void initializePageObjects() {
         super.initializePageObjects();
-        onboardingPage = new OnboardingPage(driver);
+        navigator = new AppNavigator(driver);
         signupFlowPage = new SignupFlowPage(driver);
         otpPage = new OtpPage(driver);
         loginPage = new LoginPage(driver);
@@ -43,33 +46,35 @@ public class SignupFlowTest extends BaseTest {
         System.out.println("🎯 Target: " + TestConfig.getRunTarget().toUpperCase());
         System.out.println("═".repeat(60));
 
-        // Step 1: Start onboarding
-        System.out.println("\n📌 Step 1: Starting onboarding...");
-        onboardingPage.startOnboarding();
-
-        // Step 2: Complete questionnaire dynamically
-        // This handles all questions (What brings you here, Race/Culture, Medical, HRT, Menopausal status)
-        System.out.println("\n📌 Step 2: Completing questionnaire...");
-        onboardingPage.completeOnboardingQuestionnaire();
+        // Steps 1-2: Get to the signup form along the cheapest path from wherever the app is
+        // (from the welcome screen: start onboarding and complete the questionnaire dynamically)
+        System.out.println("\n📌 Steps 1-2: Navigating to the signup form...");
+        navigator.navigateTo(AppNavigator.State.SIGNUP_FORM);
 
         // Step 3: Complete signup form
-        System.out.println("\n📌 Step 3: Filling signup form...");
-        signupFlowPage.fillStep1("Priya", "Lalani");
-        signupFlowPage.selectPreferredPronoun("She/Her");
-        signupFlowPage.selectCountry("United States");
-        
-        // Step 4: Complete remaining signup steps
-        System.out.println("\n📌 Step 4: Completing additional steps...");
-        signupFlowPage.completeStep2();
-        signupFlowPage.completeStep3();
+        try (FlowTimer.Timing t = FlowTimer.start(FlowTimer.SIGNUP)) {
+            System.out.println("\n📌 Step 3: Filling signup form...");
+            signupFlowPage.fillStep1("Priya", "Lalani");
+            signupFlowPage.selectPreferredPronoun("She/Her");
+            signupFlowPage.selectCountry("United States");
+            
+            // Step 4: Complete remaining signup steps
+            System.out.println("\n📌 Step 4: Completing additional steps...");
+            signupFlowPage.completeStep2();
+            signupFlowPage.completeStep3();
+            t.success();
+        }
 
         // Step 5: Submit OTP verification
-        System.out.println("\n📌 Step 5: Verifying OTP...");
-        otpPage.enterOtp("1234");
-        otpPage.submitOtp();
+        try (FlowTimer.Timing t = FlowTimer.start(FlowTimer.OTP)) {
+            System.out.println("\n📌 Step 5: Verifying OTP...");
+            otpPage.enterOtp("1234");
+            otpPage.submitOtp();
+            t.success();
+        }
 
-        // Wait for navigation to home screen
-        Thread.sleep(5000);
+        // Wait for navigation to home screen (continues as soon as the app answers)
+        otpPage.awaitVerificationOutcome(Duration.ofSeconds(10));
 
         // Verify home screen is displayed
         System.out.println("\n📌 Step 6: Verifying home screen...");